@@ -0,0 +1,76 @@
+package Core;
+
+import IO.DataGenerator;
+import IO.Dataset;
+import IO.DatasetLoader;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Seeded synthetic term shared by all benchmarks, generated once per trial into a temporary folder.
+ * <ul>
+ *     <li>small: 250 students, 20 courses, 10 rooms (size of the sample data)</li>
+ *     <li>medium: 8,000 students, 1,178 courses, 156 rooms</li>
+ *     <li>large: 100,000 students, 10,000 courses, 1,200 rooms</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+public class DatasetState {
+
+        public static final long SEED = 42L;
+
+        @Param({"small", "medium", "large"})
+        public String scale;
+
+        public Path directory;
+        public Path students;
+        public Path courses;
+        public Path classrooms;
+        public Path attendance;
+
+        /**
+         * Parsed and merged term; benchmarks that mutate it must copy first.
+         */
+        public Dataset dataset;
+
+        public static DataGenerator.Config config(String scale) {
+                return switch (scale) {
+                        case "small" -> DataGenerator.Config.small(SEED);
+                        case "medium" -> DataGenerator.Config.medium(SEED);
+                        case "large" -> DataGenerator.Config.large(SEED);
+                        default -> throw new IllegalArgumentException("Unknown scale: " + scale);
+                };
+        }
+
+        @Setup(Level.Trial)
+        public void generate() throws IOException {
+                directory = Files.createTempDirectory("se302-bench-" + scale);
+                if (!DataGenerator.generate(config(scale), directory)) {
+                        throw new IOException("Dataset generation failed for " + scale);
+                }
+                students = directory.resolve(DataGenerator.FILE_STUDENTS);
+                courses = directory.resolve(DataGenerator.FILE_COURSES);
+                classrooms = directory.resolve(DataGenerator.FILE_CLASSROOMS);
+                attendance = directory.resolve(DataGenerator.FILE_ATTENDANCE);
+                dataset = DatasetLoader.load(students, courses, classrooms, attendance);
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+                try (Stream<Path> files = Files.walk(directory)) {
+                        for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                                Files.deleteIfExists(file);
+                        }
+                }
+        }
+}
@@ -0,0 +1,128 @@
+package Core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end solve and the three constraint checks the solver runs for every candidate slot.
+ * <p>
+ * The solve is a single shot per iteration, since one run can take up to the scheduler's timeout.
+ * The checks run against a schedule where half of the courses sit in random slots and are probed
+ * with the other half, so their cost reflects a solver that is halfway through the term.
+ */
+@Fork(1)
+public class SchedulerBenchmark {
+
+        static final int STEP = 30;
+        static final int DAYS = 10;
+        static final LocalDate START = LocalDate.of(2026, 1, 5);
+
+        @State(Scope.Thread)
+        public static class SolveState {
+                Scheduler scheduler;
+                HashMap<Course, ArrayList<Course>> graph;
+
+                @Setup(Level.Trial)
+                public void load(DatasetState data) {
+                        graph = Graph.createGraph(data.dataset.courses());
+                }
+
+                @Setup(Level.Invocation)
+                public void reset(DatasetState data) {
+                        scheduler = new Scheduler();
+                        scheduler.setSeed(DatasetState.SEED);
+                        scheduler.loadData(new ArrayList<>(data.dataset.courses()), data.dataset.classrooms(), STEP, graph);
+                }
+        }
+
+        @State(Scope.Thread)
+        public static class ChecksState {
+                Scheduler scheduler;
+                Course[] probeCourses;
+                int[] probeSlots;
+                int next;
+
+                @Setup(Level.Trial)
+                public void fill(DatasetState data) {
+                        scheduler = new Scheduler();
+                        scheduler.setSeed(DatasetState.SEED);
+                        ArrayList<Course> courses = data.dataset.courses();
+                        scheduler.loadData(courses, data.dataset.classrooms(), STEP);
+                        int slotCount = scheduler.prepareSlots(DAYS, START, true).size();
+
+                        SplittableRandom random = new SplittableRandom(DatasetState.SEED);
+                        HashMap<Course, Integer> schedule = scheduler.getSchedule();
+                        probeCourses = new Course[courses.size() / 2];
+                        probeSlots = new int[probeCourses.length];
+                        for (int i = 0; i < courses.size(); i++) {
+                                if (i % 2 == 0 || i / 2 >= probeCourses.length) {
+                                        schedule.put(courses.get(i), random.nextInt(slotCount));
+                                } else {
+                                        probeCourses[i / 2] = courses.get(i);
+                                        probeSlots[i / 2] = random.nextInt(slotCount);
+                                }
+                        }
+                }
+
+                int advance() {
+                        int i = next;
+                        next = i + 1 == probeCourses.length ? 0 : i + 1;
+                        return i;
+                }
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.SingleShotTime)
+        @OutputTimeUnit(TimeUnit.MILLISECONDS)
+        @Warmup(iterations = 1)
+        @Measurement(iterations = 3)
+        public int solve(SolveState state) {
+                state.scheduler.generate_schedule(1, START, true);
+                return state.scheduler.getSchedule().size();
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.MICROSECONDS)
+        @Warmup(iterations = 3, time = 2)
+        @Measurement(iterations = 5, time = 2)
+        public boolean checkRoomCapacity(ChecksState state) {
+                int i = state.advance();
+                return state.scheduler.checkRoomCapacity(state.probeCourses[i], state.probeSlots[i]);
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.MICROSECONDS)
+        @Warmup(iterations = 3, time = 2)
+        @Measurement(iterations = 5, time = 2)
+        public boolean checkStudentConflicts(ChecksState state) {
+                int i = state.advance();
+                return state.scheduler.checkStudentConflicts(state.probeCourses[i], state.probeSlots[i]);
+        }
+
+        @Benchmark
+        @BenchmarkMode(Mode.AverageTime)
+        @OutputTimeUnit(TimeUnit.MICROSECONDS)
+        @Warmup(iterations = 3, time = 2)
+        @Measurement(iterations = 5, time = 2)
+        public boolean checkMaxStudentsPerDay(ChecksState state) {
+                int i = state.advance();
+                return state.scheduler.checkMaxStudentsPerDay(state.probeCourses[i], state.probeSlots[i]);
+        }
+}
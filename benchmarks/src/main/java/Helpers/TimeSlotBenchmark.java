@@ -0,0 +1,50 @@
+package Helpers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot generation for one scheduling attempt; the solver regenerates slots for every day count it tries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeSlotBenchmark {
+
+        @Param({"5", "20", "60"})
+        public int days;
+
+        @Param({"15", "30", "60"})
+        public int step;
+
+        private ArrayList<LocalTime> times;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+                TimeSlot.setStep_size_t(step);
+                times = TimeSlot.set_time_slots();
+        }
+
+        @Benchmark
+        public ArrayList<TimeSlot> slot_generator() {
+                return TimeSlot.slot_generator(days, LocalDate.of(2026, 1, 5), times, true);
+        }
+}
@@ -0,0 +1,79 @@
+package IO;
+
+import Core.ClassRoom;
+import Core.Course;
+import Core.DatasetState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a full schedule, plain and gzip compressed. The schedule is a seeded random placement
+ * of every course; the exporter does not care whether it is feasible.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExporterBenchmark {
+
+        private static final int SLOTS = 220;
+
+        @Param({"false", "true"})
+        public boolean gzip;
+
+        private HashMap<Course, Integer> schedule;
+        private HashMap<Integer, String[]> slotMap;
+        private HashMap<Course, ClassRoom> roomMap;
+        private Path target;
+
+        @Setup(Level.Trial)
+        public void setUp(DatasetState data) throws IOException {
+                SplittableRandom random = new SplittableRandom(DatasetState.SEED);
+                ArrayList<ClassRoom> rooms = data.dataset.classrooms();
+                schedule = new HashMap<>();
+                roomMap = new HashMap<>();
+                slotMap = new HashMap<>();
+                for (Course course : data.dataset.courses()) {
+                        schedule.put(course, random.nextInt(SLOTS));
+                        roomMap.put(course, rooms.get(random.nextInt(rooms.size())));
+                }
+                LocalDate day = LocalDate.of(2026, 1, 5);
+                for (int slot = 0; slot < SLOTS; slot++) {
+                        LocalTime start = LocalTime.of(8, 30).plusMinutes(30L * (slot % 22));
+                        slotMap.put(slot, new String[]{
+                                day.plusDays(slot / 22).toString(),
+                                start.toString(),
+                                start.plusMinutes(90).toString()
+                        });
+                }
+                target = data.directory.resolve(gzip ? "export.csv.gz" : "export.csv");
+        }
+
+        @Benchmark
+        public long exportSchedule() throws IOException {
+                Exporter.exportSchedule(target, "Benchmark", schedule, slotMap, roomMap, gzip);
+                return Files.size(target);
+        }
+}
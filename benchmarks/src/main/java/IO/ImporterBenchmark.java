@@ -0,0 +1,47 @@
+package IO;
+
+import Core.ClassRoom;
+import Core.Course;
+import Core.DatasetState;
+import Core.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing each of the four input files from disk (page cache warm after the first iteration).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImporterBenchmark {
+
+        @Benchmark
+        public ArrayList<ClassRoom> importClassRooms(DatasetState data) {
+                return Importer.importClassRooms(data.classrooms);
+        }
+
+        @Benchmark
+        public ArrayList<Student> importStudents(DatasetState data) {
+                return Importer.importStudents(data.students);
+        }
+
+        @Benchmark
+        public ArrayList<Course> importCourses(DatasetState data) {
+                return Importer.importCourses(data.courses);
+        }
+
+        @Benchmark
+        public ArrayList<Course> importAttandenceLists(DatasetState data) {
+                return Importer.importAttandenceLists(data.attendance);
+        }
+}
@@ -0,0 +1,317 @@
+package CLI;
+
+import Core.ClassRoom;
+import Core.Course;
+import Core.GraphAnalysis;
+import Core.Portfolio;
+import Core.ScheduleVerifier;
+import Core.Scheduler;
+import Core.SolveStats;
+import Core.StudentProgramExtractor;
+import Helpers.TimeSlot;
+import IO.Dataset;
+import IO.DatasetLoader;
+import IO.ErrorHandler;
+import IO.Exporter;
+import IO.Importer;
+import IO.Json;
+import IO.ValidationError;
+import IO.ValidationReport;
+import IO.Validator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless scheduling: load a term, solve it, write the schedule and a JSON summary.
+ * <p>
+ * Uses only Core and IO, so it runs on the class path without JavaFX:
+ * <pre>
+ * java -cp target/classes CLI.Main --dir=docs --start=2026-01-05 --step=30 --time-limit=60 --threads=4
+ * </pre>
+ * Exit status: 0 solved, 1 no schedule found or the verifier rejected it, 2 bad arguments, 3 input or
+ * output failure.
+ * With {@code --validate} the input is only checked: 0 if it has no problems, 3 if it has.
+ */
+public class Main {
+
+        static final int SOLVED = 0;
+        static final int NOT_SOLVED = 1;
+        static final int USAGE = 2;
+        static final int IO_FAILURE = 3;
+
+        private static final String USAGE_TEXT = """
+                Usage: CLI.Main (--dir=DIR | --courses=FILE --classrooms=FILE --attendance=FILE [--students=FILE])
+                                [--start=YYYY-MM-DD] [--step=MIN] [--days=N] [--skip-weekends]
+                                [--time-limit=SEC] [--threads=N] [--seed=N]
+                                [--out=FILE] [--programs=FILE] [--stats=FILE] [--name=TEXT] [--previous=FILE]
+                                [--validate]
+                  --dir           folder with the four CSV files, recognised by name
+                  --start         first exam day (default today)
+                  --step          minutes between start times (default 60)
+                  --days          day count to start from, raised to the lower bound (default 1)
+                  --time-limit    seconds each solver may search (default 10)
+                  --threads       solvers racing with seeds seed, seed+1, ... (default 1)
+                  --seed          seed of the first solver (default random)
+                  --out           schedule CSV, gzip if it ends with .gz (default schedule.csv)
+                  --programs      also write per-student programs to this file
+                  --stats         JSON summary, '-' for standard output (default stats.json)
+                  --name          exam name column of the schedule (default "Final Exams")
+                  --previous      repair this earlier schedule instead of solving anew; keeps its
+                                  days and needs its --step, --start is taken from its first exam,
+                                  runs one solver so --threads cannot be given
+                  --validate      only check the input files and report every problem, no solve""";
+
+        /**
+         * Parsed command line.
+         */
+        record Options(Path dir, Path courses, Path classrooms, Path attendance, Path students,
+                       Portfolio.Settings settings, Path out, Path programs, String stats, String name, Path previous,
+                       boolean validate) {
+        }
+
+        public static void main(String[] args) {
+                System.exit(run(args));
+        }
+
+        /**
+         * Runs one headless solve.
+         *
+         * @return exit status
+         */
+        static int run(String[] args) {
+                if (List.of(args).contains("--help")) {
+                        System.out.println(USAGE_TEXT);
+                        return SOLVED;
+                }
+                Options options;
+                try {
+                        options = parse(args);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                        System.err.println(e.getMessage());
+                        System.err.println(USAGE_TEXT);
+                        return USAGE;
+                }
+
+                if (options.validate()) return validate(options);
+
+                // LOAD
+                Dataset dataset = options.dir() != null
+                        ? DatasetLoader.load(options.dir())
+                        : DatasetLoader.load(options.students(), options.courses(), options.classrooms(), options.attendance());
+                if (dataset.courses().isEmpty() || dataset.classrooms().isEmpty()) {
+                        System.err.println("No courses or classrooms loaded.");
+                        printErrors();
+                        return IO_FAILURE;
+                }
+
+                // SOLVE
+                GraphAnalysis analysis = Portfolio.analyze(dataset.courses());
+
+                Scheduler scheduler;
+                Map<String, LocalDateTime> previous = null;
+                LocalDate startDate = options.settings().startDate();
+                if (options.previous() != null) {
+                        previous = Importer.importSchedule(options.previous());
+                        if (previous.isEmpty()) {
+                                System.err.println("No exams read from " + options.previous() + ".");
+                                printErrors();
+                                return IO_FAILURE;
+                        }
+                        startDate = previous.values().stream().map(LocalDateTime::toLocalDate).min(LocalDate::compareTo).orElseThrow();
+                        scheduler = repair(options.settings(), startDate, dataset, analysis, previous);
+                } else {
+                        Portfolio portfolio = new Portfolio(options.settings());
+                        try {
+                                scheduler = portfolio.run(dataset.courses(), dataset.classrooms(), analysis);
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return NOT_SOLVED;
+                        }
+                }
+                SolveStats stats = scheduler.getLastStats();
+                boolean solved = stats != null && stats.solved();
+
+                // VERIFY AND EXPORT
+                List<ScheduleVerifier.Violation> violations = List.of();
+                boolean written = true;
+                if (solved) {
+                        violations = ScheduleVerifier.verify(dataset.courses(), scheduler.getSchedule(),
+                                scheduler.getActiveTimeSlots(), scheduler.getRoomAssignments());
+                        for (ScheduleVerifier.Violation violation : violations) {
+                                ErrorHandler.getInstance().logError(violation.kind().name(), violation.toMessage());
+                        }
+                }
+                // a schedule the verifier rejects is not written
+                boolean valid = solved && violations.isEmpty();
+                if (valid) written = export(options, scheduler);
+
+                Json summary = Json.object()
+                        .put("solved", solved)
+                        .put("seed", options.settings().seed())
+                        .put("threads", options.settings().threads())
+                        .put("startDate", startDate.toString())
+                        .put("stepSize", options.settings().stepSize())
+                        .put("timeLimitMillis", options.settings().timeLimit().toMillis())
+                        .put("students", dataset.students().size())
+                        .put("courses", dataset.courses().size())
+                        .put("classrooms", dataset.classrooms().size())
+                        .put("importMillis", dataset.timings().getOrDefault(DatasetLoader.TOTAL, Duration.ZERO).toNanos() / 1e6)
+                        .put("graphBuildMillis", analysis.buildNanos() / 1e6)
+                        .put("violations", violations.size())
+                        .put("errors", ErrorHandler.getInstance().getErrorCount())
+                        .put("output", valid ? options.out().toString() : null);
+                if (previous != null) summary.put("moved", solved ? moved(previous, scheduler.getStartTimes()) : null);
+                if (stats != null) summary.put("stats", stats.toJson());
+
+                if (!writeStats(options.stats(), summary)) written = false;
+                printErrors();
+                if (!written) return IO_FAILURE;
+                return valid ? SOLVED : NOT_SOLVED;
+        }
+
+        static Options parse(String[] args) {
+                Path dir = null, courses = null, classrooms = null, attendance = null, students = null;
+                Path out = Path.of("schedule.csv"), programs = null, previous = null;
+                String stats = "stats.json", name = "Final Exams";
+                LocalDate start = LocalDate.now();
+                int step = 60, days = 1, threads = 1;
+                boolean skipWeekends = false, validate = false;
+                Duration limit = Scheduler.DEFAULT_TIME_LIMIT;
+                long seed = System.nanoTime();
+
+                for (String arg : args) {
+                        String[] kv = arg.split("=", 2);
+                        String value = kv.length > 1 ? kv[1] : "";
+                        try {
+                                switch (kv[0]) {
+                                        case "--dir" -> dir = Path.of(value);
+                                        case "--courses" -> courses = Path.of(value);
+                                        case "--classrooms" -> classrooms = Path.of(value);
+                                        case "--attendance" -> attendance = Path.of(value);
+                                        case "--students" -> students = Path.of(value);
+                                        case "--start" -> start = LocalDate.parse(value);
+                                        case "--step" -> step = Integer.parseInt(value);
+                                        case "--days" -> days = Integer.parseInt(value);
+                                        case "--skip-weekends" -> skipWeekends = true;
+                                        case "--time-limit" -> limit = Duration.ofMillis((long) (Double.parseDouble(value) * 1000));
+                                        case "--threads" -> threads = Integer.parseInt(value);
+                                        case "--seed" -> seed = Long.parseLong(value);
+                                        case "--out" -> out = Path.of(value);
+                                        case "--programs" -> programs = Path.of(value);
+                                        case "--stats" -> stats = value;
+                                        case "--name" -> name = value;
+                                        case "--previous" -> previous = Path.of(value);
+                                        case "--validate" -> validate = true;
+                                        default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                                }
+                        } catch (NumberFormatException e) {
+                                throw new IllegalArgumentException("Not a number: " + arg);
+                        }
+                }
+
+                if (dir == null && (courses == null || classrooms == null || attendance == null)) {
+                        throw new IllegalArgumentException("Give --dir or all of --courses, --classrooms and --attendance.");
+                }
+                if (previous != null && threads != 1) {
+                        throw new IllegalArgumentException("--previous repairs on one solver; leave out --threads.");
+                }
+                return new Options(dir, courses, classrooms, attendance, students,
+                        new Portfolio.Settings(step, days, start, skipWeekends, limit, threads, seed),
+                        out, programs, stats, name, previous, validate);
+        }
+
+        /**
+         * Checks every input file in one pass and reports all problems found, up to
+         * {@link ValidationReport#DEFAULT_LIMIT}, instead of loading and solving.
+         *
+         * @return exit status
+         */
+        private static int validate(Options options) {
+                ValidationReport report = options.dir() != null
+                        ? Validator.validateDataset(options.dir(), ValidationReport.DEFAULT_LIMIT)
+                        : Validator.validateDataset(options.students(), options.courses(), options.classrooms(),
+                        options.attendance(), ValidationReport.DEFAULT_LIMIT);
+
+                ArrayList<String> messages = new ArrayList<>();
+                for (ValidationError error : report.getErrors()) {
+                        messages.add(error.toMessage());
+                        System.err.println(error.toMessage());
+                }
+                Json summary = Json.object()
+                        .put("valid", report.isValid())
+                        .put("problems", report.getTotalCount())
+                        .put("truncated", report.isTruncated())
+                        .put("messages", messages);
+                if (!writeStats(options.stats(), summary)) return IO_FAILURE;
+                return report.isValid() ? SOLVED : IO_FAILURE;
+        }
+
+        /**
+         * Repairs {@code previous} on one scheduler; the day grid starts at {@code first}, the day of
+         * its first exam.
+         */
+        private static Scheduler repair(Portfolio.Settings settings, LocalDate first, Dataset dataset,
+                                        GraphAnalysis analysis, Map<String, LocalDateTime> previous) {
+                Scheduler scheduler = new Scheduler();
+                scheduler.setSeed(settings.seed());
+                scheduler.setTimeLimit(settings.timeLimit());
+                scheduler.loadData(new ArrayList<>(dataset.courses()), dataset.classrooms(), settings.stepSize(), analysis);
+                scheduler.repair_schedule(previous, first, settings.skipWeekends());
+                return scheduler;
+        }
+
+        /**
+         * @return courses that start at another time than before, or are new
+         */
+        private static int moved(Map<String, LocalDateTime> before, Map<String, LocalDateTime> after) {
+                int moved = 0;
+                for (var entry : after.entrySet()) {
+                        if (!entry.getValue().equals(before.get(entry.getKey()))) moved++;
+                }
+                return moved;
+        }
+
+        private static boolean export(Options options, Scheduler scheduler) {
+                HashMap<Course, Integer> schedule = scheduler.getSchedule();
+                ArrayList<TimeSlot> slots = scheduler.getActiveTimeSlots();
+                HashMap<Integer, String[]> slotMap = Exporter.slotMap(schedule, slots);
+
+                boolean ok = Exporter.exportSchedule(options.out(), options.name(), schedule, slotMap, scheduler.getRoomAssignments());
+
+                if (options.programs() != null) {
+                        ok &= Exporter.exportStudentPrograms(options.programs(), new StudentProgramExtractor(schedule, slots), 1);
+                }
+                return ok;
+        }
+
+        private static boolean writeStats(String target, Json summary) {
+                if (target.equals("-")) {
+                        System.out.println(summary);
+                        return true;
+                }
+                try {
+                        Files.writeString(Path.of(target), summary + System.lineSeparator(), StandardCharsets.UTF_8);
+                        return true;
+                } catch (IOException e) {
+                        System.err.println("Cannot write " + target + ": " + e.getMessage());
+                        return false;
+                }
+        }
+
+        private static void printErrors() {
+                for (String message : ErrorHandler.getInstance().getErrorMessages()) {
+                        System.err.println(message);
+                }
+        }
+}
@@ -0,0 +1,149 @@
+package Core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Conflict graph that follows enrollment changes without a rebuild.
+ * <p>
+ * For every pair of conflicting courses it keeps the number of students they share, and for every
+ * student the courses they take. Adding or dropping one enrollment therefore only touches the
+ * pairs of that student's courses: O(courses of the student) instead of the O(courses²) of
+ * {@link Graph#createGraph}. An edge exists while its count is above zero, so the graph always
+ * matches a full rebuild over the current rosters.
+ * <p>
+ * The rosters of the {@link Course} objects are the source of truth and are changed in place.
+ * {@link Course#hashCode()} depends on the roster, so maps keyed by an edited course (including
+ * an adjacency list from {@link #toAdjacencyList()} taken before the edit) must be rebuilt.
+ */
+public class ConflictGraph {
+
+        private final ArrayList<Course> courses;
+        private final IdentityHashMap<Course, Integer> position = new IdentityHashMap<>();
+        // shared student count per conflicting pair, stored in both directions
+        private final IdentityHashMap<Course, IdentityHashMap<Course, Integer>> shared = new IdentityHashMap<>();
+        private final HashMap<String, ArrayList<Course>> coursesOfStudent = new HashMap<>();
+        private long edges;
+
+        /**
+         * Builds the graph from the students' course lists in O(sum of squared courses per student).
+         *
+         * @param courses courses with their rosters; later edits must go through this graph
+         */
+        public ConflictGraph(List<Course> courses) {
+                this.courses = new ArrayList<>(courses);
+                for (Course c : this.courses) {
+                        position.put(c, position.size());
+                        shared.put(c, new IdentityHashMap<>());
+                }
+                for (Course c : this.courses) {
+                        for (String student : c.getEnrolledStudentIDs()) {
+                                link(student, c);
+                        }
+                }
+        }
+
+        /**
+         * Enrolls {@code studentID} in {@code course} and adds the conflicts this creates.
+         *
+         * @return false if the student was already enrolled
+         * @throws IllegalArgumentException if the course is not part of this graph
+         */
+        public boolean addEnrollment(String studentID, Course course) {
+                requireCourse(course);
+                if (course.getEnrolledStudentIDs().contains(studentID)) return false;
+                course.addEnrolledStudentID(studentID);
+                link(studentID, course);
+                return true;
+        }
+
+        /**
+         * Drops {@code studentID} from {@code course} and removes conflicts no other student keeps.
+         *
+         * @return false if the student was not enrolled
+         * @throws IllegalArgumentException if the course is not part of this graph
+         */
+        public boolean removeEnrollment(String studentID, Course course) {
+                requireCourse(course);
+                if (!course.getEnrolledStudentIDs().contains(studentID)) return false;
+                course.removeEnrolledStudentID(studentID);
+
+                ArrayList<Course> taken = coursesOfStudent.get(studentID);
+                taken.removeIf(c -> c == course);
+                if (taken.isEmpty()) coursesOfStudent.remove(studentID);
+                for (Course other : taken) {
+                        decrement(course, other);
+                        decrement(other, course);
+                        if (!shared.get(course).containsKey(other)) edges--;
+                }
+                return true;
+        }
+
+        /**
+         * @return students {@code a} and {@code b} have in common, 0 if they do not conflict
+         */
+        public int sharedStudents(Course a, Course b) {
+                requireCourse(a);
+                return shared.get(a).getOrDefault(b, 0);
+        }
+
+        public int degree(Course course) {
+                requireCourse(course);
+                return shared.get(course).size();
+        }
+
+        /**
+         * @return conflicting pairs
+         */
+        public long edgeCount() {
+                return edges;
+        }
+
+        /**
+         * @return courses conflicting with {@code course}, in the order of the course list
+         */
+        public ArrayList<Course> neighbours(Course course) {
+                requireCourse(course);
+                ArrayList<Course> neighbours = new ArrayList<>(shared.get(course).keySet());
+                neighbours.sort(Comparator.comparingInt(position::get));
+                return neighbours;
+        }
+
+        /**
+         * Adjacency list in the form the {@link Scheduler} takes, equal to
+         * {@link Graph#createGraph} over the current rosters, neighbour order included.
+         */
+        public HashMap<Course, ArrayList<Course>> toAdjacencyList() {
+                HashMap<Course, ArrayList<Course>> adjList = new HashMap<>();
+                for (Course c : courses) {
+                        adjList.put(c, neighbours(c));
+                }
+                return adjList;
+        }
+
+        private void link(String studentID, Course course) {
+                ArrayList<Course> taken = coursesOfStudent.computeIfAbsent(studentID, s -> new ArrayList<>());
+                for (Course other : taken) {
+                        if (increment(course, other) == 1) edges++;
+                        increment(other, course);
+                }
+                taken.add(course);
+        }
+
+        private int increment(Course from, Course to) {
+                return shared.get(from).merge(to, 1, Integer::sum);
+        }
+
+        private void decrement(Course from, Course to) {
+                shared.get(from).computeIfPresent(to, (c, n) -> n == 1 ? null : n - 1);
+        }
+
+        private void requireCourse(Course course) {
+                if (!position.containsKey(course)) {
+                        throw new IllegalArgumentException("Course is not part of this graph: " + course);
+                }
+        }
+}
@@ -20,6 +20,10 @@ public class Course {
                 this.enrolledStudentIDs.add(studentID);
         }
 
+        public void removeEnrolledStudentID(String studentID) {
+                this.enrolledStudentIDs.remove(studentID);
+        }
+
         public String getID() {
                 return ID;
         }
@@ -1,6 +1,7 @@
 package Core;
 
 import IO.Importer;
+import Monitoring.GraphBuildEvent;
 
 import java.nio.file.Path;
 import java.util.*;
@@ -41,6 +42,9 @@ class Graph {
                         return null;
                 }
 
+                GraphBuildEvent event = new GraphBuildEvent();
+                event.begin();
+
                 HashMap<Course, ArrayList<Course>> adjList = new HashMap<>();
 
                 for (Course c : courses) {
@@ -61,8 +65,60 @@ class Graph {
                         }
                 }
 
+                event.end();
+                if (event.shouldCommit()) {
+                        long degrees = 0, enrollments = 0;
+                        for (Course c : courses) {
+                                degrees += adjList.get(c).size();
+                                enrollments += c.getEnrolledStudentIDs().size();
+                        }
+                        event.courses = courses.size();
+                        event.enrollments = enrollments;
+                        event.edges = degrees / 2;
+                        event.commit();
+                }
                 return adjList;
         }
-}
 
+        /**
+         * Order in which the solver places courses: most conflicts first, then largest enrollment.
+         * The sort is stable, so ties keep the order of {@code courses}.
+         *
+         * @param courses courses of {@code graph}
+         * @param graph   conflict graph
+         * @return new sorted list
+         */
+        static ArrayList<Course> degreeOrder(List<Course> courses, HashMap<Course, ArrayList<Course>> graph) {
+                ArrayList<Course> order = new ArrayList<>(courses);
+                order.sort((c1, c2) -> {
+                        int deg1 = graph.getOrDefault(c1, new ArrayList<>()).size();
+                        int deg2 = graph.getOrDefault(c2, new ArrayList<>()).size();
+                        if (deg1 != deg2) return Integer.compare(deg2, deg1);
+                        return Integer.compare(c2.getEnrolledStudentIDs().size(), c1.getEnrolledStudentIDs().size());
+                });
+                return order;
+        }
 
+        /**
+         * Greedy clique: walks {@code order} and keeps every course that conflicts with all kept so far.
+         * Courses of a clique pairwise share a student, so none of their exams may overlap; the clique
+         * therefore bounds the number of time slots any schedule needs.
+         *
+         * @param order candidates, best first (usually {@link #degreeOrder})
+         * @param graph conflict graph
+         * @return courses of the clique
+         */
+        static ArrayList<Course> greedyClique(List<Course> order, HashMap<Course, ArrayList<Course>> graph) {
+                ArrayList<Course> clique = new ArrayList<>();
+                // number of clique members each course conflicts with
+                IdentityHashMap<Course, Integer> hits = new IdentityHashMap<>();
+                for (Course c : order) {
+                        if (hits.getOrDefault(c, 0) != clique.size()) continue;
+                        clique.add(c);
+                        for (Course neighbour : graph.getOrDefault(c, new ArrayList<>())) {
+                                hits.merge(neighbour, 1, Integer::sum);
+                        }
+                }
+                return clique;
+        }
+}
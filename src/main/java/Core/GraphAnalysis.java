@@ -0,0 +1,17 @@
+package Core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Conflict graph of a term with the data the solver derives from it, built once by
+ * {@link Portfolio#analyze} and shared read-only between schedulers and runs.
+ *
+ * @param graph       adjacency list over the analysed courses
+ * @param degreeOrder the courses in solver order, see {@link Graph#degreeOrder}
+ * @param clique      courses that pairwise conflict, see {@link Graph#greedyClique}
+ * @param buildNanos  time it took to get this analysis, short on a {@link GraphCache} hit
+ */
+public record GraphAnalysis(HashMap<Course, ArrayList<Course>> graph, ArrayList<Course> degreeOrder,
+                            ArrayList<Course> clique, long buildNanos) {
+}
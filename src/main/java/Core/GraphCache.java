@@ -0,0 +1,177 @@
+package Core;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conflict graphs of recently scheduled terms, keyed by a fingerprint of their rosters.
+ * <p>
+ * The graph depends only on which students take which course, not on step size, start date or
+ * day count, so re-running a term with other parameters (or re-importing the same files) finds it
+ * here instead of paying for {@link Graph#createGraph} again. The solver's degree order and a
+ * greedy clique are cached along with it.
+ * <p>
+ * Entries store positions in the fingerprint's canonical course order, never {@link Course}
+ * objects, so editing a roster after it was cached cannot corrupt an entry; a hit is mapped back
+ * onto the caller's courses in O(courses + edges).
+ */
+class GraphCache {
+
+        /**
+         * Terms kept before the least recently used one is dropped.
+         */
+        static final int DEFAULT_CAPACITY = 8;
+
+        /**
+         * Cached analysis, as positions in canonical order.
+         */
+        private record Entry(int[][] adjacency, int[] degreeOrder, int[] clique) {
+        }
+
+        private static int capacity = DEFAULT_CAPACITY;
+        private static long hits;
+        private static long misses;
+
+        private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                        return size() > capacity;
+                }
+        };
+
+        private GraphCache() {
+        }
+
+        /**
+         * Returns the conflict graph of {@code courses} with its degree order and clique, from the
+         * cache if a term with the same rosters was analysed before.
+         */
+        static GraphAnalysis analyze(List<Course> courses) {
+                long start = System.nanoTime();
+                Canonical term = Canonical.of(courses);
+                Course[] canonical = term.courses();
+                String key = term.fingerprint();
+
+                Entry entry;
+                synchronized (entries) {
+                        entry = entries.get(key);
+                        if (entry != null) hits++;
+                        else misses++;
+                }
+                if (entry != null) return materialize(entry, canonical, start);
+
+                // built outside the lock: concurrent misses on different terms should not wait for each other
+                ArrayList<Course> list = new ArrayList<>(Arrays.asList(canonical));
+                HashMap<Course, ArrayList<Course>> graph = Graph.createGraph(list);
+                ArrayList<Course> order = Graph.degreeOrder(list, graph);
+                ArrayList<Course> clique = Graph.greedyClique(order, graph);
+
+                IdentityHashMap<Course, Integer> position = new IdentityHashMap<>();
+                for (int i = 0; i < canonical.length; i++) position.put(canonical[i], i);
+                int[][] adjacency = new int[canonical.length][];
+                for (int i = 0; i < canonical.length; i++) {
+                        adjacency[i] = graph.get(canonical[i]).stream().mapToInt(position::get).toArray();
+                }
+                entry = new Entry(adjacency,
+                        order.stream().mapToInt(position::get).toArray(),
+                        clique.stream().mapToInt(position::get).toArray());
+                synchronized (entries) {
+                        entries.put(key, entry);
+                }
+                return new GraphAnalysis(graph, order, clique, System.nanoTime() - start);
+        }
+
+        /**
+         * Sets how many terms are kept, dropping the oldest if there are more.
+         */
+        static void setCapacity(int terms) {
+                if (terms < 0) throw new IllegalArgumentException("capacity must be >= 0");
+                synchronized (entries) {
+                        capacity = terms;
+                        var it = entries.keySet().iterator();
+                        while (entries.size() > capacity && it.hasNext()) {
+                                it.next();
+                                it.remove();
+                        }
+                }
+        }
+
+        static void clear() {
+                synchronized (entries) {
+                        entries.clear();
+                        hits = 0;
+                        misses = 0;
+                }
+        }
+
+        static long hits() {
+                synchronized (entries) {
+                        return hits;
+                }
+        }
+
+        static long misses() {
+                synchronized (entries) {
+                        return misses;
+                }
+        }
+
+        /**
+         * Courses sorted by ID, then by roster. Equal courses are interchangeable, so positions in
+         * this order identify courses across imports. The fingerprint is a SHA-256 over the sorted keys.
+         */
+        private record Canonical(Course[] courses, String fingerprint) {
+
+                static Canonical of(List<Course> courses) {
+                        String[] keys = new String[courses.size()];
+                        Integer[] index = new Integer[courses.size()];
+                        for (int i = 0; i < keys.length; i++) {
+                                Course c = courses.get(i);
+                                String[] roster = c.getEnrolledStudentIDs().toArray(new String[0]);
+                                Arrays.sort(roster);
+                                keys[i] = c.getID() + '\u0000' + String.join("\u0000", roster) + '\n';
+                                index[i] = i;
+                        }
+                        Arrays.sort(index, (a, b) -> keys[a].compareTo(keys[b]));
+
+                        MessageDigest sha;
+                        try {
+                                sha = MessageDigest.getInstance("SHA-256");
+                        } catch (NoSuchAlgorithmException e) {
+                                throw new IllegalStateException(e); // every JDK ships SHA-256
+                        }
+                        Course[] sorted = new Course[keys.length];
+                        for (int i = 0; i < keys.length; i++) {
+                                sorted[i] = courses.get(index[i]);
+                                sha.update(keys[index[i]].getBytes(StandardCharsets.UTF_8));
+                        }
+                        return new Canonical(sorted, HexFormat.of().formatHex(sha.digest()));
+                }
+        }
+
+        private static GraphAnalysis materialize(Entry entry, Course[] canonical, long start) {
+                HashMap<Course, ArrayList<Course>> graph = new HashMap<>();
+                for (int i = 0; i < canonical.length; i++) {
+                        ArrayList<Course> neighbours = new ArrayList<>(entry.adjacency()[i].length);
+                        for (int j : entry.adjacency()[i]) neighbours.add(canonical[j]);
+                        graph.put(canonical[i], neighbours);
+                }
+                return new GraphAnalysis(graph, pick(entry.degreeOrder(), canonical), pick(entry.clique(), canonical),
+                        System.nanoTime() - start);
+        }
+
+        private static ArrayList<Course> pick(int[] positions, Course[] canonical) {
+                ArrayList<Course> courses = new ArrayList<>(positions.length);
+                for (int i : positions) courses.add(canonical[i]);
+                return courses;
+        }
+}
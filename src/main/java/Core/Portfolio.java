@@ -0,0 +1,149 @@
+package Core;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs several differently seeded {@link Scheduler}s on the same term at once and keeps the first
+ * one that finds a schedule; the others are cancelled.
+ * <p>
+ * The randomized solver's run time varies a lot between seeds, so racing a few seeds on spare
+ * cores cuts the tail. The conflict graph, solver order and clique are built once and shared
+ * read-only; every scheduler gets its own copy of the course list because it sorts it. With one
+ * thread the solve runs on the calling thread and is reproducible for a given seed.
+ */
+public class Portfolio {
+
+        /**
+         * @param stepSize     minutes between two start times
+         * @param initialDays  day count to start from (raised to the calculated lower bound)
+         * @param startDate    first exam day
+         * @param skipWeekends leave Saturdays and Sundays out
+         * @param timeLimit    time limit of each scheduler
+         * @param threads      schedulers racing; scheduler {@code i} uses seed {@code seed + i}
+         * @param seed         seed of the first scheduler
+         */
+        public record Settings(int stepSize, int initialDays, LocalDate startDate, boolean skipWeekends,
+                               Duration timeLimit, int threads, long seed) {
+
+                public Settings {
+                        if (stepSize <= 0) throw new IllegalArgumentException("stepSize must be > 0");
+                        if (threads <= 0) throw new IllegalArgumentException("threads must be > 0");
+                        if (timeLimit.isNegative() || timeLimit.isZero()) throw new IllegalArgumentException("timeLimit must be > 0");
+                }
+        }
+
+        private final Settings settings;
+        private final ArrayList<Scheduler> schedulers = new ArrayList<>();
+        private Scheduler.ProgressListener progressListener;
+        private volatile boolean cancelled;
+
+        public Portfolio(Settings settings) {
+                this.settings = settings;
+        }
+
+        /**
+         * Sets a listener passed on to every scheduler; it is called from several threads.
+         */
+        public void setProgressListener(Scheduler.ProgressListener listener) {
+                this.progressListener = listener;
+        }
+
+        /**
+         * Stops all running schedulers from another thread.
+         */
+        public void cancel() {
+                cancelled = true;
+                synchronized (schedulers) {
+                        schedulers.forEach(Scheduler::cancel);
+                }
+        }
+
+        /**
+         * Builds the conflict graph over {@code courses} with the solver order and a clique,
+         * shareable between schedulers and runs. Terms seen recently with the same rosters are
+         * served from {@link GraphCache}.
+         */
+        public static GraphAnalysis analyze(ArrayList<Course> courses) {
+                return GraphCache.analyze(courses);
+        }
+
+        /**
+         * Builds only the conflict graph over {@code courses}, see {@link #analyze}.
+         */
+        public static HashMap<Course, ArrayList<Course>> conflictGraph(ArrayList<Course> courses) {
+                return analyze(courses).graph();
+        }
+
+        /**
+         * @param courses    courses with their rosters; not modified
+         * @param classrooms available rooms
+         * @param analysis   analysis of {@code courses} from {@link #analyze}, shared by all schedulers,
+         *                   or {@code null} to build it here
+         * @return the scheduler that found a schedule, or the last one to finish if none did
+         */
+        public Scheduler run(ArrayList<Course> courses, ArrayList<ClassRoom> classrooms,
+                             GraphAnalysis analysis) throws InterruptedException {
+                GraphAnalysis shared = analysis != null ? analysis : analyze(courses);
+
+                for (int i = 0; i < settings.threads(); i++) {
+                        Scheduler scheduler = new Scheduler();
+                        scheduler.setSeed(settings.seed() + i);
+                        scheduler.setTimeLimit(settings.timeLimit());
+                        scheduler.setProgressListener(progressListener);
+                        scheduler.loadData(new ArrayList<>(courses), classrooms, settings.stepSize(), shared);
+                        synchronized (schedulers) {
+                                schedulers.add(scheduler);
+                        }
+                        if (cancelled) scheduler.cancel();
+                }
+
+                if (settings.threads() == 1) {
+                        Scheduler only = schedulers.getFirst();
+                        solve(only);
+                        return only;
+                }
+
+                ExecutorService pool = Executors.newFixedThreadPool(settings.threads());
+                try {
+                        ExecutorCompletionService<Scheduler> done = new ExecutorCompletionService<>(pool);
+                        List<Future<Scheduler>> futures = new ArrayList<>();
+                        for (Scheduler scheduler : schedulers) {
+                                futures.add(done.submit(() -> solve(scheduler)));
+                        }
+
+                        Scheduler last = null;
+                        for (int i = 0; i < futures.size(); i++) {
+                                try {
+                                        last = done.take().get();
+                                } catch (ExecutionException e) {
+                                        cancel();
+                                        throw new IllegalStateException(e.getCause());
+                                }
+                                if (last.getLastStats() != null && last.getLastStats().solved()) {
+                                        cancel();
+                                        return last;
+                                }
+                        }
+                        return last;
+                } catch (InterruptedException e) {
+                        cancel();
+                        throw e;
+                } finally {
+                        pool.shutdown();
+                }
+        }
+
+        private Scheduler solve(Scheduler scheduler) {
+                scheduler.generate_schedule(settings.initialDays(), settings.startDate(), settings.skipWeekends());
+                return scheduler;
+        }
+}
@@ -0,0 +1,254 @@
+package Core;
+
+import Helpers.TimeSlot;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manual edits of a finished schedule: move an exam to another slot or room, see what the move
+ * breaks before making it, and undo or redo it.
+ * <p>
+ * A proposed move is checked against the current schedule without re-verifying it:
+ * <ul>
+ *     <li>student overlaps through the course's conflict graph neighbours, O(degree);</li>
+ *     <li>the daily limit through per-student, per-day exam counters, O(enrollment);</li>
+ *     <li>room capacity and double booking through the exams held in the target room.</li>
+ * </ul>
+ * Violations have the same form as {@link ScheduleVerifier}'s, and a move is allowed even if it
+ * breaks a constraint; the caller decides whether to make it.
+ */
+public class ScheduleEditor {
+
+        /**
+         * One edit, enough to undo and redo it.
+         *
+         * @param course   moved exam
+         * @param fromSlot slot before the edit
+         * @param fromRoom room before the edit, may be {@code null}
+         * @param toSlot   slot after the edit
+         * @param toRoom   room after the edit, may be {@code null}
+         */
+        public record Move(Course course, int fromSlot, ClassRoom fromRoom, int toSlot, ClassRoom toRoom) {
+        }
+
+        private final List<TimeSlot> slots;
+        private final HashMap<Course, ArrayList<Course>> graph;
+        private final IdentityHashMap<Course, Integer> schedule = new IdentityHashMap<>();
+        private final IdentityHashMap<Course, ClassRoom> rooms = new IdentityHashMap<>();
+        // student -> date -> exams that day
+        private final HashMap<String, HashMap<LocalDate, Integer>> examsPerDay = new HashMap<>();
+        // room -> exams held in it
+        private final IdentityHashMap<ClassRoom, ArrayList<Course>> roomUse = new IdentityHashMap<>();
+        private final ArrayDeque<Move> undo = new ArrayDeque<>();
+        private final ArrayDeque<Move> redo = new ArrayDeque<>();
+
+        /**
+         * @param schedule slot of every exam; copied
+         * @param slots    slots the schedule refers to
+         * @param rooms    room of every exam; copied
+         * @param graph    conflict graph over the scheduled courses
+         */
+        public ScheduleEditor(Map<Course, Integer> schedule, List<TimeSlot> slots, Map<Course, ClassRoom> rooms,
+                              HashMap<Course, ArrayList<Course>> graph) {
+                this.slots = slots;
+                this.graph = graph;
+                schedule.forEach((course, slot) -> place(course, slot, rooms.get(course)));
+        }
+
+        /**
+         * Lists what moving {@code course} to {@code slot} and {@code room} would break, without moving it.
+         *
+         * @param room target room, {@code null} to keep the current one
+         * @return violations, empty if the move is clean
+         */
+        public List<ScheduleVerifier.Violation> check(Course course, int slot, ClassRoom room) {
+                ArrayList<ScheduleVerifier.Violation> violations = new ArrayList<>();
+                if (slot < 0 || slot >= slots.size()) {
+                        violations.add(new ScheduleVerifier.Violation(ScheduleVerifier.Kind.INVALID_SLOT, course.getID(), List.of(course.getID()), null));
+                        return violations;
+                }
+                if (room == null) room = rooms.get(course);
+                TimeSlot target = slots.get(slot);
+                LocalDate date = target.getDate();
+
+                // STUDENT OVERLAP: only neighbours can share a student
+                for (Course neighbor : graph.getOrDefault(course, new ArrayList<>())) {
+                        Integer other = schedule.get(neighbor);
+                        if (other == null || neighbor == course) continue;
+                        if (overlaps(target, course.getDuration(), slots.get(other), neighbor.getDuration())) {
+                                violations.add(new ScheduleVerifier.Violation(ScheduleVerifier.Kind.STUDENT_OVERLAP,
+                                        sharedStudent(course, neighbor), List.of(course.getID(), neighbor.getID()), date));
+                        }
+                }
+
+                // DAILY LIMIT: the course's own exam does not count if it already is on that day
+                Integer current = schedule.get(course);
+                boolean sameDay = current != null && slots.get(current).getDate().equals(date);
+                for (String student : course.getEnrolledStudentIDs()) {
+                        HashMap<LocalDate, Integer> days = examsPerDay.get(student);
+                        int count = days == null ? 0 : days.getOrDefault(date, 0);
+                        if (sameDay) count--;
+                        if (count + 1 > ScheduleVerifier.DAILY_LIMIT) {
+                                violations.add(new ScheduleVerifier.Violation(ScheduleVerifier.Kind.DAILY_LIMIT,
+                                        student, examsOn(student, date, course), date));
+                        }
+                }
+
+                // ROOM
+                if (room == null) {
+                        violations.add(new ScheduleVerifier.Violation(ScheduleVerifier.Kind.MISSING_ROOM, course.getID(), List.of(course.getID()), date));
+                } else {
+                        if (course.getEnrolledStudentIDs().size() > room.getCapacity()) {
+                                violations.add(new ScheduleVerifier.Violation(ScheduleVerifier.Kind.ROOM_CAPACITY,
+                                        room.getName(), List.of(course.getID()), date));
+                        }
+                        for (Course other : roomUse.getOrDefault(room, new ArrayList<>())) {
+                                if (other == course) continue;
+                                if (overlaps(target, course.getDuration(), slots.get(schedule.get(other)), other.getDuration())) {
+                                        violations.add(new ScheduleVerifier.Violation(ScheduleVerifier.Kind.ROOM_DOUBLE_BOOKING,
+                                                room.getName(), List.of(course.getID(), other.getID()), date));
+                                }
+                        }
+                }
+                return violations;
+        }
+
+        /**
+         * Moves {@code course} to {@code slot} and {@code room} and records the edit for {@link #undo()}.
+         * Clears the redo history.
+         *
+         * @param room target room, {@code null} to keep the current one
+         * @return what the move breaks, as reported by {@link #check} before it
+         * @throws IllegalArgumentException if the course is not scheduled or the slot does not exist
+         */
+        public List<ScheduleVerifier.Violation> move(Course course, int slot, ClassRoom room) {
+                Integer from = schedule.get(course);
+                if (from == null) throw new IllegalArgumentException("Course is not scheduled: " + course);
+                if (slot < 0 || slot >= slots.size()) throw new IllegalArgumentException("No such slot: " + slot);
+                if (room == null) room = rooms.get(course);
+
+                List<ScheduleVerifier.Violation> violations = check(course, slot, room);
+                Move edit = new Move(course, from, rooms.get(course), slot, room);
+                apply(edit.course(), edit.toSlot(), edit.toRoom());
+                undo.push(edit);
+                redo.clear();
+                return violations;
+        }
+
+        /**
+         * @return the edit that was undone, {@code null} if there is none
+         */
+        public Move undo() {
+                Move edit = undo.poll();
+                if (edit == null) return null;
+                apply(edit.course(), edit.fromSlot(), edit.fromRoom());
+                redo.push(edit);
+                return edit;
+        }
+
+        /**
+         * @return the edit that was redone, {@code null} if there is none
+         */
+        public Move redo() {
+                Move edit = redo.poll();
+                if (edit == null) return null;
+                apply(edit.course(), edit.toSlot(), edit.toRoom());
+                undo.push(edit);
+                return edit;
+        }
+
+        public boolean canUndo() {
+                return !undo.isEmpty();
+        }
+
+        public boolean canRedo() {
+                return !redo.isEmpty();
+        }
+
+        public Integer getSlot(Course course) {
+                return schedule.get(course);
+        }
+
+        public ClassRoom getRoom(Course course) {
+                return rooms.get(course);
+        }
+
+        /**
+         * @return current schedule in the form of {@link Scheduler#getSchedule()}
+         */
+        public HashMap<Course, Integer> getSchedule() {
+                return new HashMap<>(schedule);
+        }
+
+        /**
+         * @return current rooms in the form of {@link Scheduler#getRoomAssignments()}
+         */
+        public HashMap<Course, ClassRoom> getRoomAssignments() {
+                return new HashMap<>(rooms);
+        }
+
+        private void apply(Course course, int slot, ClassRoom room) {
+                unplace(course);
+                place(course, slot, room);
+        }
+
+        private void place(Course course, int slot, ClassRoom room) {
+                schedule.put(course, slot);
+                LocalDate date = slots.get(slot).getDate();
+                for (String student : course.getEnrolledStudentIDs()) {
+                        examsPerDay.computeIfAbsent(student, s -> new HashMap<>()).merge(date, 1, Integer::sum);
+                }
+                if (room != null) {
+                        rooms.put(course, room);
+                        roomUse.computeIfAbsent(room, r -> new ArrayList<>()).add(course);
+                }
+        }
+
+        private void unplace(Course course) {
+                Integer slot = schedule.remove(course);
+                if (slot == null) return;
+                LocalDate date = slots.get(slot).getDate();
+                for (String student : course.getEnrolledStudentIDs()) {
+                        examsPerDay.get(student).computeIfPresent(date, (d, n) -> n == 1 ? null : n - 1);
+                }
+                ClassRoom room = rooms.remove(course);
+                if (room != null) roomUse.get(room).removeIf(c -> c == course);
+        }
+
+        /**
+         * Course IDs of the student's exams on {@code date} plus {@code course}; only called for a violation.
+         */
+        private List<String> examsOn(String student, LocalDate date, Course course) {
+                ArrayList<String> ids = new ArrayList<>();
+                ids.add(course.getID());
+                for (Course neighbor : graph.getOrDefault(course, new ArrayList<>())) {
+                        Integer slot = schedule.get(neighbor);
+                        if (slot != null && neighbor != course && slots.get(slot).getDate().equals(date)
+                                && neighbor.getEnrolledStudentIDs().contains(student)) {
+                                ids.add(neighbor.getID());
+                        }
+                }
+                return ids;
+        }
+
+        private static String sharedStudent(Course a, Course b) {
+                for (String student : a.getEnrolledStudentIDs()) {
+                        if (b.getEnrolledStudentIDs().contains(student)) return student;
+                }
+                return "";
+        }
+
+        private static boolean overlaps(TimeSlot a, int durationA, TimeSlot b, int durationB) {
+                if (!a.getDate().equals(b.getDate())) return false;
+                LocalTime endA = a.getTime().plusMinutes(durationA);
+                LocalTime endB = b.getTime().plusMinutes(durationB);
+                return a.getTime().isBefore(endB) && b.getTime().isBefore(endA);
+        }
+}
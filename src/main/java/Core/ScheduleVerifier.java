@@ -0,0 +1,186 @@
+package Core;
+
+import Helpers.TimeSlot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Checks a finished schedule from scratch, without any of the solver's state.
+ * <p>
+ * Every exam becomes an interval (date, start minute, end minute). Exams are then grouped per
+ * student and per room, and each group is sorted and swept once. A sweep keeps the exam
+ * that ends last so far, so any exam starting before that end overlaps it. Total work is
+ * O(E log k) for E enrollments and k exams per student. Students and rooms are checked in parallel.
+ * <p>
+ * Usable for solver output as well as for imported or hand-edited schedules.
+ */
+public class ScheduleVerifier {
+
+        /**
+         * Most exams a student may have on one day.
+         */
+        public static final int DAILY_LIMIT = 2;
+
+        public enum Kind {
+                UNSCHEDULED,
+                INVALID_SLOT,
+                MISSING_ROOM,
+                ROOM_CAPACITY,
+                ROOM_DOUBLE_BOOKING,
+                STUDENT_OVERLAP,
+                DAILY_LIMIT
+        }
+
+        /**
+         * One broken constraint.
+         *
+         * @param kind    constraint
+         * @param subject student ID, room name or course ID the violation is about
+         * @param courses course IDs involved
+         * @param date    day of the violation, null if not tied to a day
+         */
+        public record Violation(Kind kind, String subject, List<String> courses, LocalDate date) {
+
+                public String toMessage() {
+                        String list = String.join(", ", courses);
+                        return switch (kind) {
+                                case UNSCHEDULED -> "Programlanmamış ders: " + subject;
+                                case INVALID_SLOT -> "Geçersiz zaman dilimi: " + subject;
+                                case MISSING_ROOM -> "Sınıf atanmamış ders: " + subject;
+                                case ROOM_CAPACITY -> "Sınıf kapasitesi yetersiz: " + subject + " (" + list + ")";
+                                case ROOM_DOUBLE_BOOKING -> "Sınıf çakışması: " + subject + " " + date + " (" + list + ")";
+                                case STUDENT_OVERLAP -> "Öğrenci sınav çakışması: " + subject + " " + date + " (" + list + ")";
+                                case DAILY_LIMIT -> "Günlük sınav sınırı aşıldı: " + subject + " " + date + " (" + list + ")";
+                        };
+                }
+        }
+
+        private record Exam(Course course, LocalDate date, int start, int end, ClassRoom room) {
+        }
+
+        private static final Comparator<Exam> BY_TIME = Comparator
+                .comparing(Exam::date)
+                .thenComparingInt(Exam::start)
+                .thenComparingInt(Exam::end);
+
+        private ScheduleVerifier() {
+        }
+
+        /**
+         * Verifies only the scheduled courses.
+         *
+         * @see #verify(Collection, Map, List, Map)
+         */
+        public static List<Violation> verify(Map<Course, Integer> schedule, List<TimeSlot> slots, Map<Course, ClassRoom> rooms) {
+                return verify(null, schedule, slots, rooms);
+        }
+
+        /**
+         * @param courses  every course that must be scheduled, or {@code null} to skip that check
+         * @param schedule course -> slot index into {@code slots}
+         * @param slots    time slots the schedule refers to
+         * @param rooms    course -> room
+         * @return all violations, grouped by kind; empty if the schedule is valid
+         */
+        public static List<Violation> verify(Collection<Course> courses, Map<Course, Integer> schedule,
+                                             List<TimeSlot> slots, Map<Course, ClassRoom> rooms) {
+                ConcurrentLinkedQueue<Violation> found = new ConcurrentLinkedQueue<>();
+
+                // rooms are looked up by identity: Course hashes its whole roster
+                IdentityHashMap<Course, ClassRoom> roomOf = new IdentityHashMap<>(rooms.size());
+                rooms.forEach(roomOf::put);
+
+                ArrayList<Exam> exams = new ArrayList<>(schedule.size());
+                IdentityHashMap<Course, Boolean> scheduled = new IdentityHashMap<>(schedule.size());
+                for (var entry : schedule.entrySet()) {
+                        Course course = entry.getKey();
+                        scheduled.put(course, Boolean.TRUE);
+                        Integer slot = entry.getValue();
+                        if (slot == null || slot < 0 || slot >= slots.size()) {
+                                found.add(new Violation(Kind.INVALID_SLOT, course.getID(), List.of(course.getID()), null));
+                                continue;
+                        }
+                        TimeSlot ts = slots.get(slot);
+                        int start = ts.getTime().getHour() * 60 + ts.getTime().getMinute();
+                        ClassRoom room = roomOf.get(course);
+                        exams.add(new Exam(course, ts.getDate(), start, start + course.getDuration(), room));
+
+                        if (room == null) {
+                                found.add(new Violation(Kind.MISSING_ROOM, course.getID(), List.of(course.getID()), ts.getDate()));
+                        } else if (course.getEnrolledStudentIDs().size() > room.getCapacity()) {
+                                found.add(new Violation(Kind.ROOM_CAPACITY, room.getName(), List.of(course.getID()), ts.getDate()));
+                        }
+                }
+                if (courses != null) {
+                        for (Course course : courses) {
+                                if (!scheduled.containsKey(course)) {
+                                        found.add(new Violation(Kind.UNSCHEDULED, course.getID(), List.of(course.getID()), null));
+                                }
+                        }
+                }
+
+                // group per student and per room, O(total enrollments)
+                HashMap<String, ArrayList<Exam>> byStudent = new HashMap<>();
+                IdentityHashMap<ClassRoom, ArrayList<Exam>> byRoom = new IdentityHashMap<>();
+                for (Exam exam : exams) {
+                        for (String student : exam.course().getEnrolledStudentIDs()) {
+                                byStudent.computeIfAbsent(student, s -> new ArrayList<>(4)).add(exam);
+                        }
+                        if (exam.room() != null) byRoom.computeIfAbsent(exam.room(), r -> new ArrayList<>()).add(exam);
+                }
+
+                String[] students = byStudent.keySet().toArray(new String[0]);
+                IntStream.range(0, students.length).parallel().forEach(i -> {
+                        ArrayList<Exam> own = byStudent.get(students[i]);
+                        if (own.size() > 1) sweep(students[i], own, Kind.STUDENT_OVERLAP, true, found);
+                });
+
+                ArrayList<Map.Entry<ClassRoom, ArrayList<Exam>>> roomGroups = new ArrayList<>(byRoom.entrySet());
+                roomGroups.parallelStream().forEach(group -> {
+                        if (group.getValue().size() > 1) sweep(group.getKey().getName(), group.getValue(), Kind.ROOM_DOUBLE_BOOKING, false, found);
+                });
+
+                Violation[] result = found.toArray(new Violation[0]);
+                Arrays.sort(result, Comparator.comparing(Violation::kind).thenComparing(Violation::subject));
+                return List.of(result);
+        }
+
+        /**
+         * Sorts one student's or room's exams and reports overlaps and, for students, days over the limit.
+         */
+        private static void sweep(String subject, ArrayList<Exam> own, Kind overlapKind, boolean dailyLimit,
+                                  ConcurrentLinkedQueue<Violation> found) {
+                own.sort(BY_TIME);
+                Exam latest = null;   // exam ending last so far on the current day
+                int dayStart = 0;     // index of the first exam of the current day
+                for (int i = 0; i <= own.size(); i++) {
+                        Exam exam = i < own.size() ? own.get(i) : null;
+                        boolean newDay = exam == null || latest == null || !exam.date().equals(latest.date());
+                        if (newDay) {
+                                if (dailyLimit && i - dayStart > DAILY_LIMIT) {
+                                        ArrayList<String> ids = new ArrayList<>();
+                                        for (int k = dayStart; k < i; k++) ids.add(own.get(k).course().getID());
+                                        found.add(new Violation(Kind.DAILY_LIMIT, subject, ids, own.get(dayStart).date()));
+                                }
+                                if (exam == null) break;
+                                dayStart = i;
+                                latest = exam;
+                                continue;
+                        }
+                        if (exam.start() < latest.end()) {
+                                found.add(new Violation(overlapKind, subject, List.of(latest.course().getID(), exam.course().getID()), exam.date()));
+                        }
+                        if (exam.end() > latest.end()) latest = exam;
+                }
+        }
+}
@@ -1,12 +1,20 @@
 package Core;
 
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 
 import Helpers.TimeSlot;
-import IO.Importer;
+import IO.Dataset;
+import IO.DatasetLoader;
+import Monitoring.RestartEvent;
+import Monitoring.RoomAssignmentEvent;
+import Monitoring.SolveAttemptEvent;
+import Monitoring.SolveEvent;
 
 import static Tests.Debug.*;
 
@@ -32,9 +40,14 @@ import static Tests.Debug.*;
 public class Scheduler {
 
 
+        /**
+         * Time limit of one {@link #generate_schedule} call unless {@link #setTimeLimit} changes it.
+         */
+        public static final Duration DEFAULT_TIME_LIMIT = Duration.ofSeconds(10);
+
         private long startTimeInMillis;
-        private final long TIMEOUT_DURATION = 10000; // 10 seconds
-        private static final Random random = new Random();
+        private long timeLimitMillis = DEFAULT_TIME_LIMIT.toMillis();
+        private Random random = new Random();
 
         /**
          * Threshold for random level at which the solver will trigger a random restart.
@@ -66,6 +79,12 @@ public class Scheduler {
          */
         private ArrayList<LocalTime> slotIds;
 
+        /**
+         * Minutes between two start times. Kept per scheduler rather than read from the static
+         * {@link TimeSlot#getStep_size_t()}, so several schedulers can run at once.
+         */
+        private int stepSize;
+
         /**
          * Flattened list of time slot indices currently considered (shuffled).
          */
@@ -74,7 +93,7 @@ public class Scheduler {
         /**
          * Resulting mapping from Course to assigned slot index.
          */
-        private HashMap<Course, Integer> schedule;
+        private HashMap<Course, Integer> schedule = new HashMap<>();
 
         /**
          * Conflict graph representation mapping a Course to neighboring Courses
@@ -82,6 +101,18 @@ public class Scheduler {
          */
         private HashMap<Course, ArrayList<Course>> mp;
 
+        /**
+         * Solver order and a clique of {@link #mp} from a {@link GraphAnalysis}, {@code null} when
+         * only a graph was supplied by the caller (then both are derived in {@code solve}).
+         */
+        private ArrayList<Course> cachedOrder;
+        private ArrayList<Course> cachedClique;
+
+        /**
+         * Courses that pairwise conflict in the current run, used for the start day estimate.
+         */
+        private ArrayList<Course> clique = new ArrayList<>();
+
         /**
          * Total number of available rooms.
          */
@@ -102,6 +133,49 @@ public class Scheduler {
          */
         private HashMap<Course, ClassRoom> roomAssignments;
 
+        // Statistics of the current run, plain counters so they can stay on (see SolveStats)
+        private long statNodes;
+        private long statBacktracks;
+        private int statPeakDepth;
+        private long statRoomRejections;
+        private long statConflictRejections;
+        private long statPerDayRejections;
+        private long statGraphNanos;
+        private ArrayList<Integer> statDayCounts = new ArrayList<>();
+        private HashMap<Integer, Integer> statRestarts = new HashMap<>();
+
+        /**
+         * Statistics of the last {@link #generate_schedule} call.
+         */
+        private SolveStats lastStats;
+
+        /**
+         * Course index at which the last random restart was thrown.
+         */
+        private int restartDepth;
+
+        /**
+         * Receives progress of a running {@link #generate_schedule} call. Called on the solving thread.
+         */
+        @FunctionalInterface
+        public interface ProgressListener {
+                /**
+                 * @param days   day count currently tried
+                 * @param placed courses placed in the current attempt
+                 * @param total  courses to place
+                 */
+                void onProgress(int days, int placed, int total);
+        }
+
+        /**
+         * Search nodes between two progress reports; a power of two.
+         */
+        private static final int PROGRESS_INTERVAL = 256;
+
+        private ProgressListener progressListener;
+        private int currentDays;
+        private volatile boolean cancelled;
+
 
         /**
          * Calculates the optimal number of start days required for scheduling.
@@ -115,7 +189,7 @@ public class Scheduler {
 
                 long totalCourseSlotsNeeded = 0;
                 for (Course c : this.courses) {
-                        int slotsForCourse = (int) Math.ceil((double) c.getDuration() / TimeSlot.getStep_size_t());
+                        int slotsForCourse = (int) Math.ceil((double) c.getDuration() / this.stepSize);
                         totalCourseSlotsNeeded += slotsForCourse;
                 }
 
@@ -142,7 +216,15 @@ public class Scheduler {
                 int minDaysByStudent = (int) Math.ceil((double) maxExamsForSingleStudent / dailyStudentLimit);
 
 
-                int theoreticalMin = Math.max(minDaysByVolume, minDaysByStudent);
+                // exams of a clique pairwise share a student, so they need disjoint time slots
+                long cliqueSlots = 0;
+                for (Course c : this.clique) {
+                        cliqueSlots += (int) Math.ceil((double) c.getDuration() / this.stepSize);
+                }
+                int minDaysByClique = (int) Math.ceil((double) cliqueSlots / slotsPerDay);
+
+
+                int theoreticalMin = Math.max(Math.max(minDaysByVolume, minDaysByStudent), minDaysByClique);
 
 
                 int buffer = (int) Math.ceil(theoreticalMin * 0.7);
@@ -155,6 +237,7 @@ public class Scheduler {
                         System.out.println("Total Rooms: " + total_rooms);
                         System.out.println("Bound 1 (Volume): " + minDaysByVolume + " days");
                         System.out.println("Bound 2 (Student Load): " + minDaysByStudent + " days (Max exams: " + maxExamsForSingleStudent + ")");
+                        System.out.println("Bound 3 (Clique): " + minDaysByClique + " days (Clique size: " + clique.size() + ")");
                         System.out.println("Theoretical Min: " + theoreticalMin);
                         System.out.println("Calculated Start (w/ buffer): " + optimalStart);
                         System.out.println("---------------------------------");
@@ -177,37 +260,20 @@ public class Scheduler {
         }
 
         /**
-         * Initializes the scheduler with classroom, course, and attendance data.
-         * Actual method for this is on GUI part.
+         * Initializes the scheduler with classroom, course, and attendance data read from files.
+         * The files are loaded concurrently by {@link DatasetLoader}; the GUI and the command line
+         * load the data themselves and call {@link #loadData} instead.
          *
          * @param classroom       Path to the file containing classroom data.
          * @param cour_path       Path to the file containing course data.
          * @param attendance_path Path to the file containing attendance data.
          * @param stepsize        The step size for time slots.
+         * @return the loaded data, with any problems found in the files
          */
-        private void init(Path classroom, Path cour_path, Path attendance_path, int stepsize) {
-                this.classrooms = Importer.importClassRooms(classroom);
-                this.courses = Importer.importCourses(cour_path);
-                ArrayList<Course> attendance_list = Importer.importAttandenceLists(attendance_path);
-
-                HashMap<String, Course> courseMap = new HashMap<>();
-                for (Course c : this.courses) {
-                        courseMap.put(c.getID(), c);
-                }
-
-                for (Course attCourse : attendance_list) {
-                        Course mainCourse = courseMap.get(attCourse.getID());
-                        if (mainCourse != null) {
-                                for (String studentID : attCourse.getEnrolledStudentIDs()) {
-                                        mainCourse.addEnrolledStudentID(studentID);
-                                }
-                        }
-                }
-
-                this.total_rooms = this.classrooms.size();
-                TimeSlot.setStep_size_t(stepsize);
-                this.slotIds = TimeSlot.set_time_slots();
-                this.mp = Graph.createGraph(this.courses);
+        public Dataset init(Path classroom, Path cour_path, Path attendance_path, int stepsize) {
+                Dataset dataset = DatasetLoader.load(null, cour_path, classroom, attendance_path);
+                loadData(dataset.courses(), dataset.classrooms(), stepsize);
+                return dataset;
         }
 
         /**
@@ -218,24 +284,41 @@ public class Scheduler {
          * @param skip_weekend Whether weekends should be skipped in the schedule.
          */
         public void generate_schedule(int initialDays, LocalDate startDate, boolean skip_weekend) {
+                SolveEvent event = new SolveEvent();
+                event.begin();
+                try {
+                        solve(initialDays, startDate, skip_weekend);
+                } finally {
+                        event.end();
+                        if (event.shouldCommit()) {
+                                event.courses = this.courses.size();
+                                event.rooms = this.total_rooms;
+                                event.stepSize = this.stepSize;
+                                SolveStats stats = this.lastStats;
+                                if (stats != null) {
+                                        event.solved = stats.solved();
+                                        event.timedOut = stats.timedOut();
+                                        event.days = stats.days();
+                                        event.nodes = stats.nodes();
+                                        event.backtracks = stats.backtracks();
+                                        event.restarts = stats.totalRestarts();
+                                }
+                                event.commit();
+                        }
+                }
+        }
 
-                this.startTimeInMillis = System.currentTimeMillis();
-                // 1. Sort Courses (Hardest first)
-                this.courses.sort((c1, c2) -> {
-                        int deg1 = mp.getOrDefault(c1, new ArrayList<>()).size();
-                        int deg2 = mp.getOrDefault(c2, new ArrayList<>()).size();
-                        if (deg1 != deg2) return Integer.compare(deg2, deg1);
-                        return Integer.compare(c2.getEnrolledStudentIDs().size(), c1.getEnrolledStudentIDs().size());
-                });
-
+        private void solve(int initialDays, LocalDate startDate, boolean skip_weekend) {
 
-                int n = Math.max(1, this.courses.size());
-                int log2Courses = (int) (Math.log(n) / Math.log(2));
-                int safetyBuffer = (n > 200) ? 8 : 4;
-                this.THROW_THRESHOLD = Math.min(log2Courses + safetyBuffer, MAX_LEVEL_CAP - 1);
+                this.startTimeInMillis = System.currentTimeMillis();
+                resetStats();
+                prepareCourses();
 
 
+                long boundStart = System.nanoTime();
                 int calculatedStart = calculateOptimalStartDay(skip_weekend);
+                long lowerBoundNanos = System.nanoTime() - boundStart;
+                long solveNanos = 0;
 
 
                 int days = Math.max(initialDays, calculatedStart);
@@ -251,28 +334,46 @@ public class Scheduler {
                                 System.out.println("Checking " + days + " days...");
                         }
 
-                        ArrayList<TimeSlot> curr = TimeSlot.slot_generator(days, startDate, slotIds, skip_weekend);
-                        this.active_timeslots = curr;
-                        this.slots = new ArrayList<>();
-                        for (TimeSlot ts : curr) this.slots.add(ts.getID());
+                        SolveAttemptEvent attempt = new SolveAttemptEvent();
+                        attempt.begin();
+                        long nodesBefore = statNodes, backtracksBefore = statBacktracks;
 
-                        // Shuffle slots for randomness
-                        Collections.shuffle(this.slots, this.random);
+                        ArrayList<TimeSlot> curr = prepareSlots(days, startDate, skip_weekend);
 
                         // 1. Math Check (Skip impossibly small days instantly)
                         int totalSystemCapacity = this.slots.size() * this.total_rooms;
                         if (this.courses.size() > totalSystemCapacity) {
+                                commitAttempt(attempt, days, currentDayRetries, SolveAttemptEvent.NOT_ENOUGH_SLOTS, nodesBefore, backtracksBefore);
                                 days++;
                                 currentDayRetries = 0;
                                 continue;
                         }
 
+                        if (statDayCounts.isEmpty() || statDayCounts.get(statDayCounts.size() - 1) != days) {
+                                statDayCounts.add(days);
+                        }
+                        this.currentDays = days;
+                        if (progressListener != null) progressListener.onProgress(days, 0, courses.size());
+                        long attemptStart = System.nanoTime();
                         try {
-                                if (solver(0)) {
+                                boolean found = solver(0);
+                                long roomsStart = System.nanoTime();
+                                if (found && !assignRooms()) {
+                                        // each exam fit next to the exams it overlaps, but the sweep over the
+                                        // whole day could not seat all of them: retried like a random restart
+                                        throw new RuntimeException("RANDOM_RESTART");
+                                }
+                                long roomNanos = System.nanoTime() - roomsStart;
+                                solveNanos += roomsStart - attemptStart;
+                                commitAttempt(attempt, days, currentDayRetries,
+                                        found ? SolveAttemptEvent.SOLVED : SolveAttemptEvent.NO_SOLUTION, nodesBefore, backtracksBefore);
+                                if (found) {
                                         solved = true;
-                                        assignRooms();
+                                        this.lastStats = buildStats(true, false, false, days, lowerBoundNanos, solveNanos, roomNanos);
+                                        if (progressListener != null) progressListener.onProgress(days, courses.size(), courses.size());
                                         if (DEBUG) {
                                                 System.out.println("SUCCESS: Schedule generated in " + days + " day(s).");
+                                                System.out.println(lastStats);
                                                 printSchedule(curr);
                                         }
                                         return;
@@ -282,9 +383,20 @@ public class Scheduler {
                                         currentDayRetries = 0;
                                 }
                         } catch (RuntimeException e) {
+                                solveNanos += System.nanoTime() - attemptStart;
                                 if (e.getMessage().equals("RANDOM_RESTART")) {
+                                        commitAttempt(attempt, days, currentDayRetries, SolveAttemptEvent.RESTART, nodesBefore, backtracksBefore);
                                         schedule.clear();
                                         currentDayRetries++;
+                                        statRestarts.merge(days, 1, Integer::sum);
+
+                                        RestartEvent restart = new RestartEvent();
+                                        if (restart.shouldCommit()) {
+                                                restart.days = days;
+                                                restart.retry = currentDayRetries;
+                                                restart.depth = restartDepth;
+                                                restart.commit();
+                                        }
 
                                         // Fail Fast Check
                                         if (currentDayRetries >= MAX_RETRIES_PER_DAY) {
@@ -294,9 +406,16 @@ public class Scheduler {
                                                 currentDayRetries = 0;
                                         }
                                 } else if (e.getMessage().equals("TIMEOUT")) {
+                                        commitAttempt(attempt, days, currentDayRetries, SolveAttemptEvent.TIMEOUT, nodesBefore, backtracksBefore);
+                                        this.lastStats = buildStats(false, true, false, 0, lowerBoundNanos, solveNanos, 0);
                                         System.err.println("Scheduling stopped: Time limit exceeded.");
-                                        IO.ErrorHandler.getInstance().logError("Zaman aşımı: Uygun bir program 10 saniyede üretilemedi.");
+                                        IO.ErrorHandler.getInstance().logError("Zaman aşımı: Uygun bir program " + timeLimitMillis / 1000.0 + " saniyede üretilemedi.");
                                         return; // Stop execution
+                                } else if (e.getMessage().equals("CANCELLED")) {
+                                        commitAttempt(attempt, days, currentDayRetries, SolveAttemptEvent.CANCELLED, nodesBefore, backtracksBefore);
+                                        this.lastStats = buildStats(false, false, true, 0, lowerBoundNanos, solveNanos, 0);
+                                        schedule.clear();
+                                        return;
                                 } else {
                                         throw e;
                                 }
@@ -304,6 +423,265 @@ public class Scheduler {
                 }
         }
 
+        /**
+         * Sorts the courses hardest first and sets the restart threshold for their count.
+         * Order and clique are taken from the {@link GraphAnalysis} given to {@code loadData}, if any.
+         */
+        private void prepareCourses() {
+                ArrayList<Course> order = cachedOrder != null && cachedOrder.size() == this.courses.size()
+                        ? cachedOrder : Graph.degreeOrder(this.courses, mp);
+                this.courses.clear();
+                this.courses.addAll(order);
+                this.clique = cachedClique != null && order == cachedOrder ? cachedClique : Graph.greedyClique(order, mp);
+
+
+                int n = Math.max(1, this.courses.size());
+                int log2Courses = (int) (Math.log(n) / Math.log(2));
+                int safetyBuffer = (n > 200) ? 8 : 4;
+                this.THROW_THRESHOLD = Math.min(log2Courses + safetyBuffer, MAX_LEVEL_CAP - 1);
+        }
+
+        /**
+         * Repairs an earlier schedule after small changes (an enrollment, a closed room, a new
+         * duration) instead of solving from scratch, so most exams keep their time.
+         * <p>
+         * The earlier starts are laid on the same slot grid and kept, hardest course first, as long
+         * as they still pass the solver's checks. Only the courses that fail (and courses that are
+         * new) are solved again, around the kept ones. If they do not fit, each one's conflict
+         * neighbours on the day it shares with the fewest of them are freed as well, and after that
+         * the displaced courses alone may use one more day. If
+         * all of this fails, or the result's exams cannot all be seated, the whole term is solved
+         * again as by {@link #generate_schedule}, from the earlier day count and with a fresh time
+         * limit. Rooms are assigned anew in every case.
+         *
+         * @param previous     start of every course of the earlier schedule by course ID
+         * @param startDate    first day of the earlier schedule
+         * @param skip_weekend as in the earlier schedule
+         */
+        public void repair_schedule(Map<String, LocalDateTime> previous, LocalDate startDate, boolean skip_weekend) {
+                SolveEvent event = new SolveEvent();
+                event.begin();
+                try {
+                        repair(previous, startDate, skip_weekend);
+                } finally {
+                        event.end();
+                        if (event.shouldCommit()) {
+                                event.courses = this.courses.size();
+                                event.rooms = this.total_rooms;
+                                event.stepSize = this.stepSize;
+                                SolveStats stats = this.lastStats;
+                                if (stats != null) {
+                                        event.solved = stats.solved();
+                                        event.timedOut = stats.timedOut();
+                                        event.days = stats.days();
+                                        event.nodes = stats.nodes();
+                                        event.backtracks = stats.backtracks();
+                                        event.restarts = stats.totalRestarts();
+                                }
+                                event.commit();
+                        }
+                }
+        }
+
+        private void repair(Map<String, LocalDateTime> previous, LocalDate startDate, boolean skip_weekend) {
+                this.startTimeInMillis = System.currentTimeMillis();
+                resetStats();
+                prepareCourses();
+                ArrayList<Course> order = new ArrayList<>(this.courses);
+                IdentityHashMap<Course, Integer> rank = new IdentityHashMap<>();
+                for (Course c : order) rank.put(c, rank.size());
+
+                // the earlier grid: enough days to reach its last exam
+                LocalDate last = startDate;
+                for (LocalDateTime start : previous.values()) {
+                        if (start.toLocalDate().isAfter(last)) last = start.toLocalDate();
+                }
+                int days = 0;
+                for (LocalDate d = startDate; !d.isAfter(last); d = d.plusDays(1)) {
+                        if (!skip_weekend || (d.getDayOfWeek() != DayOfWeek.SATURDAY && d.getDayOfWeek() != DayOfWeek.SUNDAY)) days++;
+                }
+                days = Math.max(1, days);
+                int earlierDays = days;
+
+                long solveStart = System.nanoTime();
+                try {
+                        ArrayList<Course> kept = new ArrayList<>();
+                        ArrayList<Course> displaced = new ArrayList<>();
+
+                        // 1. only the courses that no longer fit
+                        layOut(previous, order, days, startDate, skip_weekend, kept, displaced);
+                        boolean found = resolve(kept, displaced, days);
+
+                        // 2. also their conflict neighbours on the day each displaced course blocks least
+                        if (!found) {
+                                layOut(previous, order, days, startDate, skip_weekend, new ArrayList<>(), new ArrayList<>());
+                                IdentityHashMap<Course, Boolean> freed = new IdentityHashMap<>();
+                                for (Course c : displaced) {
+                                        freed.put(c, true);
+                                        HashMap<LocalDate, ArrayList<Course>> byDay = new HashMap<>();
+                                        for (LocalDate d : activeDates()) byDay.put(d, new ArrayList<>());
+                                        for (Course neighbor : mp.getOrDefault(c, new ArrayList<>())) {
+                                                Integer slot = schedule.get(neighbor);
+                                                if (slot != null) byDay.get(active_timeslots.get(slot).getDate()).add(neighbor);
+                                        }
+                                        byDay.values().stream().min(Comparator.comparingInt(ArrayList::size))
+                                                .ifPresent(blocking -> blocking.forEach(n -> freed.put(n, true)));
+                                }
+                                ArrayList<Course> stay = new ArrayList<>();
+                                ArrayList<Course> free = new ArrayList<>();
+                                for (Course c : order) (freed.containsKey(c) ? free : stay).add(c);
+                                for (Course c : free) schedule.remove(c);
+                                stay.removeIf(c -> !schedule.containsKey(c));
+                                found = resolve(stay, free, days);
+                        }
+
+                        // 3. only the courses that no longer fit, with one more day
+                        if (!found) {
+                                days++;
+                                kept.clear();
+                                displaced.clear();
+                                layOut(previous, order, days, startDate, skip_weekend, kept, displaced);
+                                found = resolve(kept, displaced, days);
+                        }
+                        long solveNanos = System.nanoTime() - solveStart;
+
+                        // 4. everything, also when the repaired schedule's exams cannot all be seated
+                        long roomsStart = System.nanoTime();
+                        if (!found || !assignRooms()) {
+                                if (DEBUG) System.out.println("Repair failed, solving the whole term again.");
+                                this.courses.clear();
+                                this.courses.addAll(order);
+                                solve(earlierDays, startDate, skip_weekend);
+                                return;
+                        }
+                        this.lastStats = buildStats(true, false, false, days, 0, solveNanos, System.nanoTime() - roomsStart);
+                        if (progressListener != null) progressListener.onProgress(days, courses.size(), courses.size());
+                } catch (RuntimeException e) {
+                        long solveNanos = System.nanoTime() - solveStart;
+                        if (e.getMessage() != null && e.getMessage().equals("TIMEOUT")) {
+                                this.lastStats = buildStats(false, true, false, 0, 0, solveNanos, 0);
+                                System.err.println("Scheduling stopped: Time limit exceeded.");
+                                IO.ErrorHandler.getInstance().logError("Zaman aşımı: Uygun bir program " + timeLimitMillis / 1000.0 + " saniyede üretilemedi.");
+                        } else if (e.getMessage() != null && e.getMessage().equals("CANCELLED")) {
+                                this.lastStats = buildStats(false, false, true, 0, 0, solveNanos, 0);
+                                schedule.clear();
+                        } else {
+                                throw e;
+                        }
+                }
+        }
+
+        /**
+         * @return distinct dates of {@link #active_timeslots} in order
+         */
+        private ArrayList<LocalDate> activeDates() {
+                ArrayList<LocalDate> dates = new ArrayList<>();
+                for (TimeSlot ts : active_timeslots) {
+                        if (dates.isEmpty() || !dates.getLast().equals(ts.getDate())) dates.add(ts.getDate());
+                }
+                return dates;
+        }
+
+        /**
+         * Lays the earlier starts on a fresh grid of {@code days} days and keeps, in {@code order},
+         * every course whose start is on the grid and still passes the solver's checks.
+         */
+        private void layOut(Map<String, LocalDateTime> previous, ArrayList<Course> order, int days, LocalDate startDate,
+                            boolean skip_weekend, ArrayList<Course> kept, ArrayList<Course> displaced) {
+                prepareSlots(days, startDate, skip_weekend);
+                HashMap<LocalDateTime, Integer> slotAt = new HashMap<>();
+                for (TimeSlot ts : active_timeslots) slotAt.put(LocalDateTime.of(ts.getDate(), ts.getTime()), ts.getID());
+                if (statDayCounts.isEmpty() || statDayCounts.getLast() != days) statDayCounts.add(days);
+                this.currentDays = days;
+
+                this.schedule = new HashMap<>();
+                for (Course c : order) {
+                        LocalDateTime start = previous.get(c.getID());
+                        Integer slot = start == null ? null : slotAt.get(start);
+                        if (slot != null && checkRoomCapacity(c, slot) && checkStudentConflicts(c, slot) && checkMaxStudentsPerDay(c, slot)) {
+                                schedule.put(c, slot);
+                                kept.add(c);
+                        } else {
+                                displaced.add(c);
+                        }
+                }
+        }
+
+        /**
+         * Places {@code free} around the fixed courses, which must already be in {@link #schedule}.
+         * Random restarts only undo the free courses.
+         *
+         * @return true if all free courses were placed
+         */
+        private boolean resolve(ArrayList<Course> fixed, ArrayList<Course> free, int days) {
+                this.courses.clear();
+                this.courses.addAll(fixed);
+                this.courses.addAll(free);
+                if (progressListener != null) progressListener.onProgress(days, fixed.size(), courses.size());
+
+                for (int retry = 0; ; retry++) {
+                        SolveAttemptEvent attempt = new SolveAttemptEvent();
+                        attempt.begin();
+                        long nodesBefore = statNodes, backtracksBefore = statBacktracks;
+                        try {
+                                boolean found = solver(fixed.size());
+                                commitAttempt(attempt, days, retry, found ? SolveAttemptEvent.SOLVED : SolveAttemptEvent.NO_SOLUTION, nodesBefore, backtracksBefore);
+                                return found;
+                        } catch (RuntimeException e) {
+                                if (!"RANDOM_RESTART".equals(e.getMessage())) {
+                                        commitAttempt(attempt, days, retry, "TIMEOUT".equals(e.getMessage())
+                                                ? SolveAttemptEvent.TIMEOUT : SolveAttemptEvent.CANCELLED, nodesBefore, backtracksBefore);
+                                        throw e;
+                                }
+                                commitAttempt(attempt, days, retry, SolveAttemptEvent.RESTART, nodesBefore, backtracksBefore);
+                                for (Course c : free) schedule.remove(c);
+                                statRestarts.merge(days, 1, Integer::sum);
+                                if (retry + 1 >= MAX_RETRIES_PER_DAY) return false;
+                        }
+                }
+        }
+
+        /**
+         * @return start of every scheduled course by course ID, the input of {@link #repair_schedule}
+         */
+        public HashMap<String, LocalDateTime> getStartTimes() {
+                HashMap<String, LocalDateTime> starts = new HashMap<>();
+                for (var entry : schedule.entrySet()) {
+                        TimeSlot ts = active_timeslots.get(entry.getValue());
+                        starts.put(entry.getKey().getID(), LocalDateTime.of(ts.getDate(), ts.getTime()));
+                }
+                return starts;
+        }
+
+        private void commitAttempt(SolveAttemptEvent attempt, int days, int retry, String outcome, long nodesBefore, long backtracksBefore) {
+                attempt.end();
+                if (attempt.shouldCommit()) {
+                        attempt.days = days;
+                        attempt.attempt = retry;
+                        attempt.slots = this.slots.size();
+                        attempt.outcome = outcome;
+                        attempt.nodes = statNodes - nodesBefore;
+                        attempt.backtracks = statBacktracks - backtracksBefore;
+                        attempt.commit();
+                }
+        }
+
+        /**
+         * Generates the time slots of one attempt over {@code days} days and shuffles their order.
+         *
+         * @return the generated slots, also kept as {@link #active_timeslots}
+         */
+        ArrayList<TimeSlot> prepareSlots(int days, LocalDate startDate, boolean skip_weekend) {
+                ArrayList<TimeSlot> curr = TimeSlot.slot_generator(days, startDate, slotIds, skip_weekend);
+                this.active_timeslots = curr;
+                this.slots = new ArrayList<>();
+                for (TimeSlot ts : curr) this.slots.add(ts.getID());
+
+                // Shuffle slots for randomness
+                Collections.shuffle(this.slots, this.random);
+                return curr;
+        }
+
         /**
          * Recursively attempts to assign slots to courses using backtracking.
          * <p>
@@ -316,14 +694,25 @@ public class Scheduler {
          */
         boolean solver(int courseIndex) {
 
-                if (System.currentTimeMillis() - this.startTimeInMillis > TIMEOUT_DURATION) {
+                if (System.currentTimeMillis() - this.startTimeInMillis > timeLimitMillis) {
                         throw new RuntimeException("TIMEOUT");
                 }
 
+                if (cancelled) {
+                        throw new RuntimeException("CANCELLED");
+                }
+
                 if (randomLevel() >= THROW_THRESHOLD) {
+                        this.restartDepth = courseIndex;
                         throw new RuntimeException("RANDOM_RESTART");
                 }
 
+                statNodes++;
+                if (courseIndex > statPeakDepth) statPeakDepth = courseIndex;
+                if (progressListener != null && (statNodes & (PROGRESS_INTERVAL - 1)) == 0) {
+                        progressListener.onProgress(currentDays, courseIndex, courses.size());
+                }
+
                 if (courseIndex == courses.size()) return true;
 
                 Course curr = courses.get(courseIndex);
@@ -331,15 +720,25 @@ public class Scheduler {
                 for (int i = 0; i < slots.size(); i++) {
                         int slot = slots.get(i);
 
-                        if (!checkRoomCapacity(curr, slot)) continue;
-                        if (!checkStudentConflicts(curr, slot)) continue;
-                        if (!checkMaxStudentsPerDay(curr, slot)) continue;
+                        if (!checkRoomCapacity(curr, slot)) {
+                                statRoomRejections++;
+                                continue;
+                        }
+                        if (!checkStudentConflicts(curr, slot)) {
+                                statConflictRejections++;
+                                continue;
+                        }
+                        if (!checkMaxStudentsPerDay(curr, slot)) {
+                                statPerDayRejections++;
+                                continue;
+                        }
 
                         schedule.put(curr, slot);
 
                         if (solver(courseIndex + 1)) return true;
 
                         schedule.remove(curr);
+                        statBacktracks++;
                 }
                 return false;
         }
@@ -392,12 +791,132 @@ public class Scheduler {
          * @param stepsize   time step size in minutes
          */
         public void loadData(ArrayList<Course> courses, ArrayList<ClassRoom> classrooms, int stepsize) {
+                loadData(courses, classrooms, stepsize, GraphCache.analyze(courses));
+        }
+
+        /**
+         * Same as {@link #loadData(ArrayList, ArrayList, int)} but reuses a conflict graph that was
+         * built earlier for the same courses (e.g. read back from a snapshot), skipping graph construction.
+         * Without one the graph comes from {@link GraphCache}, so re-running a term with other
+         * parameters only builds it once.
+         *
+         * @param courses       list of courses to schedule
+         * @param classrooms    list of available classrooms
+         * @param stepsize      time step size in minutes
+         * @param conflictGraph prebuilt graph over {@code courses}, or {@code null} to build it
+         */
+        public void loadData(ArrayList<Course> courses, ArrayList<ClassRoom> classrooms, int stepsize,
+                             HashMap<Course, ArrayList<Course>> conflictGraph) {
+                if (conflictGraph == null) {
+                        loadData(courses, classrooms, stepsize, GraphCache.analyze(courses));
+                        return;
+                }
+                setData(courses, classrooms, stepsize);
+                this.mp = conflictGraph;
+                this.cachedOrder = null;
+                this.cachedClique = null;
+                this.statGraphNanos = 0;
+        }
+
+        /**
+         * Same as {@link #loadData(ArrayList, ArrayList, int)} with an analysis from
+         * {@link Portfolio#analyze}, so neither the graph nor the solver order and clique are derived again.
+         *
+         * @param courses    list of courses to schedule, the courses {@code analysis} was built over
+         * @param classrooms list of available classrooms
+         * @param stepsize   time step size in minutes
+         * @param analysis   conflict graph, order and clique over {@code courses}
+         */
+        public void loadData(ArrayList<Course> courses, ArrayList<ClassRoom> classrooms, int stepsize,
+                             GraphAnalysis analysis) {
+                setData(courses, classrooms, stepsize);
+                this.mp = analysis.graph();
+                this.cachedOrder = analysis.degreeOrder();
+                this.cachedClique = analysis.clique();
+                this.statGraphNanos = analysis.buildNanos();
+        }
+
+        private void setData(ArrayList<Course> courses, ArrayList<ClassRoom> classrooms, int stepsize) {
                 this.courses = courses;
                 this.classrooms = classrooms;
                 this.total_rooms = classrooms.size();
-                TimeSlot.setStep_size_t(stepsize);
-                this.slotIds = TimeSlot.set_time_slots();
-                this.mp = Graph.createGraph(courses);
+                this.stepSize = stepsize;
+                this.slotIds = TimeSlot.set_time_slots(stepsize);
+        }
+
+        /**
+         * @return conflict graph used by the last {@code loadData} call
+         */
+        public HashMap<Course, ArrayList<Course>> getConflictGraph() {
+                return this.mp;
+        }
+
+        /**
+         * Sets the listener for progress of later {@link #generate_schedule} calls, {@code null} to remove it.
+         * Reports come every few hundred search nodes, so the listener must be cheap.
+         */
+        public void setProgressListener(ProgressListener listener) {
+                this.progressListener = listener;
+        }
+
+        /**
+         * Stops a running {@link #generate_schedule} call from another thread. The run returns
+         * with an empty schedule and {@link SolveStats#cancelled()} set. Cancelling is permanent:
+         * later calls on this scheduler return right away as well.
+         */
+        public void cancel() {
+                this.cancelled = true;
+        }
+
+        /**
+         * Sets how long later {@link #generate_schedule} calls may search before giving up.
+         *
+         * @param limit positive time limit
+         */
+        public void setTimeLimit(Duration limit) {
+                if (limit.isNegative() || limit.isZero()) {
+                        throw new IllegalArgumentException("time limit must be positive");
+                }
+                this.timeLimitMillis = limit.toMillis();
+        }
+
+        public Duration getTimeLimit() {
+                return Duration.ofMillis(timeLimitMillis);
+        }
+
+        /**
+         * @return statistics of the last {@link #generate_schedule} call, or {@code null} if it has not run
+         */
+        public SolveStats getLastStats() {
+                return this.lastStats;
+        }
+
+        private void resetStats() {
+                statNodes = 0;
+                statBacktracks = 0;
+                statPeakDepth = 0;
+                statRoomRejections = 0;
+                statConflictRejections = 0;
+                statPerDayRejections = 0;
+                statDayCounts = new ArrayList<>();
+                statRestarts = new HashMap<>();
+                lastStats = null;
+        }
+
+        private SolveStats buildStats(boolean solved, boolean timedOut, boolean cancelled, int days, long lowerBoundNanos, long solveNanos, long roomNanos) {
+                return new SolveStats(solved, timedOut, cancelled, days, statNodes, statBacktracks, statPeakDepth,
+                        statDayCounts, statRestarts,
+                        statRoomRejections, statConflictRejections, statPerDayRejections,
+                        statGraphNanos, lowerBoundNanos, solveNanos, roomNanos);
+        }
+
+        /**
+         * Seeds the random source used for slot shuffling and restarts, making runs reproducible.
+         *
+         * @param seed random seed
+         */
+        public void setSeed(long seed) {
+                this.random = new Random(seed);
         }
 
         public HashMap<Course, Integer> getSchedule() {
@@ -413,31 +932,74 @@ public class Scheduler {
         }
 
         /**
-         * Assign classrooms to scheduled courses for each slot, matching largest courses
-         * to the largest rooms to maximize feasibility.
+         * Assign classrooms to scheduled courses.
+         * <p>
+         * Exams are swept in start order (larger courses first on ties). A room becomes free again
+         * when its exam ends, so exams that overlap in time never share a room, even when they
+         * start in different slots. Each exam takes the smallest free room it fits in (best fit),
+         * leaving the large rooms for large courses. An exam is never put in a room that is too small.
+         *
+         * @return false if some exam found no free room it fits in; the assignment is then incomplete
+         *         and the schedule must not be reported as solved
          */
-        private void assignRooms() {
+        private boolean assignRooms() {
+                RoomAssignmentEvent event = new RoomAssignmentEvent();
+                event.begin();
                 this.roomAssignments = new HashMap<>();
-                HashMap<Integer, ArrayList<Course>> coursesBySlot = new HashMap<>();
 
-                for (var entry : schedule.entrySet()) {
-                        int slotId = entry.getValue();
-                        coursesBySlot.computeIfAbsent(slotId, k -> new ArrayList<>()).add(entry.getKey());
+                record Placement(Course course, LocalDate date, LocalTime start, LocalTime end, int size) {
+                }
+                record Busy(LocalTime end, ClassRoom room) {
                 }
 
-                ArrayList<ClassRoom> roomsDesc = new ArrayList<>(this.classrooms);
-                roomsDesc.sort((r1, r2) -> Integer.compare(r2.getCapacity(), r1.getCapacity()));
+                ArrayList<Placement> placements = new ArrayList<>(schedule.size());
+                for (var entry : schedule.entrySet()) {
+                        Course c = entry.getKey();
+                        TimeSlot ts = active_timeslots.get(entry.getValue());
+                        placements.add(new Placement(c, ts.getDate(), ts.getTime(), ts.getTime().plusMinutes(c.getDuration()),
+                                c.getEnrolledStudentIDs().size()));
+                }
+                placements.sort(Comparator.comparing(Placement::date)
+                        .thenComparing(Placement::start)
+                        .thenComparing(Comparator.comparingInt(Placement::size).reversed()));
+
+                // capacity -> free rooms of that capacity
+                TreeMap<Integer, ArrayDeque<ClassRoom>> free = new TreeMap<>();
+                PriorityQueue<Busy> busy = new PriorityQueue<>(Comparator.comparing(Busy::end));
+                for (ClassRoom room : this.classrooms) {
+                        free.computeIfAbsent(room.getCapacity(), k -> new ArrayDeque<>()).add(room);
+                }
 
-                for (int slotId : coursesBySlot.keySet()) {
-                        ArrayList<Course> coursesInThisSlot = coursesBySlot.get(slotId);
-                        coursesInThisSlot.sort((c1, c2) -> Integer.compare(c2.getEnrolledStudentIDs().size(), c1.getEnrolledStudentIDs().size()));
+                boolean seated = true;
+                LocalDate day = null;
+                for (Placement p : placements) {
+                        boolean newDay = !p.date().equals(day);
+                        day = p.date();
+                        while (!busy.isEmpty() && (newDay || !busy.peek().end().isAfter(p.start()))) {
+                                ClassRoom released = busy.poll().room();
+                                free.computeIfAbsent(released.getCapacity(), k -> new ArrayDeque<>()).add(released);
+                        }
 
-                        for (int i = 0; i < coursesInThisSlot.size(); i++) {
-                                if (i < roomsDesc.size()) {
-                                        this.roomAssignments.put(coursesInThisSlot.get(i), roomsDesc.get(i));
-                                }
+                        Map.Entry<Integer, ArrayDeque<ClassRoom>> fit = free.ceilingEntry(p.size());
+                        if (fit == null) {
+                                seated = false;
+                                break;
                         }
+                        ClassRoom room = fit.getValue().poll();
+                        if (fit.getValue().isEmpty()) free.remove(fit.getKey());
+
+                        this.roomAssignments.put(p.course(), room);
+                        busy.add(new Busy(p.end(), room));
+                }
+
+                event.end();
+                if (event.shouldCommit()) {
+                        event.courses = schedule.size();
+                        event.rooms = classrooms.size();
+                        event.assigned = roomAssignments.size();
+                        event.commit();
                 }
+                return seated;
         }
 
         /**
@@ -448,7 +1010,7 @@ public class Scheduler {
          * @param proposedSlotId slot index to test
          * @return true if no conflicts detected
          */
-        private boolean checkStudentConflicts(Course current, int proposedSlotId) {
+        boolean checkStudentConflicts(Course current, int proposedSlotId) {
                 ArrayList<Course> neighbors = mp.get(current);
                 if (neighbors == null || neighbors.isEmpty()) return true;
                 TimeSlot propStart = active_timeslots.get(proposedSlotId);
@@ -472,7 +1034,7 @@ public class Scheduler {
          * @param slot   slot index to test
          * @return true if capacity constraints are satisfied
          */
-        private boolean checkRoomCapacity(Course course, int slot) {
+        boolean checkRoomCapacity(Course course, int slot) {
                 ArrayList<Course> coursesInSlot = new ArrayList<>();
                 coursesInSlot.add(course);
                 TimeSlot proposedTS = active_timeslots.get(slot);
@@ -505,7 +1067,7 @@ public class Scheduler {
          * @param slot   slot index to test
          * @return true if the per-day student exam limit is not exceeded
          */
-        private boolean checkMaxStudentsPerDay(Course course, int slot) {
+        boolean checkMaxStudentsPerDay(Course course, int slot) {
                 LocalDate targetDate = active_timeslots.get(slot).getDate();
                 HashSet<String> studentsInCurrentCourse = course.getEnrolledStudentIDs();
                 for (String studentID : studentsInCurrentCourse) {
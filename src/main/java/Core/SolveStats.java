@@ -0,0 +1,100 @@
+package Core;
+
+import IO.Json;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Statistics of one {@link Scheduler#generate_schedule} run. Immutable.
+ *
+ * @param solved                     a schedule was found
+ * @param timedOut                   the run stopped at the time limit
+ * @param cancelled                  the run was stopped by {@link Scheduler#cancel()}
+ * @param days                       number of days of the final schedule, 0 if not solved
+ * @param nodes                      solver calls (search nodes visited)
+ * @param backtracks                 placements undone after the rest of the search failed
+ * @param peakDepth                  deepest course index reached
+ * @param dayCountsTried             day counts the solver ran on, in order
+ * @param restartsPerDayCount        random restarts per day count
+ * @param roomCapacityRejections     candidate slots rejected by the room capacity check
+ * @param studentConflictRejections  candidate slots rejected by the student conflict check
+ * @param maxPerDayRejections        candidate slots rejected by the daily exam limit check
+ * @param graphBuildNanos            conflict graph construction in {@code loadData}, 0 if a prebuilt graph was given
+ * @param lowerBoundNanos            lower bound (starting day count) calculation
+ * @param solveNanos                 all solver attempts together
+ * @param roomAssignmentNanos        room assignment of the final schedule
+ */
+public record SolveStats(
+        boolean solved,
+        boolean timedOut,
+        boolean cancelled,
+        int days,
+        long nodes,
+        long backtracks,
+        int peakDepth,
+        List<Integer> dayCountsTried,
+        Map<Integer, Integer> restartsPerDayCount,
+        long roomCapacityRejections,
+        long studentConflictRejections,
+        long maxPerDayRejections,
+        long graphBuildNanos,
+        long lowerBoundNanos,
+        long solveNanos,
+        long roomAssignmentNanos) {
+
+        public SolveStats {
+                dayCountsTried = List.copyOf(dayCountsTried);
+                restartsPerDayCount = Collections.unmodifiableMap(new TreeMap<>(restartsPerDayCount));
+        }
+
+        public int totalRestarts() {
+                return restartsPerDayCount.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        public long totalRejections() {
+                return roomCapacityRejections + studentConflictRejections + maxPerDayRejections;
+        }
+
+        public Duration totalTime() {
+                return Duration.ofNanos(graphBuildNanos + lowerBoundNanos + solveNanos + roomAssignmentNanos);
+        }
+
+        /**
+         * The same figures as a JSON object, times in milliseconds.
+         */
+        public Json toJson() {
+                return Json.object()
+                        .put("solved", solved)
+                        .put("timedOut", timedOut)
+                        .put("cancelled", cancelled)
+                        .put("days", days)
+                        .put("nodes", nodes)
+                        .put("backtracks", backtracks)
+                        .put("peakDepth", peakDepth)
+                        .put("restarts", totalRestarts())
+                        .put("dayCountsTried", dayCountsTried)
+                        .put("restartsPerDayCount", restartsPerDayCount)
+                        .put("roomCapacityRejections", roomCapacityRejections)
+                        .put("studentConflictRejections", studentConflictRejections)
+                        .put("maxPerDayRejections", maxPerDayRejections)
+                        .put("graphBuildMillis", graphBuildNanos / 1e6)
+                        .put("lowerBoundMillis", lowerBoundNanos / 1e6)
+                        .put("solveMillis", solveNanos / 1e6)
+                        .put("roomAssignmentMillis", roomAssignmentNanos / 1e6)
+                        .put("totalMillis", totalTime().toNanos() / 1e6);
+        }
+
+        @Override
+        public String toString() {
+                return String.format(
+                        "solved=%s timedOut=%s cancelled=%s days=%d nodes=%d backtracks=%d peakDepth=%d restarts=%d dayCounts=%s "
+                                + "rejections[room=%d, conflict=%d, perDay=%d] ms[graph=%.1f, bound=%.1f, solve=%.1f, rooms=%.1f]",
+                        solved, timedOut, cancelled, days, nodes, backtracks, peakDepth, totalRestarts(), dayCountsTried,
+                        roomCapacityRejections, studentConflictRejections, maxPerDayRejections,
+                        graphBuildNanos / 1e6, lowerBoundNanos / 1e6, solveNanos / 1e6, roomAssignmentNanos / 1e6);
+        }
+}
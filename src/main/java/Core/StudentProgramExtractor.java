@@ -2,33 +2,130 @@ package Core;
 
 import Helpers.TimeSlot;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class StudentProgramExtractor {
 
-        private final HashMap<Course, Integer> schedule;
-        private final ArrayList<TimeSlot> timeSlots;
+        /**
+         * One exam of a student.
+         *
+         * @param course scheduled course
+         * @param slot   time slot the exam starts in
+         */
+        public record Exam(Course course, TimeSlot slot) {
+                public LocalDate date() {
+                        return slot.getDate();
+                }
+
+                public LocalTime start() {
+                        return slot.getTime();
+                }
+
+                public LocalTime end() {
+                        return slot.getTime().plusMinutes(course.getDuration());
+                }
+        }
+
+        private static final Comparator<Exam> BY_START = Comparator
+                .comparing(Exam::date)
+                .thenComparing(Exam::start)
+                .thenComparing(e -> e.course().getID());
+
+        /**
+         * Inverted index: student ID -> that student's exams sorted by start.
+         * Built once in the constructor, read only afterwards.
+         */
+        private final HashMap<String, List<Exam>> examsByStudent = new HashMap<>();
+
+        /**
+         * Every indexed student ID in ascending order, used for bulk export.
+         */
+        private final List<String> studentIDs;
+
+        /**
+         * Formatted description per course, shared by every student taking it. Read only after construction.
+         * Identity keyed: {@link Course#hashCode()} walks the whole roster.
+         */
+        private final IdentityHashMap<Course, String> descriptions = new IdentityHashMap<>();
 
         /**
          * Constructor requires the generated schedule and the list of active time slots.
          * These usually come from the Scheduler instance after generate_schedule() is called.
+         * <p>
+         * The student index is built here in one pass over the schedule, so every later lookup
+         * only touches the exams of that student.
          *
          * @param schedule  Map of Course -> Slot Index
          * @param timeSlots List of TimeSlot objects corresponding to the indices
          */
         public StudentProgramExtractor(HashMap<Course, Integer> schedule, ArrayList<TimeSlot> timeSlots) {
-                this.schedule = schedule;
-                this.timeSlots = timeSlots;
+                if (schedule == null || timeSlots == null) {
+                        this.studentIDs = List.of();
+                        return;
+                }
+
+                HashMap<String, ArrayList<Exam>> index = new HashMap<>();
+                for (Map.Entry<Course, Integer> entry : schedule.entrySet()) {
+                        Course course = entry.getKey();
+                        int slotIndex = entry.getValue();
+                        if (slotIndex < 0 || slotIndex >= timeSlots.size()) continue;
+
+                        Exam exam = new Exam(course, timeSlots.get(slotIndex));
+                        descriptions.put(course, format(exam));
+                        for (String studentID : course.getEnrolledStudentIDs()) {
+                                index.computeIfAbsent(studentID, k -> new ArrayList<>(4)).add(exam);
+                        }
+                }
+
+                for (Map.Entry<String, ArrayList<Exam>> entry : index.entrySet()) {
+                        ArrayList<Exam> exams = entry.getValue();
+                        exams.sort(BY_START);
+                        exams.trimToSize();
+                        examsByStudent.put(entry.getKey(), Collections.unmodifiableList(exams));
+                }
+
+                ArrayList<String> ids = new ArrayList<>(examsByStudent.keySet());
+                Collections.sort(ids);
+                this.studentIDs = Collections.unmodifiableList(ids);
         }
 
         private static final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
         private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 
 
+        /**
+         * Structured lookup: the exams of one student in chronological order.
+         *
+         * @param studentID The ID of the student (e.g., "Std_ID_001")
+         * @return unmodifiable list, empty if the student has no exams
+         */
+        public List<Exam> getExams(String studentID) {
+                return examsByStudent.getOrDefault(studentID, List.of());
+        }
+
+        /**
+         * @return number of students that have at least one exam
+         */
+        public int getStudentCount() {
+                return examsByStudent.size();
+        }
+
+        /**
+         * @return IDs of all students with at least one exam, sorted ascending; unmodifiable
+         */
+        public List<String> getStudentIDs() {
+                return studentIDs;
+        }
+
         /**
          * Extracts the exams that a specific student has and their times.
          *
@@ -36,39 +133,27 @@ public class StudentProgramExtractor {
          * @return A list of strings describing the exams.
          */
         public List<String> getExamsForStudent(String studentID) {
-                List<String> studentExams = new ArrayList<>();
-
-                if (schedule == null || timeSlots == null) {
-                        return studentExams;
+                List<Exam> exams = getExams(studentID);
+                List<String> studentExams = new ArrayList<>(exams.size());
+                for (Exam exam : exams) {
+                        studentExams.add(describe(exam));
                 }
+                return studentExams;
+        }
 
+        /**
+         * Formats an exam as "Course: X | Date: dd-MM-yyyy | starts: HH:mm | ends: HH:mm".
+         * The text only depends on the course, so it is built once per course in the constructor.
+         */
+        String describe(Exam exam) {
+                String text = descriptions.get(exam.course());
+                return text != null ? text : format(exam);
+        }
 
-                // Iterate through the schedule to find courses this student is enrolled in
-                for (Map.Entry<Course, Integer> entry : schedule.entrySet()) {
-                        Course course = entry.getKey();
-
-                        // Check if the student is in this course
-                        if (course.getEnrolledStudentIDs().contains(studentID)) {
-                                int slotIndex = entry.getValue();
-
-                                // Retrieve the time details using the slot index
-                                if (slotIndex >= 0 && slotIndex < timeSlots.size()) {
-
-                                        TimeSlot slot = timeSlots.get(slotIndex);
-                                        String date = slot.getDate().format(dateFormatter);
-                                        String startTime = slot.getTime().format(timeFormatter);
-                                        String endTime = slot.getTime().plusMinutes(course.getDuration()).format(timeFormatter);
-                                        // Format: CourseCode | Date | Time
-                                        String examInfo = String.format("Course: %s | Date: %s | starts: %s | ends: %s",
-                                                course.getID(),
-                                                date,
-                                                startTime,
-                                                endTime);
-
-                                        studentExams.add(examInfo);
-                                }
-                        }
-                }
-                return studentExams;
+        private static String format(Exam exam) {
+                return "Course: " + exam.course().getID() +
+                        " | Date: " + exam.date().format(dateFormatter) +
+                        " | starts: " + exam.start().format(timeFormatter) +
+                        " | ends: " + exam.end().format(timeFormatter);
         }
 }
@@ -2,23 +2,31 @@ package GUI;
 
 import Core.ClassRoom;
 import Core.Course;
+import Core.ScheduleEditor;
 import Core.Student;
+import IO.Dataset;
+import IO.DatasetLoader;
 import IO.Exporter;
 import IO.Importer;
+import IO.Snapshot;
 import IO.ErrorHandler; // Hata yakalayıcı sınıfımız
 
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Menu;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
@@ -26,11 +34,18 @@ import java.awt.*;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class MainViewController implements Initializable {
 
@@ -39,18 +54,48 @@ public class MainViewController implements Initializable {
 
         // --- VISUAL LISTS ---
         @FXML
-        private ListView<String> studentList;
+        private ListView<Student> studentList;
         @FXML
-        private ListView<String> courseList;
+        private ListView<Course> courseList;
         @FXML
-        private ListView<String> classroomList;
+        private ListView<ClassRoom> classroomList;
         @FXML
-        private ListView<String> attendanceList;
+        private ListView<Course> attendanceList;
+
+        // Filter-as-you-type fields above the lists
+        @FXML
+        private TextField studentFilter;
+        @FXML
+        private TextField courseFilter;
+        @FXML
+        private TextField classroomFilter;
+        @FXML
+        private TextField attendanceFilter;
+
+        private SearchableList<Student> studentModel;
+        private SearchableList<Course> courseModel;
+        private SearchableList<ClassRoom> classroomModel;
+        private SearchableList<Course> attendanceModel;
 
         // --- HATA LOG BUTONU ---
         @FXML
         private Button errorLogButton;
 
+        // Background scheduling
+        @FXML
+        private Button createScheduleButton;
+        @FXML
+        private Button cancelScheduleButton;
+        @FXML
+        private ProgressBar solveProgressBar;
+        @FXML
+        private Label solveStatusLabel;
+        private Task<Core.Scheduler> runningTask;
+        private Core.Scheduler runningScheduler;
+        // task whose solver thread has not returned yet, possibly already cancelled; it still reads the course rosters
+        private Task<Core.Scheduler> busyTask;
+        private boolean restartPending;
+
         // --- DATA STORAGE ---
         private ArrayList<Student> allStudents = new ArrayList<>();
         private ArrayList<Course> allCourses = new ArrayList<>();
@@ -69,9 +114,20 @@ public class MainViewController implements Initializable {
         private HashMap<Integer, String[]> finalSlotMap = new HashMap<>();
         private HashMap<Course, ClassRoom> finalRoomMap = new HashMap<>();
 
+        // Conflict graph of the current data (from a snapshot or the last run), null if it must be rebuilt
+        private HashMap<Course, ArrayList<Course>> conflictGraph;
+
         // NEW: Store time slots for search functionality
         private ArrayList<Helpers.TimeSlot> generatedTimeSlots;
 
+        // --- MANUAL EDITS ---
+        // editor of the shown schedule, null until one is solved; the grid maps (day, row) to slots through slotAt
+        private ScheduleEditor editor;
+        private HashMap<String, Course> scheduledCourses = new HashMap<>();
+        private HashMap<LocalDateTime, Integer> slotAt = new HashMap<>();
+        private LocalDate scheduleStartDate;
+        private int scheduleStepSize;
+
         // --- CONTROLS ---
         @FXML
         private Spinner<Integer> intervalSpinner;
@@ -105,11 +161,14 @@ public class MainViewController implements Initializable {
                         scheduleView.setDayCount(newVal);
                 });
 
-                // 4. Setup Delete Buttons
-                studentList.setCellFactory(param -> new DeletableCell());
-                courseList.setCellFactory(param -> new DeletableCell());
-                classroomList.setCellFactory(param -> new DeletableCell());
-                attendanceList.setCellFactory(param -> new DeletableCell());
+                // 4. Setup Lists (delete buttons and search); a deleted course or roster invalidates the cached graph
+                studentModel = new SearchableList<>(studentList, studentFilter, Student::ID, Student::ID, () -> { });
+                courseModel = new SearchableList<>(courseList, courseFilter, Course::getID, Course::getID,
+                        () -> conflictGraph = null);
+                classroomModel = new SearchableList<>(classroomList, classroomFilter, ClassRoom::getName,
+                        r -> r.getName() + " (Cap: " + r.getCapacity() + ")", () -> { });
+                attendanceModel = new SearchableList<>(attendanceList, attendanceFilter, Course::getID,
+                        c -> c.getID() + ": " + c.getEnrolledStudentIDs().size() + " Students", () -> conflictGraph = null);
 
                 // 5. Init Date Picker
                 startDatePicker.setValue(LocalDate.now());
@@ -122,11 +181,32 @@ public class MainViewController implements Initializable {
                         }
                 });
 
-                // 6. Layout Setup
+                // 6. Manual moves: drag an exam or right-click it to change its room
+                scheduleView.setLessonMover(new ScheduleView.LessonMover() {
+                        @Override
+                        public List<String> check(String key, int dayIndex, int timeIndex) {
+                                Course course = scheduledCourses.get(key);
+                                Integer slot = slotFor(dayIndex, timeIndex);
+                                if (editor == null || course == null) return List.of();
+                                if (slot == null) return List.of("Geçersiz zaman dilimi");
+                                return editor.check(course, slot, null).stream().map(Core.ScheduleVerifier.Violation::toMessage).toList();
+                        }
+
+                        @Override
+                        public void move(String key, int dayIndex, int timeIndex) {
+                                Course course = scheduledCourses.get(key);
+                                Integer slot = slotFor(dayIndex, timeIndex);
+                                if (editor == null || course == null || slot == null) return;
+                                moveExam(course, slot, null);
+                        }
+                });
+                scheduleView.setLessonMenu(this::lessonMenu);
+
+                // 7. Layout Setup
                 mainContainer.setCenter(scheduleView);
                 mainContainer.getStylesheets().add(getClass().getResource("/css/light.css").toExternalForm());
 
-                // 7. Error Handler Kurulumu
+                // 8. Error Handler Kurulumu
                 setupErrorHandler();
         }
 
@@ -136,11 +216,15 @@ public class MainViewController implements Initializable {
                         errorLogButton.setText("Hata000");
                 }
 
-                // ErrorHandler dinleyicisi
-                IO.ErrorHandler.getInstance().setOnErrorListener(errorMessage -> {
+                // ErrorHandler dinleyicisi (toplu: her partide tek bir UI güncellemesi)
+                IO.ErrorHandler.getInstance().setOnErrorBatchListener(errorMessages -> {
                         Platform.runLater(() -> {
-                                // 1. Hatayı hafızadaki listeye ekle
-                                errorLogItems.add(errorMessage);
+                                // 1. Hataları hafızadaki listeye ekle, en fazla ErrorHandler kapasitesi kadar tut
+                                errorLogItems.addAll(errorMessages);
+                                int overflow = errorLogItems.size() - IO.ErrorHandler.getInstance().getCapacity();
+                                if (overflow > 0) {
+                                        errorLogItems.remove(0, overflow);
+                                }
 
                                 // 2. Buton üzerindeki sayıyı güncelle (Max 999)
                                 int count = IO.ErrorHandler.getInstance().getErrorCount();
@@ -183,12 +267,7 @@ public class MainViewController implements Initializable {
         void importStudents(ActionEvent event) {
                 File file = browseFile("Öğrenci CSV dosyasını seçin");
                 if (file != null) {
-                        ArrayList<Student> students = Importer.importStudents(file.toPath());
-                        this.allStudents = students;
-                        studentList.getItems().clear();
-                        for (Student s : students) {
-                                studentList.getItems().add(s.ID());
-                        }
+                        showStudents(Importer.importStudents(file.toPath()));
                 }
         }
 
@@ -196,12 +275,7 @@ public class MainViewController implements Initializable {
         void importCourses(ActionEvent event) {
                 File file = browseFile("Ders CSV dosyasını seçin");
                 if (file != null) {
-                        ArrayList<Course> courses = Importer.importCourses(file.toPath());
-                        this.allCourses = courses;
-                        courseList.getItems().clear();
-                        for (Course c : courses) {
-                                courseList.getItems().add(c.getID());
-                        }
+                        showCourses(Importer.importCourses(file.toPath()));
                 }
         }
 
@@ -209,12 +283,7 @@ public class MainViewController implements Initializable {
         void importClassroomCapacity(ActionEvent event) {
                 File file = browseFile("Sınıf-Kapasite CSV dosyasını seçin");
                 if (file != null) {
-                        ArrayList<ClassRoom> rooms = Importer.importClassRooms(file.toPath());
-                        this.allClassrooms = rooms;
-                        classroomList.getItems().clear();
-                        for (ClassRoom r : rooms) {
-                                classroomList.getItems().add(r.getName() + " (Cap: " + r.getCapacity() + ")");
-                        }
+                        showClassrooms(Importer.importClassRooms(file.toPath()));
                 }
         }
 
@@ -222,46 +291,134 @@ public class MainViewController implements Initializable {
         void importAttendanceList(ActionEvent event) {
                 File file = browseFile("Katılım Listesi CSV dosyasını seçin");
                 if (file != null) {
-                        ArrayList<Course> attendanceData = Importer.importAttandenceLists(file.toPath());
-                        this.allAttendance = attendanceData;
-                        attendanceList.getItems().clear();
-                        for (Course c : attendanceData) {
-                                int count = c.getEnrolledStudentIDs().size();
-                                attendanceList.getItems().add(c.getID() + ": " + count + " Students");
-                        }
+                        showAttendance(Importer.importAttandenceLists(file.toPath()));
                 }
         }
 
+        /**
+         * Loads all four files of a folder at once. Parsing runs off the FX thread;
+         * the lists are filled when everything is ready.
+         */
         @FXML
-        void handleCreateSchedule(ActionEvent event) {
+        void importDataset(ActionEvent event) {
+                if (mainContainer.getScene() == null) return;
+                DirectoryChooser chooser = new DirectoryChooser();
+                chooser.setTitle("Veri seti klasörünü seçin");
+                File dir = chooser.showDialog(mainContainer.getScene().getWindow());
+                if (dir == null) return;
+
+                Thread.ofVirtual().start(() -> {
+                        Dataset dataset = DatasetLoader.load(dir.toPath());
+                        Platform.runLater(() -> {
+                                showStudents(dataset.students());
+                                showCourses(dataset.courses());
+                                showClassrooms(dataset.classrooms());
+                                showAttendance(dataset.attendance());
+
+                                StringBuilder sb = new StringBuilder("Yükleme süreleri:\n");
+                                for (Map.Entry<String, Duration> entry : dataset.timings().entrySet()) {
+                                        sb.append(entry.getKey()).append(": ").append(entry.getValue().toMillis()).append(" ms\n");
+                                }
+                                showAlert("Veri Seti Yüklendi", sb.toString());
+                        });
+                });
+        }
+
+        @FXML
+        void saveSnapshot(ActionEvent event) {
                 if (allCourses.isEmpty() || allClassrooms.isEmpty()) {
-                        // Kullanıcıya da görsel hata verilebilir
                         ErrorHandler.getInstance().logError("Eksik Veri, Lütfen önce Dersleri ve Sınıfları içe aktarın.");
                         showAlert("Eksik Veri", "Lütfen önce Dersleri ve Sınıfları içe aktarın.");
                         return;
                 }
-                Core.Scheduler scheduler = new Core.Scheduler();
+                // merging rewrites the rosters a running solver is still reading
+                if (busyTask != null) {
+                        showAlert("Çözüm Sürüyor", "Snapshot, çizelge oluşturma bittikten sonra kaydedilebilir.");
+                        return;
+                }
+                if (mainContainer.getScene() == null) return;
 
-                // MERGE ATTENDANCE
-                HashMap<String, Course> courseMap = new HashMap<>();
-                for (Course c : allCourses) {
-                        c.getEnrolledStudentIDs().clear();
-                        courseMap.put(c.getID(), c);
+                FileChooser fileChooser = new FileChooser();
+                fileChooser.setTitle("Snapshot Kaydet");
+                fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Snapshot Files", "*.se302"));
+                fileChooser.setInitialFileName("dataset.se302");
+                File file = fileChooser.showSaveDialog(mainContainer.getScene().getWindow());
+                if (file == null) return;
+
+                mergeAttendance();
+                Dataset dataset = new Dataset(allStudents, allCourses, allClassrooms, allAttendance, new ArrayList<>(), Map.of());
+                if (Snapshot.save(file.toPath(), dataset, conflictGraph)) {
+                        showAlert("Başarılı", "Snapshot kaydedildi: " + file.getAbsolutePath());
                 }
+        }
 
-                for (Course attCourse : allAttendance) {
-                        Course realCourse = courseMap.get(attCourse.getID());
-                        if (realCourse != null) {
-                                for (String studentID : attCourse.getEnrolledStudentIDs()) {
-                                        realCourse.addEnrolledStudentID(studentID);
-                                }
-                        }
+        @FXML
+        void openSnapshot(ActionEvent event) {
+                if (mainContainer.getScene() == null) return;
+
+                FileChooser fileChooser = new FileChooser();
+                fileChooser.setTitle("Snapshot Aç");
+                fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Snapshot Files", "*.se302"));
+                File file = fileChooser.showOpenDialog(mainContainer.getScene().getWindow());
+                if (file == null) return;
+
+                Snapshot.Contents contents = Snapshot.load(file.toPath());
+                if (contents == null) {
+                        showAlert("Hata", "Snapshot açılamadı: " + file.getAbsolutePath());
+                        return;
                 }
+                Dataset dataset = contents.dataset();
+                showStudents(dataset.students());
+                showCourses(dataset.courses());
+                showClassrooms(dataset.classrooms());
+                showAttendance(dataset.attendance());
+                this.conflictGraph = contents.conflictGraph();
+        }
 
-                // LOAD DATA
-                int stepSize = intervalSpinner.getValue();
-                scheduler.loadData(allCourses, allClassrooms, stepSize);
+        private void showStudents(ArrayList<Student> students) {
+                this.allStudents = students;
+                studentModel.setAll(students);
+        }
 
+        private void showCourses(ArrayList<Course> courses) {
+                this.allCourses = courses;
+                this.conflictGraph = null;
+                courseModel.setAll(courses);
+        }
+
+        private void showClassrooms(ArrayList<ClassRoom> rooms) {
+                this.allClassrooms = rooms;
+                classroomModel.setAll(rooms);
+        }
+
+        private void showAttendance(ArrayList<Course> attendanceData) {
+                this.allAttendance = attendanceData;
+                this.conflictGraph = null;
+                attendanceModel.setAll(attendanceData);
+        }
+
+        @FXML
+        void handleCreateSchedule(ActionEvent event) {
+                if (allCourses.isEmpty() || allClassrooms.isEmpty()) {
+                        // Kullanıcıya da görsel hata verilebilir
+                        ErrorHandler.getInstance().logError("Eksik Veri, Lütfen önce Dersleri ve Sınıfları içe aktarın.");
+                        showAlert("Eksik Veri", "Lütfen önce Dersleri ve Sınıfları içe aktarın.");
+                        return;
+                }
+                // a new request replaces the one still running (e.g. the date picker changed)
+                cancelRunningSchedule();
+                // the cancelled solver only stops at its next node and shares the Course objects merged below,
+                // so the new run starts once its thread has returned (see solverStopped)
+                if (busyTask != null) {
+                        restartPending = true;
+                        if (!solveStatusLabel.textProperty().isBound()) solveStatusLabel.setText("Önceki çözüm durduruluyor...");
+                        return;
+                }
+
+                // MERGE ATTENDANCE
+                mergeAttendance();
+
+                int stepSize = intervalSpinner.getValue();
                 int userRequestedDays = daysSpinner.getValue();
                 LocalDate startDate = startDatePicker.getValue();
                 if (startDate == null) {
@@ -269,7 +426,119 @@ public class MainViewController implements Initializable {
                         startDatePicker.setValue(startDate);
                 }
 
-                scheduler.generate_schedule(userRequestedDays, startDate, false);
+                // the solver works on its own copies of the lists, so the UI may keep editing them;
+                // the courses themselves are shared and must not change until solverStopped
+                ArrayList<Course> courses = new ArrayList<>(allCourses);
+                ArrayList<ClassRoom> classrooms = new ArrayList<>(allClassrooms);
+                HashMap<Course, ArrayList<Course>> cachedGraph = conflictGraph;
+                Core.Scheduler scheduler = new Core.Scheduler();
+                LocalDate firstDay = startDate;
+
+                Task<Core.Scheduler> task = new Task<>() {
+                        @Override
+                        protected Core.Scheduler call() {
+                                try {
+                                        return solve();
+                                } finally {
+                                        Task<Core.Scheduler> self = this;
+                                        Platform.runLater(() -> solverStopped(self));
+                                }
+                        }
+
+                        private Core.Scheduler solve() {
+                                updateMessage("Çakışma grafı oluşturuluyor...");
+                                scheduler.loadData(courses, classrooms, stepSize, cachedGraph);
+                                scheduler.setProgressListener((days, placed, total) -> {
+                                        updateProgress(placed, total);
+                                        updateMessage(days + " gün, " + placed + "/" + total + " ders yerleştirildi");
+                                });
+                                scheduler.generate_schedule(userRequestedDays, firstDay, false);
+                                return scheduler;
+                        }
+                };
+
+                task.setOnSucceeded(e -> {
+                        finishScheduleTask(task);
+                        applySchedule(task.getValue(), courses, firstDay, stepSize);
+                });
+                task.setOnFailed(e -> {
+                        finishScheduleTask(task);
+                        Throwable error = task.getException();
+                        ErrorHandler.getInstance().logError("Program oluşturulamadı, " + (error == null ? "bilinmeyen hata" : error.getMessage()));
+                        solveStatusLabel.setText("Program oluşturulamadı");
+                });
+                task.setOnCancelled(e -> {
+                        finishScheduleTask(task);
+                        solveStatusLabel.setText("İptal edildi");
+                });
+
+                runningScheduler = scheduler;
+                runningTask = task;
+                busyTask = task;
+                solveStatusLabel.textProperty().bind(task.messageProperty());
+                solveProgressBar.progressProperty().bind(task.progressProperty());
+                solveProgressBar.setVisible(true);
+                cancelScheduleButton.setVisible(true);
+                cancelScheduleButton.setDisable(false);
+                createScheduleButton.setDisable(true);
+
+                Thread worker = new Thread(task, "scheduler");
+                worker.setDaemon(true);
+                worker.start();
+        }
+
+        @FXML
+        void handleCancelSchedule(ActionEvent event) {
+                cancelRunningSchedule();
+        }
+
+        /**
+         * Stops the running solve, if any. The solver notices the flag at its next node.
+         */
+        private void cancelRunningSchedule() {
+                if (runningTask == null) return;
+                runningScheduler.cancel();
+                runningTask.cancel(false);
+        }
+
+        /**
+         * Called on the FX thread once a solver thread has returned, cancelled or not. Starts the run
+         * that was requested while it was still stopping.
+         */
+        private void solverStopped(Task<Core.Scheduler> task) {
+                if (task != busyTask) return;
+                busyTask = null;
+                if (restartPending) {
+                        restartPending = false;
+                        handleCreateSchedule(null);
+                }
+        }
+
+        /**
+         * Unbinds the status controls from a finished task, unless a newer task already took them over.
+         */
+        private void finishScheduleTask(Task<Core.Scheduler> task) {
+                if (task != runningTask) return;
+                runningTask = null;
+                runningScheduler = null;
+                solveStatusLabel.textProperty().unbind();
+                solveProgressBar.progressProperty().unbind();
+                solveProgressBar.setVisible(false);
+                cancelScheduleButton.setVisible(false);
+                createScheduleButton.setDisable(false);
+        }
+
+        /**
+         * Shows a finished solve. Runs on the FX thread; all lessons are handed to the view in one batch.
+         */
+        private void applySchedule(Core.Scheduler scheduler, ArrayList<Course> courses, LocalDate startDate, int stepSize) {
+                this.conflictGraph = scheduler.getConflictGraph();
+
+                Core.SolveStats stats = scheduler.getLastStats();
+                if (stats != null) {
+                        solveStatusLabel.setText(stats.days() + " gün, " + stats.nodes() + " düğüm, "
+                                + stats.totalRestarts() + " yeniden başlatma, " + stats.totalTime().toMillis() + " ms");
+                }
 
                 // RETRIEVE RESULTS
                 HashMap<Course, Integer> calculatedSchedule = scheduler.getSchedule();
@@ -280,11 +549,17 @@ public class MainViewController implements Initializable {
                 this.generatedTimeSlots = timeSlots;
 
                 if (calculatedSchedule == null || calculatedSchedule.isEmpty()) {
+                        if (stats != null && stats.cancelled()) return;
                         ErrorHandler.getInstance().logError("Program oluşturulamadı, Verilen kısıtlarla uygun bir program bulunamadı.");
                         showAlert("Program Oluşturulamadı", "Verilen kısıtlarla uygun bir program bulunamadı.");
                         return;
                 }
 
+                // VERIFY (independent of the solver's own checks)
+                for (Core.ScheduleVerifier.Violation violation : Core.ScheduleVerifier.verify(courses, calculatedSchedule, timeSlots, calculatedRooms)) {
+                        ErrorHandler.getInstance().logError(violation.kind().name(), violation.toMessage());
+                }
+
                 // UPDATE SPINNER IF NEEDED
                 if (!timeSlots.isEmpty()) {
                         LocalDate lastDate = timeSlots.get(timeSlots.size() - 1).getDate();
@@ -303,14 +578,15 @@ public class MainViewController implements Initializable {
                         }
                 }
 
-                // DRAW LESSONS
-                scheduleView.clearLessons();
+                // DRAW LESSONS (the grid keeps its exams unless the date, day count or step changed)
                 finalSchedule.clear();
                 finalSlotMap.clear();
                 finalRoomMap.clear();
                 scheduleView.setStartDate(startDate);
+                scheduleStartDate = startDate;
+                scheduleStepSize = stepSize;
 
-                int startHour = 8; // Assuming 8:30 start
+                HashMap<String, ScheduleView.Lesson> lessons = new HashMap<>();
 
                 for (var entry : calculatedSchedule.entrySet()) {
                         Course course = entry.getKey();
@@ -318,42 +594,141 @@ public class MainViewController implements Initializable {
                         Helpers.TimeSlot ts = timeSlots.get(slotID);
                         ClassRoom assignedRoom = calculatedRooms.get(course);
 
-                        long daysDiff = ChronoUnit.DAYS.between(startDate, ts.getDate());
-                        int dayIndex = (int) daysDiff;
-
-                        long minutesFromStart = java.time.Duration.between(
-                                java.time.LocalTime.of(startHour, 30),
-                                ts.getTime()
-                        ).toMinutes();
-                        int startIndex = (int) (minutesFromStart / stepSize);
-
-                        int duration = course.getDuration();
-                        int slotsSpan = (int) Math.ceil((double) duration / stepSize);
-
-                        if (dayIndex >= 0 && startIndex >= 0) {
-                                for (int i = 0; i < slotsSpan; i++) {
-                                        String cellText = course.getID();
-                                        if (assignedRoom != null) {
-                                                cellText += "\n" + assignedRoom.getName();
-                                        }
-                                        scheduleView.addLesson(
-                                                cellText,
-                                                dayIndex,
-                                                startIndex + i,
-
-                                                Color.DARKBLUE // Changed to standard color or variable
-                                        );
-                                }
-                        }
+                        ScheduleView.Lesson lesson = lessonFor(course, ts, assignedRoom);
+                        if (lesson != null) lessons.put(course.getID(), lesson);
 
                         finalSchedule.put(course, slotID);
                         if (assignedRoom != null) finalRoomMap.put(course, assignedRoom);
-                        finalSlotMap.put(slotID, new String[]{
-                                ts.getDate().toString(),
-                                ts.getTime().toString(),
-                                ts.getTime().plusMinutes(duration).toString()
+                        finalSlotMap.putIfAbsent(slotID, new String[]{ts.getDate().toString(), ts.getTime().toString()});
+                }
+                // only exams that were added, removed or moved since the last run are redrawn
+                scheduleView.applyDiff(ScheduleDiff.between(scheduleView.getLessons(), lessons));
+
+                // MANUAL EDITS start from this schedule
+                editor = new ScheduleEditor(calculatedSchedule, timeSlots, calculatedRooms, conflictGraph);
+                scheduledCourses.clear();
+                slotAt.clear();
+                for (Course course : calculatedSchedule.keySet()) scheduledCourses.put(course.getID(), course);
+                for (int i = 0; i < timeSlots.size(); i++) {
+                        slotAt.put(LocalDateTime.of(timeSlots.get(i).getDate(), timeSlots.get(i).getTime()), i);
+                }
+        }
+
+        /**
+         * Grid block of an exam, {@code null} if it lies before the grid start.
+         */
+        private ScheduleView.Lesson lessonFor(Course course, Helpers.TimeSlot ts, ClassRoom room) {
+                int startHour = 8; // Assuming 8:30 start
+                int dayIndex = (int) ChronoUnit.DAYS.between(scheduleStartDate, ts.getDate());
+                long minutesFromStart = java.time.Duration.between(LocalTime.of(startHour, 30), ts.getTime()).toMinutes();
+                int startIndex = (int) (minutesFromStart / scheduleStepSize);
+                int slotsSpan = (int) Math.ceil((double) course.getDuration() / scheduleStepSize);
+                if (dayIndex < 0 || startIndex < 0) return null;
+
+                String cellText = course.getID();
+                if (room != null) {
+                        cellText += "\n" + room.getName();
+                }
+                return new ScheduleView.Lesson(course.getID(), cellText, dayIndex, startIndex, slotsSpan, Color.DARKBLUE);
+        }
+
+        /**
+         * Slot shown at a grid cell, {@code null} if the solve did not use that day and time.
+         */
+        private Integer slotFor(int dayIndex, int timeIndex) {
+                if (scheduleStartDate == null) return null;
+                LocalTime time = LocalTime.of(8, 30).plusMinutes((long) timeIndex * scheduleStepSize);
+                return slotAt.get(LocalDateTime.of(scheduleStartDate.plusDays(dayIndex), time));
+        }
+
+        /**
+         * Moves an exam by hand, even if it breaks a constraint; what it breaks is logged.
+         *
+         * @param room new room, {@code null} to keep the current one
+         */
+        private void moveExam(Course course, int slot, ClassRoom room) {
+                if (runningTask != null) return; // the schedule is about to be replaced
+                List<Core.ScheduleVerifier.Violation> violations = editor.move(course, slot, room);
+                for (Core.ScheduleVerifier.Violation violation : violations) {
+                        ErrorHandler.getInstance().logError(violation.kind().name(), violation.toMessage());
+                }
+                showEdit(course);
+                solveStatusLabel.setText(course.getID() + " taşındı" + (violations.isEmpty() ? "" : ", " + violations.size() + " ihlal"));
+        }
+
+        /**
+         * Redraws one exam after an edit and brings the export data up to date.
+         */
+        private void showEdit(Course course) {
+                Integer slot = editor.getSlot(course);
+                ClassRoom room = editor.getRoom(course);
+                finalSchedule.put(course, slot);
+                if (room != null) finalRoomMap.put(course, room);
+                finalSlotMap = Exporter.slotMap(finalSchedule, generatedTimeSlots);
+
+                ScheduleView.Lesson lesson = lessonFor(course, generatedTimeSlots.get(slot), room);
+                if (lesson != null) {
+                        scheduleView.applyDiff(new ScheduleDiff(List.of(), List.of(), List.of(lesson)));
+                }
+        }
+
+        @FXML
+        void handleUndo(ActionEvent event) {
+                if (editor == null || runningTask != null) return;
+                ScheduleEditor.Move move = editor.undo();
+                if (move != null) {
+                        showEdit(move.course());
+                        solveStatusLabel.setText(move.course().getID() + " geri alındı");
+                }
+        }
+
+        @FXML
+        void handleRedo(ActionEvent event) {
+                if (editor == null || runningTask != null) return;
+                ScheduleEditor.Move move = editor.redo();
+                if (move != null) {
+                        showEdit(move.course());
+                        solveStatusLabel.setText(move.course().getID() + " yinelendi");
+                }
+        }
+
+        /**
+         * Right-click menu of an exam: its room, checked against the other exams at the same time, and undo/redo.
+         */
+        private ContextMenu lessonMenu(String key) {
+                Course course = scheduledCourses.get(key);
+                if (editor == null || course == null || runningTask != null) return null;
+                int slot = editor.getSlot(course);
+
+                Menu rooms = new Menu("Sınıf");
+                for (ClassRoom room : allClassrooms) {
+                        List<Core.ScheduleVerifier.Violation> problems = editor.check(course, slot, room);
+                        CheckMenuItem item = new CheckMenuItem(room.getName() + " (" + room.getCapacity() + ")"
+                                + (problems.isEmpty() ? "" : " - " + problems.get(0).toMessage()));
+                        item.setSelected(room == editor.getRoom(course));
+                        item.setOnAction(e -> {
+                                if (room != editor.getRoom(course)) moveExam(course, slot, room);
                         });
+                        rooms.getItems().add(item);
+                }
+
+                MenuItem undo = new MenuItem("Geri Al");
+                undo.setDisable(!editor.canUndo());
+                undo.setOnAction(this::handleUndo);
+                MenuItem redo = new MenuItem("Yinele");
+                redo.setDisable(!editor.canRedo());
+                redo.setOnAction(this::handleRedo);
+                return new ContextMenu(rooms, new SeparatorMenuItem(), undo, redo);
+        }
+
+        /**
+         * Rebuilds the course rosters from the imported attendance lists.
+         */
+        private void mergeAttendance() {
+                for (Course c : allCourses) {
+                        c.getEnrolledStudentIDs().clear();
                 }
+                DatasetLoader.mergeAttendance(allCourses, allAttendance);
         }
 
         // --- NEW: STUDENT SEARCH HANDLER ---
@@ -399,6 +774,7 @@ public class MainViewController implements Initializable {
                 FileChooser fileChooser = new FileChooser();
                 fileChooser.setTitle("Tabloyu Kaydet");
                 fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+                fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Gzip CSV Files", "*.csv.gz"));
                 fileChooser.setInitialFileName("OptimalSchedule.csv");
 
                 if (mainContainer.getScene() != null) {
@@ -406,18 +782,47 @@ public class MainViewController implements Initializable {
                         File file = fileChooser.showSaveDialog(stage);
 
                         if (file != null) {
-                                Exporter.exportSchedule(
+                                boolean exported = Exporter.exportSchedule(
                                         file.toPath(),
                                         "Final Exams 2025",
                                         finalSchedule,
                                         finalSlotMap,
                                         finalRoomMap
                                 );
-                                showAlert("Başarılı", "Dışarı aktarma başarılı: " + file.getAbsolutePath());
+                                if (exported) {
+                                        showAlert("Başarılı", "Dışarı aktarma başarılı: " + file.getAbsolutePath());
+                                } else {
+                                        showAlert("Hata", "Dışarı aktarma başarısız: " + file.getAbsolutePath());
+                                }
                         }
                 }
         }
 
+        @FXML
+        void exportStudentPrograms(ActionEvent event) {
+                if (finalSchedule.isEmpty() || generatedTimeSlots == null) {
+                        ErrorHandler.getInstance().logError("Hata, Henüz bir program oluşturulmadı. Dışa aktarmadan önce programı oluşturun.");
+                        showAlert("Hata", "Henüz bir program oluşturulmadı. Dışa aktarmadan önce programı oluşturun.");
+                        return;
+                }
+                if (mainContainer.getScene() == null) return;
+
+                FileChooser fileChooser = new FileChooser();
+                fileChooser.setTitle("Öğrenci Programlarını Kaydet");
+                fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+                fileChooser.setInitialFileName("StudentPrograms.csv");
+                File file = fileChooser.showSaveDialog(mainContainer.getScene().getWindow());
+                if (file == null) return;
+
+                Core.StudentProgramExtractor extractor = new Core.StudentProgramExtractor(finalSchedule, generatedTimeSlots);
+                Thread.ofVirtual().start(() -> {
+                        boolean ok = Exporter.exportStudentPrograms(file.toPath(), extractor, 1);
+                        if (ok) {
+                                Platform.runLater(() -> showAlert("Başarılı", "Dışarı aktarma başarılı: " + file.getAbsolutePath()));
+                        }
+                });
+        }
+
         @FXML
         void handleManuel(ActionEvent event) {
                 try {
@@ -452,6 +857,7 @@ public class MainViewController implements Initializable {
         void handleDarkMode(ActionEvent event) {
                 isDarkModeOn = !isDarkModeOn;
                 mainContainer.getStylesheets().clear();
+                scheduleView.setDarkMode(isDarkModeOn);
 
                 if (isDarkModeOn) {
                         mainContainer.getStylesheets().add(getClass().getResource("/css/dark.css").toExternalForm());
@@ -463,7 +869,7 @@ public class MainViewController implements Initializable {
         private File browseFile(String title) {
                 FileChooser fileChooser = new FileChooser();
                 fileChooser.setTitle(title);
-                fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+                fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv", "*.csv.gz"));
                 if (mainContainer.getScene() != null) {
                         return fileChooser.showOpenDialog(mainContainer.getScene().getWindow());
                 }
@@ -478,40 +884,81 @@ public class MainViewController implements Initializable {
                 alert.showAndWait();
         }
 
+        // Helper class for the sidebar lists: shows the imported list itself (wrapped, not copied, so a
+        // deletion removes the item from the backing list too) and filters it through a PrefixIndex
+        class SearchableList<T> {
+                private final ListView<T> view;
+                private final TextField filter;
+                private final Function<T, String> key;
+                private final Runnable onRemove;
+                private ObservableList<T> items = FXCollections.observableArrayList();
+                private PrefixIndex<T> index; // built on the first search, dropped when the items change
+
+                SearchableList(ListView<T> view, TextField filter, Function<T, String> key, Function<T, String> text, Runnable onRemove) {
+                        this.view = view;
+                        this.filter = filter;
+                        this.key = key;
+                        this.onRemove = onRemove;
+                        view.setCellFactory(param -> new DeletableCell<>(text, this::remove));
+                        view.setItems(items);
+                        if (filter != null) {
+                                filter.textProperty().addListener((obs, oldVal, newVal) -> refresh());
+                        }
+                }
+
+                // one change event for the whole import instead of one per row
+                void setAll(ArrayList<T> data) {
+                        items = FXCollections.observableList(data);
+                        index = null;
+                        refresh();
+                }
+
+                private void refresh() {
+                        String prefix = filter == null || filter.getText() == null ? "" : filter.getText().trim();
+                        if (prefix.isEmpty()) {
+                                view.setItems(items);
+                                return;
+                        }
+                        if (index == null) index = new PrefixIndex<>(items, key);
+                        view.setItems(FXCollections.observableArrayList(index.find(prefix)));
+                }
+
+                void remove(T item) {
+                        items.removeIf(x -> x == item);
+                        if (view.getItems() != items) view.getItems().removeIf(x -> x == item);
+                        index = null;
+                        onRemove.run();
+                }
+        }
+
         // Helper class for List Delete Buttons
-        class DeletableCell extends ListCell<String> {
+        class DeletableCell<T> extends ListCell<T> {
                 HBox hbox = new HBox();
                 Label label = new Label("");
                 Pane pane = new Pane();
                 Button button = new Button("X");
+                private final Function<T, String> text;
 
-                public DeletableCell() {
+                public DeletableCell(Function<T, String> text, Consumer<T> onDelete) {
                         super();
+                        this.text = text;
                         hbox.getChildren().addAll(label, pane, button);
                         HBox.setHgrow(pane, Priority.ALWAYS);
                         button.setStyle("-fx-text-fill: red; -fx-font-weight: bold; -fx-background-color: transparent; -fx-cursor: hand;");
 
                         button.setOnAction(event -> {
-                                String itemToRemove = getItem();
-                                getListView().getItems().remove(itemToRemove);
-
-                                if (getListView() == courseList) {
-                                        allCourses.removeIf(c -> c.getID().equals(itemToRemove));
-                                } else if (getListView() == studentList) {
-                                        allStudents.removeIf(s -> s.ID().equals(itemToRemove));
-                                } else if (getListView() == classroomList) {
-                                        allClassrooms.removeIf(r -> (r.getName() + " (Cap: " + r.getCapacity() + ")").equals(itemToRemove));
-                                }
+                                T itemToRemove = getItem();
+                                if (itemToRemove != null) onDelete.accept(itemToRemove);
                         });
                 }
 
                 @Override
-                protected void updateItem(String item, boolean empty) {
+                protected void updateItem(T item, boolean empty) {
                         super.updateItem(item, empty);
                         setText(null);
                         setGraphic(null);
                         if (item != null && !empty) {
-                                label.setText(item);
+                                label.setText(text.apply(item));
                                 setGraphic(hbox);
                         }
                 }
@@ -0,0 +1,81 @@
+package GUI;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Case-insensitive prefix search over a fixed list of items.
+ * <p>
+ * Keys are lower-cased and sorted once, O(n log n); a search is a binary search for the first key
+ * not below the prefix followed by a scan of the matches, O(log n + k). This gives the same lookups
+ * as a trie with two arrays instead of a node per character, which matters at 100k student IDs.
+ * The index does not follow later changes to the source list; build a new one instead.
+ *
+ * @param <T> indexed item
+ */
+public final class PrefixIndex<T> {
+
+        private final String[] keys;
+        private final Object[] items;
+
+        private record Entry(String key, Object item) {
+        }
+
+        public PrefixIndex(Collection<? extends T> source, Function<? super T, String> keyOf) {
+                Entry[] entries = new Entry[source.size()];
+                int i = 0;
+                for (T item : source) {
+                        entries[i++] = new Entry(normalize(keyOf.apply(item)), item);
+                }
+                Arrays.sort(entries, (a, b) -> a.key().compareTo(b.key()));
+
+                keys = new String[entries.length];
+                items = new Object[entries.length];
+                for (i = 0; i < entries.length; i++) {
+                        keys[i] = entries[i].key();
+                        items[i] = entries[i].item();
+                }
+        }
+
+        /**
+         * @return items whose key starts with {@code prefix}, ignoring case, in key order
+         */
+        @SuppressWarnings("unchecked")
+        public List<T> find(String prefix) {
+                String p = normalize(prefix);
+                int first = lowerBound(p);
+                int end = first;
+                while (end < keys.length && keys[end].startsWith(p)) end++;
+                if (first == end) return Collections.emptyList();
+
+                ArrayList<T> found = new ArrayList<>(end - first);
+                for (int i = first; i < end; i++) {
+                        found.add((T) items[i]);
+                }
+                return found;
+        }
+
+        public int size() {
+                return keys.length;
+        }
+
+        private int lowerBound(String key) {
+                int lo = 0;
+                int hi = keys.length;
+                while (lo < hi) {
+                        int mid = (lo + hi) >>> 1;
+                        if (keys[mid].compareTo(key) < 0) lo = mid + 1;
+                        else hi = mid;
+                }
+                return lo;
+        }
+
+        private static String normalize(String key) {
+                return key == null ? "" : key.trim().toLowerCase(Locale.ROOT);
+        }
+}
@@ -0,0 +1,55 @@
+package GUI;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What changed between two timetables, keyed by course ID.
+ * <p>
+ * {@code moved} holds the new placement of every exam whose day, start, span, text or color
+ * differs, so a room change counts as a move too. Computing a diff is O(n) in the number of exams.
+ *
+ * @param added   exams only in the new timetable
+ * @param removed keys of exams only in the old timetable
+ * @param moved   exams in both, with their new placement
+ */
+public record ScheduleDiff(List<ScheduleView.Lesson> added, List<String> removed, List<ScheduleView.Lesson> moved) {
+
+        public ScheduleDiff {
+                added = List.copyOf(added);
+                removed = List.copyOf(removed);
+                moved = List.copyOf(moved);
+        }
+
+        /**
+         * @param before exams by key, e.g. {@link ScheduleView#getLessons()}
+         * @param after  exams by key of the new timetable
+         */
+        public static ScheduleDiff between(Map<String, ScheduleView.Lesson> before, Map<String, ScheduleView.Lesson> after) {
+                ArrayList<ScheduleView.Lesson> added = new ArrayList<>();
+                ArrayList<String> removed = new ArrayList<>();
+                ArrayList<ScheduleView.Lesson> moved = new ArrayList<>();
+
+                for (var entry : after.entrySet()) {
+                        ScheduleView.Lesson old = before.get(entry.getKey());
+                        if (old == null) added.add(entry.getValue());
+                        else if (!old.equals(entry.getValue())) moved.add(entry.getValue());
+                }
+                for (String key : before.keySet()) {
+                        if (!after.containsKey(key)) removed.add(key);
+                }
+                return new ScheduleDiff(added, removed, moved);
+        }
+
+        public boolean isEmpty() {
+                return added.isEmpty() && removed.isEmpty() && moved.isEmpty();
+        }
+
+        /**
+         * Number of exams that changed.
+         */
+        public int size() {
+                return added.size() + removed.size() + moved.size();
+        }
+}
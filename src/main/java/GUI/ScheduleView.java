@@ -1,20 +1,59 @@
 package GUI;
 
-import javafx.geometry.Insets;
-import javafx.geometry.Pos;
-import javafx.scene.control.Label;
-import javafx.scene.control.ScrollPane;
-import javafx.scene.layout.*;
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.ContextMenuEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
 import javafx.scene.text.TextAlignment;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
-
-public class ScheduleView extends GridPane {
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Exam timetable drawn on a single canvas.
+ * <p>
+ * Days are columns, time slots are rows. Exams of one day are kept in a lane list sorted by start
+ * row; exams that overlap in time get separate lanes, so a day column is as wide as its busiest
+ * moment needs. The canvas is only as large as the viewport and every repaint draws just the
+ * visible days, rows and exams, so the cost does not grow with the length of the exam period.
+ * Changes are coalesced: they mark the view dirty and the next layout pulse repaints once.
+ * <p>
+ * With a {@link LessonMover} set, keyed exams can be dragged to another day and time; the target
+ * cell is outlined green or red depending on what the mover reports for it.
+ */
+public final class ScheduleView extends Region {
+
+    private static final double TIME_COLUMN_WIDTH = 70;
+    private static final double HEADER_HEIGHT = 30;
+    private static final double ROW_HEIGHT = 36;
+    private static final double MIN_LANE_WIDTH = 90;
+    private static final double BLOCK_GAP = 2;
+    private static final double SCROLL_STEP = ROW_HEIGHT;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy EEE", new Locale("tr", "TR"));
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final Font HEADER_FONT = Font.font(null, FontWeight.BOLD, 12);
+    private static final Font BLOCK_FONT = Font.font(null, FontWeight.BOLD, 10);
 
     // Settings
     private int totalDays = 5;
@@ -22,164 +61,655 @@ public class ScheduleView extends GridPane {
     private LocalTime startTime = LocalTime.of(8, 30);
     private LocalTime endTime = LocalTime.of(18, 30);
     private int slotDurationMinutes = 60;
-    private ArrayList<Label> dayHeaderLabels = new ArrayList<>();
+    private int rowCount;
+
+    // Colors, switched by setDarkMode
+    private Color cellFill = Color.WHITE;
+    private Color gridLine = Color.LIGHTGRAY;
+    private Color headerFill = Color.web("#e0e0e0");
+    private Color headerText = Color.BLACK;
+    private Color headerBorder = Color.web("#cccccc");
+
+    /**
+     * One exam on the grid, spanning {@code span} consecutive rows of one day.
+     */
+    private static final class Block {
+        final Lesson lesson;
+        final int start;
+        final int span;
+        int lane;
+
+        Block(Lesson lesson) {
+            this.lesson = lesson;
+            this.start = lesson.timeIndex();
+            this.span = lesson.span();
+        }
+
+        int end() {
+            return start + span;
+        }
+    }
+
+    private static final Comparator<Block> BY_START = Comparator
+            .comparingInt((Block b) -> b.start)
+            .thenComparingInt(b -> -b.span);
+
+    /**
+     * Exams of one day, sorted by start once lanes are assigned.
+     */
+    private static final class Day {
+        final ArrayList<Block> blocks = new ArrayList<>();
+        int lanes;
+        int maxSpan;
+        boolean dirty;
+    }
+
+    private Day[] days;
+    private final HashMap<String, Block> keyed = new HashMap<>();   // exams that have a key, e.g. the course ID
+    private int paintedFirstDay = 0;
+    private int paintedLastDay = -1;
+    private double[] dayX;   // left edge of each day column in content coordinates, plus the total width at the end
+
+    /**
+     * Decides about and carries out drags of keyed exams. Indices are those of {@link Lesson}.
+     */
+    public interface LessonMover {
+
+        /**
+         * @return problems the move would cause, empty if it is clean; called whenever the target cell changes
+         */
+        List<String> check(String key, int dayIndex, int timeIndex);
+
+        /**
+         * Moves the exam; the mover updates the view itself, e.g. through {@link #applyDiff}.
+         */
+        void move(String key, int dayIndex, int timeIndex);
+    }
+
+    private LessonMover mover;
+    private Function<String, ContextMenu> lessonMenu;
+
+    // exam being dragged, the row offset it was grabbed at and the cell under the pointer
+    private Block dragged;
+    private int grabOffset;
+    private int dropDay;
+    private int dropRow;
+    private List<String> dropProblems = List.of();
 
-    private VBox[][] cells;
+    private final Canvas canvas = new Canvas();
+    private final ScrollBar hBar = new ScrollBar();
+    private final ScrollBar vBar = new ScrollBar();
 
     public ScheduleView() {
-        this.setPadding(new Insets(20));
-        this.setHgap(5);
-        this.setVgap(5);
-        this.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        vBar.setOrientation(Orientation.VERTICAL);
+        // placed by layoutChildren; unmanaged so resizing them does not request another layout
+        canvas.setManaged(false);
+        hBar.setManaged(false);
+        vBar.setManaged(false);
+        hBar.valueProperty().addListener((obs, o, n) -> requestLayout());
+        vBar.valueProperty().addListener((obs, o, n) -> requestLayout());
+        getChildren().addAll(canvas, hBar, vBar);
+
+        addEventHandler(ScrollEvent.SCROLL, e -> {
+            double dx = e.isShiftDown() && e.getDeltaX() == 0 ? e.getDeltaY() : e.getDeltaX();
+            double dy = e.isShiftDown() ? 0 : e.getDeltaY();
+            scrollBy(hBar, -dx);
+            scrollBy(vBar, -dy);
+            e.consume();
+        });
+        addEventHandler(MouseEvent.MOUSE_PRESSED, this::startDrag);
+        addEventHandler(MouseEvent.MOUSE_DRAGGED, this::drag);
+        addEventHandler(MouseEvent.MOUSE_RELEASED, this::drop);
+        addEventHandler(ContextMenuEvent.CONTEXT_MENU_REQUESTED, e -> {
+            Block block = blockAt(e.getX(), e.getY());
+            if (lessonMenu == null || block == null || block.lesson.key() == null) return;
+            ContextMenu menu = lessonMenu.apply(block.lesson.key());
+            if (menu != null) menu.show(this, e.getScreenX(), e.getScreenY());
+            e.consume();
+        });
 
+        this.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
         setupGrid();
     }
 
     public void setStartDate(LocalDate date) {
+        if (date.equals(startDate)) return;
         this.startDate = date;
         setupGrid();
     }
 
     public void setDayCount(int days) {
+        if (days == totalDays) return;
         this.totalDays = days;
         setupGrid();
     }
 
     public void setSlotDuration(int minutes) {
+        if (minutes == slotDurationMinutes) return;
         this.slotDurationMinutes = minutes;
         setupGrid();
     }
 
     public void setStartHour(int hour) {
+        if (hour == startTime.getHour()) return;
         this.startTime = LocalTime.of(hour, 30);
         setupGrid();
     }
 
     public void setEndHour(int hour) {
+        if (hour == endTime.getHour()) return;
         this.endTime = LocalTime.of(hour, 30);
         setupGrid();
     }
 
-    private void setupGrid() {
-        this.getChildren().clear();
-        this.getColumnConstraints().clear();
-        this.getRowConstraints().clear();
+    /**
+     * Switches between the light and dark palette of the app stylesheets.
+     */
+    public void setDarkMode(boolean dark) {
+        if (dark) {
+            cellFill = Color.web("#3c3f41");
+            gridLine = Color.web("#555555");
+            headerFill = Color.web("#444444");
+            headerText = Color.WHITE;
+            headerBorder = Color.web("#555555");
+        } else {
+            cellFill = Color.WHITE;
+            gridLine = Color.LIGHTGRAY;
+            headerFill = Color.web("#e0e0e0");
+            headerText = Color.BLACK;
+            headerBorder = Color.web("#cccccc");
+        }
+        requestLayout();
+    }
 
+    /**
+     * Enables dragging keyed exams; {@code null} disables it.
+     */
+    public void setLessonMover(LessonMover mover) {
+        this.mover = mover;
+    }
+
+    /**
+     * Sets the menu shown on a right click on a keyed exam, built from its key; the function may return {@code null}.
+     */
+    public void setLessonMenu(Function<String, ContextMenu> lessonMenu) {
+        this.lessonMenu = lessonMenu;
+    }
+
+    /**
+     * Rebuilds the empty grid. As before, changing the grid drops the exams on it;
+     * setting a value it already has keeps them.
+     */
+    private void setupGrid() {
         long totalMinutes = java.time.Duration.between(startTime, endTime).toMinutes();
-        int totalRows = (int) (totalMinutes / slotDurationMinutes) + 1;
+        rowCount = startTime.isAfter(endTime) ? 0 : (int) ((totalMinutes + slotDurationMinutes - 1) / slotDurationMinutes);
+
+        days = new Day[Math.max(totalDays, 0)];
+        for (int i = 0; i < days.length; i++) days[i] = new Day();
+        keyed.clear();
+        dragged = null;
+        hBar.setValue(0);
+        vBar.setValue(0);
+        requestLayout();
+    }
 
-        cells = new VBox[totalDays][totalRows + 5];
+    /**
+     * One exam block for {@link #setLessons} and {@link ScheduleDiff}.
+     *
+     * @param key  identifies the exam across updates (the course ID), {@code null} if it is never updated
+     * @param span number of consecutive time rows the exam covers
+     */
+    public record Lesson(String key, String text, int dayIndex, int timeIndex, int span, Color color) {
 
-        ColumnConstraints timeCol = new ColumnConstraints();
-        timeCol.setPercentWidth(10);
-        this.getColumnConstraints().add(timeCol);
+        public Lesson(String text, int dayIndex, int timeIndex, Color color) {
+            this(null, text, dayIndex, timeIndex, 1, color);
+        }
+    }
 
-        for (int i = 0; i < totalDays; i++) {
-            ColumnConstraints dayCol = new ColumnConstraints();
-            dayCol.setPercentWidth(90.0 / totalDays);
-            this.getColumnConstraints().add(dayCol);
+    /**
+     * Replaces all exams at once; the view repaints a single time afterwards.
+     */
+    public void setLessons(Collection<Lesson> lessons) {
+        for (Day day : days) {
+            day.blocks.clear();
+            day.dirty = true;
+        }
+        keyed.clear();
+        for (Lesson lesson : lessons) {
+            place(lesson);
         }
+        requestLayout();
+    }
 
-        this.add(createHeaderLabel("Saat/Tarih"), 0, 0);
+    /**
+     * Keyed exams currently on the grid, by key.
+     */
+    public Map<String, Lesson> getLessons() {
+        HashMap<String, Lesson> lessons = new HashMap<>(keyed.size() * 2);
+        keyed.forEach((key, block) -> lessons.put(key, block.lesson));
+        return lessons;
+    }
 
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy EEE", new Locale("tr", "TR"));
+    /**
+     * Applies added, removed and moved exams in place. Only the days they touch get their lanes
+     * recomputed, and nothing is repainted when all of them are off screen and no column changed width.
+     */
+    public void applyDiff(ScheduleDiff diff) {
+        if (diff.isEmpty()) return;
+        for (String key : diff.removed()) {
+            remove(key);
+        }
+        for (Lesson lesson : diff.moved()) {
+            remove(lesson.key());
+            place(lesson);
+        }
+        for (Lesson lesson : diff.added()) {
+            place(lesson);
+        }
 
-        for (int i = 0; i < totalDays; i++) {
-            LocalDate date = startDate.plusDays(i);
-            this.add(createHeaderLabel(date.format(dateFormatter)), i + 1, 0);
+        // only the touched days are dirty
+        boolean repaint = false;
+        for (int d = 0; d < days.length; d++) {
+            if (!days[d].dirty) continue;
+            int lanes = days[d].lanes;
+            assignLanes(days[d]);
+            if (days[d].lanes != lanes || (d >= paintedFirstDay && d <= paintedLastDay)) repaint = true;
         }
-        // -------------------------------------
+        if (repaint) requestLayout();
+    }
 
-        LocalTime currentTime = startTime;
-        int row = 1;
+    /**
+     * Adds one exam covering {@code span} rows starting at {@code startIndex}. Exams outside the grid are ignored.
+     */
+    public void addExam(String text, int dayIndex, int startIndex, int span, Color color) {
+        if (place(new Lesson(null, text, dayIndex, startIndex, span, color))) requestLayout();
+    }
 
-        if (startTime.isAfter(endTime)) return;
+    /**
+     * Puts an exam on its day, replacing an exam with the same key.
+     *
+     * @return false if the exam lies outside the grid
+     */
+    private boolean place(Lesson lesson) {
+        if (lesson.dayIndex() < 0 || lesson.dayIndex() >= days.length) return false;
+        if (lesson.timeIndex() < 0 || lesson.timeIndex() >= rowCount || lesson.span() <= 0) return false;
+
+        Block block = new Block(lesson);
+        if (lesson.key() != null) {
+            Block old = keyed.put(lesson.key(), block);
+            if (old != null) {
+                Day oldDay = days[old.lesson.dayIndex()];
+                oldDay.blocks.remove(old);
+                oldDay.dirty = true;
+            }
+        }
+        Day day = days[lesson.dayIndex()];
+        day.blocks.add(block);
+        day.dirty = true;
+        return true;
+    }
 
-        while (currentTime.isBefore(endTime)) {
-            RowConstraints rc = new RowConstraints();
-            rc.setVgrow(Priority.ALWAYS);
-            rc.setFillHeight(true);
-            rc.setMinHeight(60);
-            this.getRowConstraints().add(rc);
+    private void remove(String key) {
+        Block block = key == null ? null : keyed.remove(key);
+        if (block == null) return;
+        if (block == dragged) dragged = null;
+        Day day = days[block.lesson.dayIndex()];
+        day.blocks.remove(block);
+        day.dirty = true;
+    }
 
-            String timeStr = currentTime.format(DateTimeFormatter.ofPattern("HH:mm"));
-            this.add(createHeaderLabel(timeStr), 0, row);
+    public void addLesson(String lessonName, int dayIndex, int timeIndex, Color color) {
+        addExam(lessonName, dayIndex, timeIndex, 1, color);
+    }
 
-            for (int col = 0; col < totalDays; col++) {
+    public void clearLessons() {
+        keyed.clear();
+        dragged = null;
+        for (Day day : days) {
+            if (day.blocks.isEmpty()) continue;
+            day.blocks.clear();
+            day.dirty = true;
+        }
+        requestLayout();
+    }
 
-                VBox cellContent = new VBox(2);
-                cellContent.setAlignment(Pos.TOP_CENTER);
-                cellContent.setStyle("-fx-background-color: white;");
+    /**
+     * Sorts a day's exams and gives each the lowest lane that is free at its start. O(n log n).
+     */
+    private static void assignLanes(Day day) {
+        day.blocks.sort(BY_START);
+        PriorityQueue<Block> busy = new PriorityQueue<>(Comparator.comparingInt(Block::end));
+        PriorityQueue<Integer> freeLanes = new PriorityQueue<>();
+        int lanes = 0;
+        int maxSpan = 0;
+        for (Block block : day.blocks) {
+            while (!busy.isEmpty() && busy.peek().end() <= block.start) {
+                freeLanes.add(busy.poll().lane);
+            }
+            block.lane = freeLanes.isEmpty() ? lanes++ : freeLanes.poll();
+            busy.add(block);
+            maxSpan = Math.max(maxSpan, block.span);
+        }
+        day.lanes = lanes;
+        day.maxSpan = maxSpan;
+        day.dirty = false;
+    }
 
-                ScrollPane scroller = new ScrollPane(cellContent);
-                scroller.setFitToWidth(true);
-                scroller.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-                scroller.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-                scroller.setStyle("-fx-background-color: transparent; -fx-background: transparent; -fx-border-color: lightgray;");
+    // --- dragging ---
+
+    private void startDrag(MouseEvent e) {
+        if (mover == null || e.getButton() != MouseButton.PRIMARY) return;
+        Block block = blockAt(e.getX(), e.getY());
+        if (block == null || block.lesson.key() == null) return;
+        dragged = block;
+        grabOffset = rowAt(e.getY()) - block.start;
+        dropDay = block.lesson.dayIndex();
+        dropRow = block.start;
+        dropProblems = List.of();
+        e.consume();
+    }
 
-                if (row - 1 < cells[col].length) {
-                    cells[col][row - 1] = cellContent;
-                }
+    private void drag(MouseEvent e) {
+        if (dragged == null) return;
+        int day = dayAt(contentX(e.getX()));
+        int row = Math.max(0, Math.min(rowCount - dragged.span, rowAt(e.getY()) - grabOffset));
+        if (day != dropDay || row != dropRow) {
+            dropDay = day;
+            dropRow = row;
+            // the mover is only asked when the target cell changes, not on every mouse event
+            dropProblems = isHome() ? List.of() : mover.check(dragged.lesson.key(), day, row);
+            requestLayout();
+        }
+        e.consume();
+    }
 
-                this.add(scroller, col + 1, row);
-            }
+    private void drop(MouseEvent e) {
+        if (dragged == null) return;
+        Block block = dragged;
+        boolean home = isHome();
+        dragged = null;
+        requestLayout();
+        if (!home) mover.move(block.lesson.key(), dropDay, dropRow);
+        e.consume();
+    }
 
-            currentTime = currentTime.plusMinutes(slotDurationMinutes);
-            row++;
+    private boolean isHome() {
+        return dropDay == dragged.lesson.dayIndex() && dropRow == dragged.start;
+    }
+
+    /**
+     * Exam under a point of the view, {@code null} if there is none.
+     */
+    private Block blockAt(double x, double y) {
+        if (dayX == null || dayX.length != days.length + 1 || days.length == 0) return null;
+        if (x < TIME_COLUMN_WIDTH || y < HEADER_HEIGHT || x >= canvas.getWidth() || y >= canvas.getHeight()) return null;
+        double cx = contentX(x);
+        if (cx >= dayX[days.length]) return null;
+        int d = dayAt(cx);
+        Day day = days[d];
+        if (day.dirty || day.blocks.isEmpty()) return null;
+        int lane = (int) ((cx - dayX[d]) * day.lanes / (dayX[d + 1] - dayX[d]));
+        int row = rowAt(y);
+        for (int i = firstStartingAt(day.blocks, row - day.maxSpan + 1); i < day.blocks.size(); i++) {
+            Block block = day.blocks.get(i);
+            if (block.start > row) break;
+            if (block.lane == lane && block.end() > row) return block;
         }
+        return null;
+    }
 
-        RowConstraints headerRow = new RowConstraints();
-        headerRow.setMinHeight(30);
-        this.getRowConstraints().add(0, headerRow);
+    private double contentX(double x) {
+        return x - TIME_COLUMN_WIDTH + hBar.getValue();
     }
 
-    public void addLesson(String lessonName, int dayIndex, int timeIndex, Color color) {
-        if (dayIndex < 0 || dayIndex >= totalDays) return;
-        if (cells == null) return;
-        if (timeIndex < 0 || timeIndex >= cells[dayIndex].length) return;
+    private int rowAt(double y) {
+        return (int) Math.floor((y - HEADER_HEIGHT + vBar.getValue()) / ROW_HEIGHT);
+    }
 
-        VBox targetCell = cells[dayIndex][timeIndex];
-        if (targetCell == null) return;
+    // --- layout and painting ---
 
-        Label lbl = new Label(lessonName);
-        lbl.setWrapText(true);
-        lbl.setTextAlignment(TextAlignment.CENTER);
-        lbl.setStyle("-fx-font-weight: bold; -fx-font-size: 10px;");
-        lbl.setMaxWidth(Double.MAX_VALUE);
-        lbl.setAlignment(Pos.CENTER);
+    @Override
+    protected void layoutChildren() {
+        double width = getWidth();
+        double height = getHeight();
+        double barW = vBar.prefWidth(-1);
+        double barH = hBar.prefHeight(-1);
 
-        StackPane examBlock = new StackPane(lbl);
-        examBlock.setStyle("-fx-background-color: " + toHexString(color) +
-                "; -fx-background-radius: 4; -fx-border-color: gray; -fx-border-radius: 4; -fx-border-width: 1;");
-        examBlock.setPadding(new Insets(3));
-        examBlock.setUserData("lesson");
+        for (Day day : days) {
+            if (day.dirty) assignLanes(day);
+        }
+
+        double contentHeight = HEADER_HEIGHT + rowCount * ROW_HEIGHT;
+        boolean needV = contentHeight > height;
+        double contentWidth = layoutDays(width - (needV ? barW : 0));
+        boolean needH = contentWidth > width - (needV ? barW : 0);
+        if (!needV && needH && contentHeight > height - barH) {
+            needV = true;
+            contentWidth = layoutDays(width - barW);
+        }
+
+        double viewW = Math.max(0, width - (needV ? barW : 0));
+        double viewH = Math.max(0, height - (needH ? barH : 0));
+
+        configureBar(hBar, needH, contentWidth, viewW);
+        configureBar(vBar, needV, contentHeight, viewH);
+        hBar.resizeRelocate(0, viewH, viewW, barH);
+        vBar.resizeRelocate(viewW, 0, barW, viewH);
 
-        targetCell.getChildren().add(examBlock);
+        if (canvas.getWidth() != viewW) canvas.setWidth(viewW);
+        if (canvas.getHeight() != viewH) canvas.setHeight(viewH);
+        canvas.relocate(0, 0);
+        paint(viewW, viewH);
     }
 
-    public void clearLessons() {
-        if (cells == null) return;
-        for (int d = 0; d < cells.length; d++) {
-            if (cells[d] == null) continue;
-            for (int t = 0; t < cells[d].length; t++) {
-                if (cells[d][t] != null) {
-                    cells[d][t].getChildren().clear();
-                }
+    /**
+     * Computes the day column offsets. Columns share the viewport evenly, as the old grid did, and
+     * widen when a day has more parallel exams than fit.
+     *
+     * @return total content width including the time column
+     */
+    private double layoutDays(double viewportWidth) {
+        double even = days.length == 0 ? 0 : Math.max(0, viewportWidth - TIME_COLUMN_WIDTH) / days.length;
+        dayX = new double[days.length + 1];
+        double x = 0;
+        for (int i = 0; i < days.length; i++) {
+            dayX[i] = x;
+            x += Math.max(even, Math.max(1, days[i].lanes) * MIN_LANE_WIDTH);
+        }
+        dayX[days.length] = x;
+        return TIME_COLUMN_WIDTH + x;
+    }
+
+    private static void configureBar(ScrollBar bar, boolean visible, double content, double viewport) {
+        bar.setVisible(visible);
+        double max = Math.max(0, content - viewport);
+        bar.setMax(max);
+        bar.setVisibleAmount(max == 0 ? 0 : viewport * max / content);
+        bar.setUnitIncrement(SCROLL_STEP);
+        bar.setBlockIncrement(viewport);
+        if (bar.getValue() > max) bar.setValue(max);
+    }
+
+    private static void scrollBy(ScrollBar bar, double delta) {
+        if (delta == 0 || !bar.isVisible()) return;
+        bar.setValue(Math.max(bar.getMin(), Math.min(bar.getMax(), bar.getValue() + delta)));
+    }
+
+    /**
+     * First day whose column reaches past content x.
+     */
+    private int dayAt(double x) {
+        int lo = 0;
+        int hi = days.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dayX[mid + 1] <= x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Index of the first block whose start is at least {@code row}.
+     */
+    private static int firstStartingAt(ArrayList<Block> blocks, int row) {
+        int lo = 0;
+        int hi = blocks.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (blocks.get(mid).start < row) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void paint(double viewW, double viewH) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, viewW, viewH);
+        if (viewW <= TIME_COLUMN_WIDTH || viewH <= HEADER_HEIGHT) return;
+
+        double scrollX = hBar.getValue();
+        double scrollY = vBar.getValue();
+        double bodyW = viewW - TIME_COLUMN_WIDTH;
+        double bodyH = viewH - HEADER_HEIGHT;
+
+        int firstRow = Math.max(0, (int) (scrollY / ROW_HEIGHT));
+        int lastRow = Math.min(rowCount - 1, (int) ((scrollY + bodyH) / ROW_HEIGHT));
+        int firstDay = days.length == 0 ? 0 : dayAt(scrollX);
+        int lastDay = days.length == 0 ? -1 : dayAt(scrollX + bodyW);
+        paintedFirstDay = firstDay;
+        paintedLastDay = lastDay;
+
+        // BODY: visible days, rows and exams only
+        gc.save();
+        gc.beginPath();
+        gc.rect(TIME_COLUMN_WIDTH, HEADER_HEIGHT, bodyW, bodyH);
+        gc.clip();
+        gc.setFont(BLOCK_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setLineWidth(1);
+        for (int d = firstDay; d <= lastDay; d++) {
+            double x = TIME_COLUMN_WIDTH + dayX[d] - scrollX;
+            double w = dayX[d + 1] - dayX[d];
+            gc.setFill(cellFill);
+            gc.fillRect(x, HEADER_HEIGHT, w, bodyH);
+            gc.setStroke(gridLine);
+            for (int r = firstRow; r <= lastRow; r++) {
+                gc.strokeRect(x + 0.5, HEADER_HEIGHT + r * ROW_HEIGHT - scrollY + 0.5, w - 1, ROW_HEIGHT - 1);
+            }
+
+            Day day = days[d];
+            if (day.blocks.isEmpty()) continue;
+            double laneW = w / day.lanes;
+            for (int i = firstStartingAt(day.blocks, firstRow - day.maxSpan + 1); i < day.blocks.size(); i++) {
+                Block block = day.blocks.get(i);
+                if (block.start > lastRow) break;
+                if (block.end() <= firstRow) continue;
+                paintBlock(gc, block,
+                        x + block.lane * laneW + BLOCK_GAP,
+                        HEADER_HEIGHT + block.start * ROW_HEIGHT - scrollY + BLOCK_GAP,
+                        laneW - 2 * BLOCK_GAP,
+                        block.span * ROW_HEIGHT - 2 * BLOCK_GAP);
             }
         }
+        if (dragged != null && !isHome()) paintDrop(gc, scrollX, scrollY);
+        gc.restore();
+
+        // DATE HEADERS: scroll horizontally only
+        gc.save();
+        gc.beginPath();
+        gc.rect(TIME_COLUMN_WIDTH, 0, bodyW, HEADER_HEIGHT);
+        gc.clip();
+        gc.setFont(HEADER_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int d = firstDay; d <= lastDay; d++) {
+            double x = TIME_COLUMN_WIDTH + dayX[d] - scrollX;
+            double w = dayX[d + 1] - dayX[d];
+            paintHeader(gc, startDate.plusDays(d).format(DATE_FORMAT), x, 0, w, HEADER_HEIGHT);
+        }
+        gc.restore();
+
+        // TIME COLUMN: scrolls vertically only
+        gc.save();
+        gc.beginPath();
+        gc.rect(0, HEADER_HEIGHT, TIME_COLUMN_WIDTH, bodyH);
+        gc.clip();
+        gc.setFont(HEADER_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int r = firstRow; r <= lastRow; r++) {
+            String time = startTime.plusMinutes((long) r * slotDurationMinutes).format(TIME_FORMAT);
+            paintHeader(gc, time, 0, HEADER_HEIGHT + r * ROW_HEIGHT - scrollY, TIME_COLUMN_WIDTH, ROW_HEIGHT);
+        }
+        gc.restore();
+
+        gc.setFont(HEADER_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        paintHeader(gc, "Saat/Tarih", 0, 0, TIME_COLUMN_WIDTH, HEADER_HEIGHT);
+    }
+
+    private void paintHeader(GraphicsContext gc, String text, double x, double y, double w, double h) {
+        gc.setFill(headerFill);
+        gc.fillRect(x, y, w, h);
+        gc.setStroke(headerBorder);
+        gc.strokeRect(x + 0.5, y + 0.5, w - 1, h - 1);
+        gc.setFill(headerText);
+        gc.fillText(text, x + w / 2, y + h / 2, Math.max(1, w - 4));
+    }
+
+    private void paintBlock(GraphicsContext gc, Block block, double x, double y, double w, double h) {
+        if (w <= 0 || h <= 0) return;
+        gc.setFill(block.lesson.color());
+        gc.fillRoundRect(x, y, w, h, 8, 8);
+        gc.setStroke(Color.GRAY);
+        gc.strokeRoundRect(x + 0.5, y + 0.5, w - 1, h - 1, 8, 8);
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, w, h);
+        gc.clip();
+        gc.setFill(block.lesson.color().getBrightness() < 0.6 ? Color.WHITE : Color.BLACK);
+        gc.fillText(block.lesson.text(), x + w / 2, y + Math.min(h, ROW_HEIGHT) / 2);
+        gc.restore();
+    }
+
+    /**
+     * Outlines the drop target over the whole day column: green if the move is clean, red with the first problem if not.
+     */
+    private void paintDrop(GraphicsContext gc, double scrollX, double scrollY) {
+        double x = TIME_COLUMN_WIDTH + dayX[dropDay] - scrollX + BLOCK_GAP;
+        double y = HEADER_HEIGHT + dropRow * ROW_HEIGHT - scrollY + BLOCK_GAP;
+        double w = dayX[dropDay + 1] - dayX[dropDay] - 2 * BLOCK_GAP;
+        double h = dragged.span * ROW_HEIGHT - 2 * BLOCK_GAP;
+        Color color = dropProblems.isEmpty() ? Color.SEAGREEN : Color.CRIMSON;
+
+        gc.setFill(color.deriveColor(0, 1, 1, 0.25));
+        gc.fillRoundRect(x, y, w, h, 8, 8);
+        gc.setStroke(color);
+        gc.setLineWidth(2);
+        gc.setLineDashes(6, 4);
+        gc.strokeRoundRect(x + 1, y + 1, w - 2, h - 2, 8, 8);
+        gc.setLineDashes();
+        gc.setLineWidth(1);
+
+        String text = dragged.lesson.key();
+        if (!dropProblems.isEmpty()) {
+            text += "\n" + dropProblems.get(0) + (dropProblems.size() > 1 ? " (+" + (dropProblems.size() - 1) + ")" : "");
+        }
+        gc.setFill(color.darker());
+        gc.fillText(text, x + w / 2, y + Math.min(h, 2 * ROW_HEIGHT) / 2, Math.max(1, w - 4));
     }
 
-    private Label createHeaderLabel(String text) {
-        Label label = new Label(text);
-        label.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
-        label.setAlignment(Pos.CENTER);
-        label.getStyleClass().add("schedule-header");
-        label.setStyle("-fx-font-weight: bold;");
-        return label;
+    @Override
+    protected double computePrefWidth(double height) {
+        return TIME_COLUMN_WIDTH + days.length * MIN_LANE_WIDTH * 1.5;
     }
 
-    private String toHexString(Color c) {
-        return String.format("#%02X%02X%02X",
-                (int) (c.getRed() * 255), (int) (c.getGreen() * 255), (int) (c.getBlue() * 255));
+    @Override
+    protected double computePrefHeight(double width) {
+        return HEADER_HEIGHT + rowCount * ROW_HEIGHT;
     }
-}
\ No newline at end of file
+}
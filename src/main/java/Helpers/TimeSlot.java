@@ -50,8 +50,18 @@ public class TimeSlot {
         }
 
         public static ArrayList<LocalTime> set_time_slots() {
-                if (step_size_t <= 0) {
-                        throw new IllegalArgumentException("step_size_t must be > 0");
+                return set_time_slots(step_size_t);
+        }
+
+        /**
+         * Start times of one day at the given resolution. Unlike {@link #set_time_slots()} this does not
+         * read the shared static step size, so schedulers with different step sizes can run in parallel.
+         *
+         * @param step_size minutes between two start times
+         */
+        public static ArrayList<LocalTime> set_time_slots(int step_size) {
+                if (step_size <= 0) {
+                        throw new IllegalArgumentException("step_size must be > 0");
                 }
 
                 ArrayList<LocalTime> times = new ArrayList<>();
@@ -61,7 +71,7 @@ public class TimeSlot {
 
                 while (!start.isAfter(end)) {
                         times.add(start);
-                        start = start.plusMinutes(step_size_t); // Step size (Resolution)
+                        start = start.plusMinutes(step_size); // Step size (Resolution)
                 }
                 return times;
         }
@@ -0,0 +1,124 @@
+package IO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses a gzip stream on its own thread.
+ * <p>
+ * The inflater thread fills fixed size chunks and hands them over through a bounded queue, so
+ * inflating the next chunks overlaps with the parser consuming the current one, and at most
+ * {@code capacity} chunks are ever buffered.
+ */
+class AsyncGzipInputStream extends InputStream {
+
+        static final int CHUNK_SIZE = 1 << 16;
+        static final int QUEUE_CAPACITY = 8;
+
+        /**
+         * Marker put on the queue after the last chunk (or after a failure).
+         */
+        private static final byte[] END = new byte[0];
+
+        private final InputStream source;
+        private final ArrayBlockingQueue<byte[]> queue;
+        private final Thread inflater;
+        private volatile IOException failure;
+
+        private byte[] current = null;
+        private int position = 0;
+        private boolean finished = false;
+
+        AsyncGzipInputStream(InputStream compressed) {
+                this(compressed, CHUNK_SIZE, QUEUE_CAPACITY);
+        }
+
+        AsyncGzipInputStream(InputStream compressed, int chunkSize, int capacity) {
+                this.source = compressed;
+                this.queue = new ArrayBlockingQueue<>(capacity);
+                this.inflater = Thread.ofPlatform().daemon().name("gzip-inflater").start(() -> inflate(chunkSize));
+        }
+
+        private void inflate(int chunkSize) {
+                boolean closed = false;
+                try (GZIPInputStream in = new GZIPInputStream(source, chunkSize)) {
+                        byte[] buf = new byte[chunkSize];
+                        int filled = 0;
+                        int n;
+                        while ((n = in.read(buf, filled, buf.length - filled)) >= 0) {
+                                filled += n;
+                                if (filled == buf.length) {
+                                        queue.put(buf);
+                                        buf = new byte[chunkSize];
+                                        filled = 0;
+                                }
+                        }
+                        if (filled > 0) queue.put(Arrays.copyOf(buf, filled));
+                } catch (IOException e) {
+                        failure = e;
+                } catch (InterruptedException e) {
+                        // reader closed the stream early
+                        closed = true;
+                } catch (RuntimeException | Error e) {
+                        failure = new IOException("Decompression failed: " + e, e);
+                } finally {
+                        // without END the reader would wait in fill() forever
+                        if (!closed) {
+                                try {
+                                        queue.put(END);
+                                } catch (InterruptedException ignored) {
+                                        // reader closed the stream early
+                                }
+                        }
+                }
+        }
+
+        /**
+         * Moves to the next chunk if the current one is used up.
+         *
+         * @return false at end of stream
+         */
+        private boolean fill() throws IOException {
+                while (!finished && (current == null || position == current.length)) {
+                        try {
+                                current = queue.take();
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new InterruptedIOException("Interrupted while waiting for decompressed data");
+                        }
+                        position = 0;
+                        if (current == END) {
+                                finished = true;
+                                if (failure != null) throw failure;
+                        }
+                }
+                return !finished;
+        }
+
+        @Override
+        public int read() throws IOException {
+                if (!fill()) return -1;
+                return current[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) return 0;
+                if (!fill()) return -1;
+                int n = Math.min(len, current.length - position);
+                System.arraycopy(current, position, b, off, n);
+                position += n;
+                return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+                finished = true;
+                inflater.interrupt();
+                source.close();
+        }
+}
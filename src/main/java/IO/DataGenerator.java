@@ -1,115 +1,298 @@
 package IO;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Random;
-import java.util.StringJoiner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
+/**
+ * Seeded generator of synthetic terms in the same four CSV formats the importer reads.
+ * <p>
+ * Structure of a generated term:
+ * <ul>
+ *     <li>Courses belong to departments. Each department runs cohorts (one per study year) and every
+ *     cohort shares a set of core courses that all of its students take.</li>
+ *     <li>Students take their cohort's core courses plus electives, mostly from their own department.
+ *     Elective popularity follows a Zipf law, so class sizes are heavy tailed: a few huge courses,
+ *     many small ones.</li>
+ *     <li>Rooms range from seminar rooms to a few lecture halls. Every class fits the largest room.</li>
+ * </ul>
+ * The same {@link Config} (including the seed) always produces byte-identical files.
+ * <p>
+ * Command line: {@code DataGenerator [--out=dir] [--students=N] [--courses=N] [--rooms=N]
+ * [--departments=N] [--per-student=N] [--seed=N]}
+ */
 public class DataGenerator {
 
-        //                      TESTING
-        private static final int NUM_CLASSROOMS = 156;
-        private static final int NUM_COURSES = 1178;
-        private static final int NUM_STUDENTS = 8000;
-
         // File Names
-        private static final String FILE_CLASSROOMS = "sampleData_AllClassroomsAndTheirCapacities.csv";
-        private static final String FILE_COURSES = "sampleData_AllCoursesWithTime.csv";
-        private static final String FILE_STUDENTS = "sampleData_AllStudents.csv";
-        private static final String FILE_ATTENDANCE = "sampleData_AllAttendanceLists.csv";
+        public static final String FILE_CLASSROOMS = "sampleData_AllClassroomsAndTheirCapacities.csv";
+        public static final String FILE_COURSES = "sampleData_AllCoursesWithTime.csv";
+        public static final String FILE_STUDENTS = "sampleData_AllStudents.csv";
+        public static final String FILE_ATTENDANCE = "sampleData_AllAttendanceLists.csv";
 
-        private static final Random random = new Random();
+        private static final int[] DURATIONS = {60, 70, 75, 80, 85, 90, 100, 110, 120};
 
-        /*public static void main(String[] args) {
-                System.out.println("Generating larger dataset with specific structure...");
+        /**
+         * Size and shape of a generated term.
+         *
+         * @param students       number of students
+         * @param courses        number of courses
+         * @param rooms          number of classrooms
+         * @param departments    number of departments
+         * @param coursesPerTerm courses each student takes (core + electives)
+         * @param seed           random seed
+         */
+        public record Config(int students, int courses, int rooms, int departments, int coursesPerTerm, long seed) {
+                public Config {
+                        if (students < 1 || courses < 1 || rooms < 1 || departments < 1 || coursesPerTerm < 1) {
+                                throw new IllegalArgumentException("All sizes must be positive");
+                        }
+                        departments = Math.min(departments, courses);
+                }
 
-                generateClassrooms();
-                generateCourses();
-                generateStudents();
-                generateAttendance();
+                /**
+                 * Size the original hard coded generator produced.
+                 */
+                public static Config defaults() {
+                        return new Config(8000, 1178, 156, 12, 6, 42L);
+                }
 
-                System.out.println("Generation Complete. Files Created:");
+                public static Config small(long seed) {
+                        return new Config(250, 20, 10, 2, 4, seed);
+                }
+
+                public static Config medium(long seed) {
+                        return new Config(8000, 1178, 156, 12, 6, seed);
+                }
+
+                public static Config large(long seed) {
+                        return new Config(100_000, 10_000, 1200, 40, 6, seed);
+                }
+        }
+
+        /**
+         * A generated term before it is written; rosters hold student numbers (1-based).
+         */
+        public record Term(int[] roomCapacities, int[] durations, int[][] rosters, int students) {
+        }
+
+        public static void main(String[] args) {
+                Config defaults = Config.defaults();
+                Path out = Path.of(".");
+                int students = defaults.students(), courses = defaults.courses(), rooms = defaults.rooms();
+                int departments = defaults.departments(), perTerm = defaults.coursesPerTerm();
+                long seed = defaults.seed();
+
+                for (String arg : args) {
+                        String[] kv = arg.split("=", 2);
+                        String value = kv.length > 1 ? kv[1] : "";
+                        switch (kv[0]) {
+                                case "--out" -> out = Path.of(value);
+                                case "--students" -> students = Integer.parseInt(value);
+                                case "--courses" -> courses = Integer.parseInt(value);
+                                case "--rooms" -> rooms = Integer.parseInt(value);
+                                case "--departments" -> departments = Integer.parseInt(value);
+                                case "--per-student" -> perTerm = Integer.parseInt(value);
+                                case "--seed" -> seed = Long.parseLong(value);
+                                default -> {
+                                        System.err.println("Unknown option: " + arg);
+                                        System.err.println("Usage: DataGenerator [--out=dir] [--students=N] [--courses=N] [--rooms=N] [--departments=N] [--per-student=N] [--seed=N]");
+                                        System.exit(2);
+                                }
+                        }
+                }
+
+                Config config = new Config(students, courses, rooms, departments, perTerm, seed);
+                System.out.println("Generating dataset " + config + " ...");
+                if (!generate(config, out)) {
+                        System.exit(1);
+                }
+                System.out.println("Generation Complete. Files Created in " + out.toAbsolutePath() + ":");
                 System.out.println(" - " + FILE_CLASSROOMS);
                 System.out.println(" - " + FILE_COURSES);
                 System.out.println(" - " + FILE_STUDENTS);
                 System.out.println(" - " + FILE_ATTENDANCE);
         }
-        */
-        private static void generateClassrooms() {
-                try (FileWriter writer = new FileWriter(FILE_CLASSROOMS)) {
-                        writer.write("ALL OF THE CLASSROOMS; AND THEIR CAPACITIES IN THE SYSTEM\n");
 
-                        for (int i = 1; i <= NUM_CLASSROOMS; i++) {
-                                String roomId = "Classroom_" + String.format("%02d", i);
-                                int capacity = 40 + random.nextInt(81); // Capacity 40 to 120
-                                writer.write(roomId + ";" + capacity + "\n");
-                        }
+        /**
+         * Generates a term and writes the four CSV files into {@code directory}.
+         *
+         * @return true on success
+         */
+        public static boolean generate(Config config, Path directory) {
+                Term term = build(config);
+                try {
+                        Files.createDirectories(directory);
+                        writeClassrooms(directory.resolve(FILE_CLASSROOMS), term);
+                        writeCourses(directory.resolve(FILE_COURSES), term);
+                        writeStudents(directory.resolve(FILE_STUDENTS), term);
+                        writeAttendance(directory.resolve(FILE_ATTENDANCE), term);
+                        return true;
                 } catch (IOException e) {
-                        ErrorHandler.getInstance().logError("Sınıfları oluştururken hata.");
+                        ErrorHandler.getInstance().logError("Veri seti oluşturulurken hata: " + e.getMessage());
+                        return false;
                 }
         }
 
-        private static void generateCourses() {
-                try (FileWriter writer = new FileWriter(FILE_COURSES)) {
-                        writer.write("ALL OF THE COURSES IN THE SYSTEM AND THEIR EXAM TIME\n");
+        /**
+         * Generates a term in memory.
+         */
+        public static Term build(Config config) {
+                SplittableRandom random = new SplittableRandom(config.seed());
 
-                        int[] durations = {60, 70, 75, 80, 85, 90, 100, 110, 120};
+                int[] capacities = roomCapacities(config.rooms(), random);
+                int maxCapacity = Arrays.stream(capacities).max().orElse(1);
 
-                        for (int i = 1; i <= NUM_COURSES; i++) {
-                                String courseId = "CourseCode_" + String.format("%02d", i);
-                                int duration = durations[random.nextInt(durations.length)];
-                                writer.write(courseId + "," + duration + "\n");
-                        }
-                } catch (IOException e) {
-                        ErrorHandler.getInstance().logError("Dersleri oluştururken hata.");
+                int[] durations = new int[config.courses()];
+                for (int i = 0; i < durations.length; i++) {
+                        durations[i] = DURATIONS[random.nextInt(DURATIONS.length)];
                 }
-        }
 
-        private static void generateStudents() {
-                try (FileWriter writer = new FileWriter(FILE_STUDENTS)) {
-                        writer.write("ALL OF THE STUDENTS IN THE SYSTEM\n");
+                // departments own contiguous course ranges, the first courses of a department are the core courses of its cohorts
+                int departments = config.departments();
+                int[] deptStart = new int[departments + 1];
+                for (int d = 0; d <= departments; d++) {
+                        deptStart[d] = (int) ((long) config.courses() * d / departments);
+                }
+                int years = 4;
+                int corePerCohort = Math.max(1, Math.min(config.coursesPerTerm() / 2, (deptStart[1] - deptStart[0]) / (2 * years)));
+
+                ArrayList<ArrayList<Integer>> rosters = new ArrayList<>(config.courses());
+                for (int i = 0; i < config.courses(); i++) rosters.add(new ArrayList<>());
+
+                int[] taken = new int[config.coursesPerTerm()];
+                for (int student = 1; student <= config.students(); student++) {
+                        int dept = random.nextInt(departments);
+                        int from = deptStart[dept];
+                        int size = deptStart[dept + 1] - from;
+                        int year = random.nextInt(years);
 
-                        for (int i = 1; i <= NUM_STUDENTS; i++) {
-                                String stdId = "Std_ID_" + String.format("%03d", i);
-                                writer.write(stdId + "\n");
+                        int count = 0;
+                        // cohort core courses
+                        for (int k = 0; k < corePerCohort && count < taken.length && k < size; k++) {
+                                int course = from + (year * corePerCohort + k) % size;
+                                count = take(taken, count, course, rosters, maxCapacity);
+                        }
+                        // electives: 80% from the own department, Zipf distributed popularity
+                        int attempts = 0;
+                        while (count < taken.length && attempts++ < taken.length * 8) {
+                                int course;
+                                if (random.nextInt(10) < 8 || departments == 1) {
+                                        course = from + zipf(size, random);
+                                } else {
+                                        course = zipf(config.courses(), random);
+                                }
+                                count = take(taken, count, course, rosters, maxCapacity);
+                        }
+                        for (int k = 0; k < count; k++) {
+                                rosters.get(taken[k]).add(student);
                         }
-                } catch (IOException e) {
-                        ErrorHandler.getInstance().logError("Öğrencileri oluştururken hata");
                 }
+
+                int[][] result = new int[config.courses()][];
+                for (int i = 0; i < result.length; i++) {
+                        result[i] = rosters.get(i).stream().mapToInt(Integer::intValue).toArray();
+                }
+                return new Term(capacities, durations, result, config.students());
         }
 
-        private static void generateAttendance() {
-                // Structure:
-                // CourseCode_01
-                // ['Std_ID_xxx', 'Std_ID_yyy']
-                try (FileWriter writer = new FileWriter(FILE_ATTENDANCE)) {
+        /**
+         * Mostly small rooms, some medium ones and a few lecture halls.
+         */
+        private static int[] roomCapacities(int rooms, SplittableRandom random) {
+                int[] capacities = new int[rooms];
+                for (int i = 0; i < rooms; i++) {
+                        int roll = random.nextInt(100);
+                        if (roll < 55) capacities[i] = 20 + random.nextInt(21);        // 20 - 40
+                        else if (roll < 85) capacities[i] = 40 + random.nextInt(41);   // 40 - 80
+                        else if (roll < 97) capacities[i] = 80 + random.nextInt(71);   // 80 - 150
+                        else capacities[i] = 150 + random.nextInt(251);                // 150 - 400
+                }
+                return capacities;
+        }
 
+        /**
+         * Draws an index in [0, n) with P(k) proportional to 1 / (k + 1), by inverting the
+         * continuous approximation of the harmonic sum.
+         */
+        private static int zipf(int n, SplittableRandom random) {
+                double u = random.nextDouble();
+                int k = (int) Math.floor(Math.exp(u * Math.log(n + 1.0))) - 1;
+                return Math.min(n - 1, Math.max(0, k));
+        }
 
-                        for (int i = 1; i <= NUM_COURSES; i++) {
-                                String courseId = "CourseCode_" + String.format("%02d", i);
+        /**
+         * Adds a course to the student's list unless it is already there or the class already fills
+         * the largest room; full courses make the student pick another elective.
+         */
+        private static int take(int[] taken, int count, int course, ArrayList<ArrayList<Integer>> rosters, int maxCapacity) {
+                if (rosters.get(course).size() >= maxCapacity) return count;
+                for (int i = 0; i < count; i++) {
+                        if (taken[i] == course) return count;
+                }
+                taken[count] = course;
+                return count + 1;
+        }
 
-                                writer.write(courseId + "\n");
+        private static String roomId(int i) {
+                return "Classroom_" + String.format("%02d", i);
+        }
 
-                                int classSize = 20 + random.nextInt(31);
-                                HashSet<Integer> enrolledStudents = new HashSet<>();
-                                while (enrolledStudents.size() < classSize) {
-                                        enrolledStudents.add(1 + random.nextInt(NUM_STUDENTS));
-                                }
+        private static String courseId(int i) {
+                return "CourseCode_" + String.format("%02d", i);
+        }
 
+        private static String studentId(int i) {
+                return "Std_ID_" + String.format("%03d", i);
+        }
 
-                                StringJoiner joiner = new StringJoiner(", ", "[", "]");
-                                for (int stdIdx : enrolledStudents) {
-                                        String stdId = "'Std_ID_" + String.format("%03d", stdIdx) + "'";
-                                        joiner.add(stdId);
-                                }
+        private static void writeClassrooms(Path file, Term term) throws IOException {
+                try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                        writer.write("ALL OF THE CLASSROOMS; AND THEIR CAPACITIES IN THE SYSTEM\n");
+                        for (int i = 0; i < term.roomCapacities().length; i++) {
+                                writer.write(roomId(i + 1) + ";" + term.roomCapacities()[i] + "\n");
+                        }
+                }
+        }
 
+        private static void writeCourses(Path file, Term term) throws IOException {
+                try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                        writer.write("ALL OF THE COURSES IN THE SYSTEM AND THEIR EXAM TIME\n");
+                        for (int i = 0; i < term.durations().length; i++) {
+                                writer.write(courseId(i + 1) + "," + term.durations()[i] + "\n");
+                        }
+                }
+        }
 
-                                writer.write(joiner.toString() + "\n");
+        private static void writeStudents(Path file, Term term) throws IOException {
+                try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                        writer.write("ALL OF THE STUDENTS IN THE SYSTEM\n");
+                        for (int i = 1; i <= term.students(); i++) {
+                                writer.write(studentId(i) + "\n");
+                        }
+                }
+        }
+
+        private static void writeAttendance(Path file, Term term) throws IOException {
+                // Structure:
+                // CourseCode_01
+                // ['Std_ID_xxx', 'Std_ID_yyy']
+                try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                        for (int i = 0; i < term.rosters().length; i++) {
+                                writer.write(courseId(i + 1) + "\n");
+                                writer.write('[');
+                                int[] roster = term.rosters()[i];
+                                for (int k = 0; k < roster.length; k++) {
+                                        if (k > 0) writer.write(", ");
+                                        writer.write('\'');
+                                        writer.write(studentId(roster[k]));
+                                        writer.write('\'');
+                                }
+                                writer.write("]\n");
                         }
-                } catch (IOException e) {
-                        ErrorHandler.getInstance().logError("Katılımı oluştururken hata.");
-                        System.err.println(e.getMessage());
                 }
         }
-}
\ No newline at end of file
+}
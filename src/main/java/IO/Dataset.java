@@ -0,0 +1,33 @@
+package IO;
+
+import Core.ClassRoom;
+import Core.Course;
+import Core.Student;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Everything needed for one scheduling term, loaded together by {@link DatasetLoader}.
+ * <p>
+ * {@code courses} already carry the enrolled students from {@code attendance}.
+ *
+ * @param students   all students
+ * @param courses    all courses, rosters joined from the attendance lists
+ * @param classrooms all classrooms
+ * @param attendance raw attendance lists as read from the file
+ * @param errors     every problem found in any of the files
+ * @param timings    wall clock time per loading step, in insertion order
+ */
+public record Dataset(ArrayList<Student> students,
+                      ArrayList<Course> courses,
+                      ArrayList<ClassRoom> classrooms,
+                      ArrayList<Course> attendance,
+                      ArrayList<ValidationError> errors,
+                      Map<String, Duration> timings) {
+
+        public boolean hasErrors() {
+                return !errors.isEmpty();
+        }
+}
@@ -0,0 +1,183 @@
+package IO;
+
+import Core.ClassRoom;
+import Core.Course;
+import Core.Student;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Loads the four input files of a term concurrently.
+ * <p>
+ * Each file is parsed by {@link ImportPipeline} on its own virtual thread, and the attendance lists
+ * are joined into the courses as soon as both of those files are done, so the total load time is
+ * the slowest file rather than the sum of all four.
+ */
+public class DatasetLoader {
+
+        public static final String STUDENTS = "students";
+        public static final String COURSES = "courses";
+        public static final String CLASSROOMS = "classrooms";
+        public static final String ATTENDANCE = "attendance";
+        public static final String MERGE = "merge";
+        public static final String TOTAL = "total";
+
+        /**
+         * The four input files of a term, {@code null} where a file was not found.
+         */
+        public record Sources(Path students, Path courses, Path classrooms, Path attendance) {
+        }
+
+        private record Timed<T>(ImportPipeline.Result<T> result, Duration elapsed) {
+        }
+
+        /**
+         * Loads a term from a directory. Files are recognised by name, the same way the sample
+         * data is named: "...Students...", "...Courses..." (the one "WithTime" wins if both exist),
+         * "...Classrooms..." and "...Attendance...".
+         *
+         * @param directory folder containing the four CSV files
+         * @return loaded dataset; missing files are reported in {@link Dataset#errors()}
+         */
+        public static Dataset load(Path directory) {
+                ArrayList<ValidationError> missing = new ArrayList<>();
+                Sources sources = find(directory, missing);
+
+                Dataset dataset = load(sources.students(), sources.courses(), sources.classrooms(), sources.attendance());
+                dataset.errors().addAll(0, missing);
+                for (ValidationError error : missing) {
+                        ErrorHandler.getInstance().logError(error.kind().name(), error.toMessage());
+                }
+                return dataset;
+        }
+
+        /**
+         * Finds the files of a term in a directory by name, as {@link #load(Path)} does.
+         *
+         * @param errors receives a {@code FILE_NOT_FOUND} error for every missing file; not logged
+         */
+        public static Sources find(Path directory, List<ValidationError> errors) {
+                Path students = null, courses = null, classrooms = null, attendance = null;
+                ArrayList<ValidationError> missing = new ArrayList<>();
+
+                try (Stream<Path> files = Files.list(directory)) {
+                        for (Path file : files.filter(Validator::allowedextensions).sorted().toList()) {
+                                String name = file.getFileName().toString().toLowerCase();
+                                if (name.contains("attendance")) attendance = file;
+                                else if (name.contains("classroom")) classrooms = file;
+                                else if (name.contains("student")) students = file;
+                                else if (name.contains("course")) {
+                                        if (courses == null || name.contains("withtime")) courses = file;
+                                }
+                        }
+                } catch (IOException e) {
+                        missing.add(new ValidationError(directory, 0, 0, ValidationError.Kind.IO_FAILURE, e.getMessage()));
+                }
+
+                if (students == null) missing.add(new ValidationError(directory, 0, 0, ValidationError.Kind.FILE_NOT_FOUND, STUDENTS));
+                if (courses == null) missing.add(new ValidationError(directory, 0, 0, ValidationError.Kind.FILE_NOT_FOUND, COURSES));
+                if (classrooms == null) missing.add(new ValidationError(directory, 0, 0, ValidationError.Kind.FILE_NOT_FOUND, CLASSROOMS));
+                if (attendance == null) missing.add(new ValidationError(directory, 0, 0, ValidationError.Kind.FILE_NOT_FOUND, ATTENDANCE));
+
+                errors.addAll(missing);
+                return new Sources(students, courses, classrooms, attendance);
+        }
+
+        /**
+         * Loads a term from four explicit paths. Any path may be {@code null}, in which case that
+         * part of the dataset is empty.
+         *
+         * @return loaded dataset with per-file timings
+         */
+        public static Dataset load(Path studentsPath, Path coursesPath, Path classroomsPath, Path attendancePath) {
+                long start = System.nanoTime();
+                LinkedHashMap<String, Duration> timings = new LinkedHashMap<>();
+
+                try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                        var students = submit(pool, ImportPipeline::students, studentsPath);
+                        var courses = submit(pool, ImportPipeline::courses, coursesPath);
+                        var classrooms = submit(pool, ImportPipeline::classRooms, classroomsPath);
+                        var attendance = submit(pool, ImportPipeline::attendance, attendancePath);
+
+                        // join as soon as both sides are parsed, while the other files may still be loading
+                        var merge = courses.thenCombine(attendance, (c, a) -> {
+                                long mergeStart = System.nanoTime();
+                                mergeAttendance(c.result().getItems(), a.result().getItems());
+                                return Duration.ofNanos(System.nanoTime() - mergeStart);
+                        });
+
+                        Timed<Student> s = students.join();
+                        Timed<Course> c = courses.join();
+                        Timed<ClassRoom> r = classrooms.join();
+                        Timed<Course> a = attendance.join();
+                        Duration mergeTime = merge.join();
+
+                        timings.put(STUDENTS, s.elapsed());
+                        timings.put(COURSES, c.elapsed());
+                        timings.put(CLASSROOMS, r.elapsed());
+                        timings.put(ATTENDANCE, a.elapsed());
+                        timings.put(MERGE, mergeTime);
+                        timings.put(TOTAL, Duration.ofNanos(System.nanoTime() - start));
+
+                        ArrayList<ValidationError> errors = new ArrayList<>();
+                        errors.addAll(s.result().getErrors());
+                        errors.addAll(c.result().getErrors());
+                        errors.addAll(r.result().getErrors());
+                        errors.addAll(a.result().getErrors());
+                        for (ValidationError error : errors) {
+                                ErrorHandler.getInstance().logError(error.kind().name(), error.toMessage());
+                        }
+
+                        return new Dataset(
+                                s.result().getItems(),
+                                c.result().getItems(),
+                                r.result().getItems(),
+                                a.result().getItems(),
+                                errors,
+                                timings);
+                }
+        }
+
+        /**
+         * Adds the students of every attendance list to the course with the same ID.
+         * Attendance lists for unknown courses are ignored.
+         *
+         * @param courses    courses to fill
+         * @param attendance attendance lists
+         */
+        public static void mergeAttendance(ArrayList<Course> courses, ArrayList<Course> attendance) {
+                HashMap<String, Course> courseMap = new HashMap<>();
+                for (Course c : courses) {
+                        courseMap.put(c.getID(), c);
+                }
+
+                for (Course attCourse : attendance) {
+                        Course mainCourse = courseMap.get(attCourse.getID());
+                        if (mainCourse != null) {
+                                for (String studentID : attCourse.getEnrolledStudentIDs()) {
+                                        mainCourse.addEnrolledStudentID(studentID);
+                                }
+                        }
+                }
+        }
+
+        private static <T> CompletableFuture<Timed<T>> submit(ExecutorService pool, Function<Path, ImportPipeline.Result<T>> parser, Path path) {
+                return CompletableFuture.supplyAsync(() -> {
+                        long start = System.nanoTime();
+                        ImportPipeline.Result<T> result = path == null ? new ImportPipeline.Result<>(null) : parser.apply(path);
+                        return new Timed<>(result, Duration.ofNanos(System.nanoTime() - start));
+                }, pool);
+        }
+}
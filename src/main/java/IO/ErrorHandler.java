@@ -1,63 +1,250 @@
 package IO;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer; // Listener için gerekli import
 
+/**
+ * Uygulama genelindeki hata kayıtları. Birden fazla thread'den aynı anda çağrılabilir.
+ * <p>
+ * <ul>
+ *     <li>Mesajlar sabit kapasiteli, kilitsiz bir halka tampona (ring buffer) yazılır; en eski mesajlar ezilir.</li>
+ *     <li>Aynı mesaj, tamponda durduğu sürece tekrar gelirse saklanmaz, sadece sayacı artar.
+ *     Tampondan düşen mesaj yeniden gelirse tekrar saklanır ve arayüze iletilir.</li>
+ *     <li>Hatalar türlerine göre (mesajın ':' öncesi kısmı veya açıkça verilen tür) sayılır.</li>
+ *     <li>Dinleyiciler ayrı bir thread üzerinde, toplu (batch) olarak çağrılır; loglayan thread beklemez.</li>
+ * </ul>
+ */
 public class ErrorHandler {
 
-    private static ErrorHandler instance;
-    private ArrayList<String> errorMessages;
-    private int errorCount;
+    public static final int DEFAULT_CAPACITY = 1000;
 
-    // Arayüzü güncellemek için kullanılacak fonksiyon (Callback/Listener)
-    private Consumer<String> onErrorCallback;
+    /**
+     * Dinleyicilere toplu gönderim aralığı.
+     */
+    private static final long BATCH_INTERVAL_MS = 100;
+
+    // Lazy, thread-safe singleton (holder idiom)
+    private static final class Holder {
+        private static final ErrorHandler INSTANCE = new ErrorHandler();
+    }
+
+    /**
+     * Kilitsiz halka tampon: yazan thread sıra numarasını atomik olarak alır ve kendi hücresine yazar.
+     */
+    private static final class Ring {
+        final AtomicReferenceArray<String> cells;
+        final AtomicLong head = new AtomicLong();
+
+        Ring(int capacity) {
+            this.cells = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * @return ezilen (tampondan düşen) mesaj, yoksa null
+         */
+        String add(String message) {
+            long seq = head.getAndIncrement();
+            return cells.getAndSet((int) (seq % cells.length()), message);
+        }
+
+        ArrayList<String> snapshot() {
+            long end = head.get();
+            long start = Math.max(0, end - cells.length());
+            ArrayList<String> out = new ArrayList<>((int) (end - start));
+            for (long seq = start; seq < end; seq++) {
+                String message = cells.get((int) (seq % cells.length()));
+                if (message != null) out.add(message);
+            }
+            return out;
+        }
+    }
+
+    private volatile Ring ring;
+    private final LongAdder errorCount = new LongAdder();
+
+    // tampondaki mesaj -> kaç kez geldi (tekrarları elemek için); mesaj tampondan düşünce silinir
+    private final ConcurrentHashMap<String, LongAdder> occurrences = new ConcurrentHashMap<>();
+    // tür -> kaç kez geldi
+    private final ConcurrentHashMap<String, LongAdder> countsByKind = new ConcurrentHashMap<>();
+
+    // Arayüze henüz iletilmemiş mesajlar; dolarsa yeni mesajlar arayüze iletilmez (kayıt yine tutulur)
+    private volatile LinkedBlockingQueue<String> pending;
+    private Thread dispatcher;
+
+    // Arayüzü güncellemek için kullanılacak fonksiyonlar (Callback/Listener)
+    private volatile Consumer<String> onErrorCallback;
+    private volatile Consumer<List<String>> onErrorBatchCallback;
 
     // Private constructor (Singleton için)
     private ErrorHandler() {
-        this.errorMessages = new ArrayList<>();
-        this.errorCount = 0;
+        this.ring = new Ring(DEFAULT_CAPACITY);
+        this.pending = new LinkedBlockingQueue<>(DEFAULT_CAPACITY);
     }
 
     // Global erişim noktası
     public static ErrorHandler getInstance() {
-        if (instance == null) {
-            instance = new ErrorHandler();
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Saklanacak en fazla mesaj sayısını değiştirir. Mevcut mesajlar silinir; arayüze henüz
+     * iletilmemiş olanlar (yeni kapasite kadarı) yine iletilir.
+     *
+     * @param capacity tampon kapasitesi (> 0)
+     */
+    public synchronized void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.ring = new Ring(capacity);
+        this.occurrences.clear();
+        LinkedBlockingQueue<String> old = this.pending;
+        this.pending = new LinkedBlockingQueue<>(capacity);
+        // değiştirdikten sonra aktar: eski kuyruğa son anda yazılanlar da taşınır
+        for (String message; (message = old.poll()) != null; ) {
+            if (!pending.offer(message)) break;
         }
-        return instance;
+    }
+
+    public int getCapacity() {
+        return ring.cells.length();
     }
 
     // Controller'dan buraya abone olmak için kullanılacak metod
     // MainViewController burayı çağırarak "Hata olunca bana haber ver" der.
+    // Not: dinleyici ayrı bir thread'den çağrılır.
     public void setOnErrorListener(Consumer<String> callback) {
         this.onErrorCallback = callback;
+        if (callback != null) startDispatcher();
+    }
+
+    /**
+     * Toplu dinleyici: her {@value #BATCH_INTERVAL_MS} ms'de o ana kadar biriken yeni mesajlar tek seferde iletilir.
+     */
+    public void setOnErrorBatchListener(Consumer<List<String>> callback) {
+        this.onErrorBatchCallback = callback;
+        if (callback != null) startDispatcher();
     }
 
     /**
      * Hatayı kaydeder ve arayüze haber verir.
+     * Tür, mesajın ':' karakterinden önceki kısmıdır.
      * @param message Hata mesajı
      */
     public void logError(String message) {
-        // 1. Hatayı listeye ekle
-        this.errorMessages.add(message);
-        this.errorCount++;
+        logError(kindOf(message), message);
+    }
 
+    /**
+     * Hatayı verilen tür ile kaydeder.
+     * @param kind    Hata türü (gruplama için)
+     * @param message Hata mesajı
+     */
+    public void logError(String kind, String message) {
+        errorCount.increment();
+        countsByKind.computeIfAbsent(kind, k -> new LongAdder()).increment();
+
+        // Aynı mesaj daha önce geldiyse sadece say
+        LongAdder seen = occurrences.get(message);
+        if (seen == null) {
+            seen = occurrences.putIfAbsent(message, new LongAdder());
+        }
+        if (seen != null) {
+            seen.increment();
+            return;
+        }
 
-        // 3. Eğer arayüz dinliyorsa (Listener varsa), ona haber ver
-        if (onErrorCallback != null) {
-            onErrorCallback.accept(message);
+        String evicted = ring.add(message);
+        if (evicted != null) occurrences.remove(evicted);
+        if (onErrorCallback != null || onErrorBatchCallback != null) {
+            pending.offer(message);
         }
     }
 
+    /**
+     * @return toplam hata sayısı (tekrarlar dahil)
+     */
     public int getErrorCount() {
-        return this.errorCount;
+        return (int) Math.min(Integer.MAX_VALUE, errorCount.sum());
     }
 
+    /**
+     * @return saklanan (tekrarsız) son mesajlar, eskiden yeniye; kopya
+     */
     public ArrayList<String> getErrorMessages() {
-        return this.errorMessages;
+        return ring.snapshot();
+    }
+
+    /**
+     * @return tür -> adet, türe göre sıralı; kopya
+     */
+    public Map<String, Long> getCountsByKind() {
+        TreeMap<String, Long> counts = new TreeMap<>();
+        countsByKind.forEach((kind, count) -> counts.put(kind, count.sum()));
+        return counts;
+    }
+
+    /**
+     * @return mesajın tampona girdiğinden beri kaç kez loglandığı, tamponda değilse 0
+     */
+    public long getOccurrences(String message) {
+        LongAdder seen = occurrences.get(message);
+        return seen == null ? 0 : seen.sum() + 1;
+    }
+
+    public synchronized void clear() {
+        this.ring = new Ring(getCapacity());
+        this.pending.clear();
+        this.occurrences.clear();
+        this.countsByKind.clear();
+        this.errorCount.reset();
+    }
+
+    static String kindOf(String message) {
+        int idx = message.indexOf(':');
+        return idx > 0 ? message.substring(0, idx).trim() : message;
     }
 
-    public void clear() {
-        this.errorMessages.clear();
-        this.errorCount = 0;
+    private synchronized void startDispatcher() {
+        if (dispatcher != null) return;
+        dispatcher = Thread.ofPlatform().daemon().name("error-dispatcher").start(this::dispatchLoop);
+    }
+
+    private void dispatchLoop() {
+        ArrayList<String> batch = new ArrayList<>();
+        while (true) {
+            try {
+                LinkedBlockingQueue<String> queue = pending;
+                String first = queue.poll(BATCH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                // biraz bekle ki aynı anda gelenler tek seferde gitsin
+                Thread.sleep(BATCH_INTERVAL_MS);
+                batch.add(first);
+                queue.drainTo(batch);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            Consumer<List<String>> batchCallback = onErrorBatchCallback;
+            Consumer<String> callback = onErrorCallback;
+            try {
+                if (batchCallback != null) batchCallback.accept(List.copyOf(batch));
+                if (callback != null) {
+                    for (String message : batch) callback.accept(message);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error listener failed: " + e.getMessage());
+            }
+            batch.clear();
+        }
     }
-}
\ No newline at end of file
+}
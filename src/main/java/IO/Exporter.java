@@ -2,68 +2,285 @@ package IO;
 
 import Core.ClassRoom;
 import Core.Course;
+import Core.StudentProgramExtractor;
+import Helpers.TimeSlot;
+import Monitoring.ExportEvent;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Set;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
 
 public class Exporter {
 
-    public static void exportSchedule(
+    /**
+     * Exports the schedule as CSV, gzip compressed when the file name ends with {@code .gz}.
+     *
+     * @return true if the file was written completely
+     * @see #exportSchedule(Path, String, HashMap, HashMap, HashMap, boolean)
+     */
+    public static boolean exportSchedule(
             Path filePath,
             String examName,
             HashMap<Course, Integer> schedule,   // Course -> slot
             HashMap<Integer, String[]> slotMap,  // slot -> [date, time]
             HashMap<Course, ClassRoom> roomMap   // Course -> ClassRoom
     ) {
+        return exportSchedule(filePath, examName, schedule, slotMap, roomMap,
+                filePath.getFileName().toString().toLowerCase().endsWith(".gz"));
+    }
 
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath)) {
-
-            // HEADER
-            writer.write("ExamName;CourseID;ClassRoom;Date;StartTime;EndTime;Students");
+    /**
+     * Builds the slot map {@link #exportSchedule} expects from a solved schedule.
+     *
+     * @param schedule Course -> slot
+     * @param slots    time slots the schedule refers to
+     * @return slot -> [date, start time]
+     */
+    public static HashMap<Integer, String[]> slotMap(HashMap<Course, Integer> schedule, List<TimeSlot> slots) {
+        HashMap<Integer, String[]> slotMap = new HashMap<>();
+        for (var entry : schedule.entrySet()) {
+            TimeSlot ts = slots.get(entry.getValue());
+            slotMap.putIfAbsent(entry.getValue(), new String[]{ts.getDate().toString(), ts.getTime().toString()});
+        }
+        return slotMap;
+    }
 
-            writer.newLine();
+    /**
+     * One exported row before it is written; only references, no formatted text.
+     */
+    private record Row(Course course, ClassRoom room, String date, String startTime, String endTime) {
+    }
 
-            for (var entry : schedule.entrySet()) {
-                Course course = entry.getKey();
-                int slot = entry.getValue();
+    private static final Comparator<Row> ROW_ORDER = Comparator
+            .comparing(Row::date)
+            .thenComparing(Row::startTime)
+            .thenComparing(r -> r.room().getName())
+            .thenComparing(r -> r.course().getID());
 
-                String[] dateTime = slotMap.get(slot);
-                if (dateTime == null || dateTime.length < 3) continue;
+    /**
+     * Exports the schedule as CSV rows ordered by date, start time and room.
+     * <p>
+     * The end time of each row is its start plus the course's own duration, since exams of
+     * different lengths share a start slot. Rows are streamed through one buffered writer on a file channel, optionally gzip compressed
+     * on the fly. Each field and roster entry is written as its own token, so no per-row or
+     * per-roster String is ever built.
+     *
+     * @param filePath target file
+     * @param examName value of the first column
+     * @param schedule Course -> slot
+     * @param slotMap  slot -> [date, start time]
+     * @param roomMap  Course -> ClassRoom
+     * @param gzip     compress the output
+     * @return true if the file was written completely; on failure the error is logged and no partial file is left
+     */
+    public static boolean exportSchedule(
+            Path filePath,
+            String examName,
+            HashMap<Course, Integer> schedule,
+            HashMap<Integer, String[]> slotMap,
+            HashMap<Course, ClassRoom> roomMap,
+            boolean gzip
+    ) {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        ArrayList<Row> rows = new ArrayList<>(schedule.size());
+        for (var entry : schedule.entrySet()) {
+            Course course = entry.getKey();
 
-                String date = dateTime[0];
-                String startTime = dateTime[1];
-                String endTime = dateTime[2];
+            String[] dateTime = slotMap.get(entry.getValue());
+            if (dateTime == null || dateTime.length < 2) continue;
 
+            ClassRoom room = roomMap.get(course);
+            if (room == null) continue;
 
-                ClassRoom room = roomMap.get(course);
-                if (room == null) continue;
+            String endTime = LocalTime.parse(dateTime[1]).plusMinutes(course.getDuration()).toString();
+            rows.add(new Row(course, room, dateTime[0], dateTime[1], endTime));
+        }
+        rows.sort(ROW_ORDER);
 
-                // Students
-                Set<String> students = course.getEnrolledStudentIDs();
-                String studentStr = String.join(";", students);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            if (gzip) out = new GZIPOutputStream(out, BUFFER_SIZE);
 
-                writer.write(
-                        examName + ";" +
-                                course.getID() + ";" +
-                                room.getName() + ";" +
-                                date + ";" +
-                                startTime + ";" +
-                                endTime + ";" +
-                                studentStr
-                );
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                // HEADER
+                writer.write("ExamName;CourseID;ClassRoom;Date;StartTime;EndTime;Students");
+                writer.newLine();
 
+                for (Row row : rows) {
+                    writer.write(examName);
+                    writer.write(';');
+                    writer.write(row.course().getID());
+                    writer.write(';');
+                    writer.write(row.room().getName());
+                    writer.write(';');
+                    writer.write(row.date());
+                    writer.write(';');
+                    writer.write(row.startTime());
+                    writer.write(';');
+                    writer.write(row.endTime());
+                    writer.write(';');
 
-                writer.newLine();
+                    // Students
+                    boolean first = true;
+                    for (String studentID : row.course().getEnrolledStudentIDs()) {
+                        if (!first) writer.write(';');
+                        writer.write(studentID);
+                        first = false;
+                    }
+                    writer.newLine();
+                }
             }
 
-            System.out.println("CSV export completed: " + filePath);
+            event.success = true;
 
         } catch (IOException e) {
             ErrorHandler.getInstance().logError("Dosyanın dışa aktarımı başarısız.");
+            try {
+                Files.deleteIfExists(filePath);
+            } catch (IOException ignored) {
+                // the failure is already logged
+            }
+        }
+        commit(event, filePath, ExportEvent.SCHEDULE, gzip, rows.size());
+        return event.success;
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Writes the personal exam program of every student, one row per exam:
+     * {@code StudentID;CourseID;Date;StartTime;EndTime}.
+     * <p>
+     * Students are split into parts that are written in parallel, each part streaming straight to
+     * its own file, so no formatted program is kept in memory. With {@code shards > 1} the parts are
+     * the output ({@code programs_000.csv} ... in {@code target} directory); otherwise one part per
+     * core is written next to {@code target} and then concatenated into it.
+     *
+     * @param target    output file, or output directory when {@code shards > 1}
+     * @param extractor index built from the final schedule
+     * @param shards    number of output files, 1 for a single consolidated file
+     * @return true on success
+     */
+    public static boolean exportStudentPrograms(Path target, StudentProgramExtractor extractor, int shards) {
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        List<String> students = extractor.getStudentIDs();
+        boolean sharded = shards > 1;
+        int parts = sharded ? shards : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), students.size() / 1024 + 1));
+
+        // the row tail only depends on the course, format it once
+        IdentityHashMap<Course, String> rowTails = new IdentityHashMap<>();
+        for (String studentID : students) {
+            for (StudentProgramExtractor.Exam exam : extractor.getExams(studentID)) {
+                rowTails.computeIfAbsent(exam.course(), c -> ";" + c.getID() + ";" + exam.date() + ";" + exam.start() + ";" + exam.end());
+            }
+        }
+
+        ArrayList<Path> partFiles = new ArrayList<>(parts);
+        try {
+            if (sharded) {
+                Files.createDirectories(target);
+                for (int i = 0; i < parts; i++) {
+                    partFiles.add(target.resolve(String.format("programs_%03d.csv", i)));
+                }
+            } else {
+                Path dir = target.toAbsolutePath().getParent();
+                for (int i = 0; i < parts; i++) {
+                    partFiles.add(Files.createTempFile(dir, "programs", ".part"));
+                }
+            }
+
+            IntStream.range(0, parts).parallel().forEach(part -> {
+                int from = (int) ((long) students.size() * part / parts);
+                int to = (int) ((long) students.size() * (part + 1) / parts);
+                try (BufferedWriter writer = Files.newBufferedWriter(partFiles.get(part))) {
+                    if (sharded || part == 0) {
+                        writer.write("StudentID;CourseID;Date;StartTime;EndTime");
+                        writer.newLine();
+                    }
+                    for (int i = from; i < to; i++) {
+                        String studentID = students.get(i);
+                        for (StudentProgramExtractor.Exam exam : extractor.getExams(studentID)) {
+                            writer.write(studentID);
+                            writer.write(rowTails.get(exam.course()));
+                            writer.newLine();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            if (!sharded) {
+                try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    for (Path part : partFiles) {
+                        try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                            long position = 0, size = in.size();
+                            while (position < size) {
+                                position += in.transferTo(position, size - position, out);
+                            }
+                        }
+                    }
+                }
+            }
+            event.success = true;
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            ErrorHandler.getInstance().logError("Öğrenci programlarının dışa aktarımı başarısız: " + e.getMessage());
+            return false;
+        } finally {
+            if (event.shouldCommit()) {
+                long rows = 0;
+                for (String studentID : students) rows += extractor.getExams(studentID).size();
+                commit(event, target, ExportEvent.STUDENT_PROGRAMS, false, rows);
+            }
+            if (!sharded) {
+                for (Path part : partFiles) {
+                    try {
+                        Files.deleteIfExists(part);
+                    } catch (IOException ignored) {
+                        // leftover temp file, nothing else to do
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills and commits an export event if a Flight Recorder recording wants it.
+     * For a directory the size is the total of its files.
+     */
+    private static void commit(ExportEvent event, Path target, String format, boolean gzip, long rows) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.file = target.toString();
+        event.format = format;
+        event.gzip = gzip;
+        event.rows = rows;
+        try (var files = Files.walk(target)) {
+            event.bytes = files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        } catch (IOException | UncheckedIOException ignored) {
+            // nothing written
         }
+        event.commit();
     }
 }
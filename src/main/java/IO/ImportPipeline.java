@@ -0,0 +1,400 @@
+package IO;
+
+import Core.ClassRoom;
+import Core.Course;
+import Core.Student;
+import Monitoring.ImportEvent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single pass import stage.
+ * <p>
+ * Every file is opened exactly once: the first {@link #SNIFF_LINES} lines are buffered to detect
+ * the separator, then the same reader keeps streaming the rest of the file. Fields are validated
+ * and domain objects are built in that one pass, every problem is collected with its line and
+ * column instead of aborting on the first one.
+ * <p>
+ * Gzip compressed inputs ({@code .csv.gz}) are decompressed transparently.
+ * <p>
+ * {@link Importer} and {@link Validator} are thin wrappers around this class.
+ */
+public class ImportPipeline {
+
+        /**
+         * Number of lines buffered up front to sniff the separator.
+         */
+        static final int SNIFF_LINES = 16;
+
+        /**
+         * Returned by {@link #sniffSeparator(List)} when no line contains ',' or ';'.
+         */
+        static final char NO_SEPARATOR = 0;
+
+        /**
+         * Outcome of one import: parsed items, every error found and the detected separator.
+         *
+         * @param <T> domain type produced by the import
+         */
+        public static final class Result<T> {
+                private final Path file;
+                private final ArrayList<T> items = new ArrayList<>();
+                private final ArrayList<ValidationError> errors = new ArrayList<>();
+                private int[] itemLines = new int[16];
+                private char separator = NO_SEPARATOR;
+
+                Result(Path file) {
+                        this.file = file;
+                }
+
+                public Path getFile() {
+                        return file;
+                }
+
+                public ArrayList<T> getItems() {
+                        return items;
+                }
+
+                public ArrayList<ValidationError> getErrors() {
+                        return errors;
+                }
+
+                public boolean hasErrors() {
+                        return !errors.isEmpty();
+                }
+
+                /**
+                 * @return detected separator, or {@code 0} if the file has a single column
+                 */
+                public char getSeparator() {
+                        return separator;
+                }
+
+                /**
+                 * @param index position in {@link #getItems()}
+                 * @return line the item was read from
+                 */
+                public int getLine(int index) {
+                        return itemLines[index];
+                }
+
+                void add(T item, int line) {
+                        if (items.size() == itemLines.length) {
+                                itemLines = Arrays.copyOf(itemLines, itemLines.length * 2);
+                        }
+                        itemLines[items.size()] = line;
+                        items.add(item);
+                }
+
+                void error(int line, int column, ValidationError.Kind kind, String detail) {
+                        errors.add(new ValidationError(file, line, column, kind, detail));
+                }
+        }
+
+        /**
+         * Handles one physical line of the file. Implementations may keep state between calls
+         * (the attendance format spans two lines per course).
+         */
+        private interface LineHandler<T> {
+                void line(String line, int lineNo, char separator, Result<T> out);
+        }
+
+        public static Result<ClassRoom> classRooms(Path filePath) {
+                ArrayList<String> fields = new ArrayList<>();
+                return run(filePath, "classrooms", true, (line, lineNo, sep, out) -> {
+                        if (line.isBlank()) return;
+                        splitFields(line, sep, fields);
+                        if (fields.size() < 2) {
+                                out.error(lineNo, 2, ValidationError.Kind.MISSING_COLUMN, "");
+                                return;
+                        }
+                        if (!checkFields(fields, lineNo, out)) return;
+
+                        String name = fields.get(0).trim();
+                        String capacity = fields.get(1).trim();
+                        try {
+                                out.add(new ClassRoom(name, Integer.parseInt(capacity)), lineNo);
+                        } catch (NumberFormatException e) {
+                                out.error(lineNo, 2, ValidationError.Kind.INVALID_NUMBER, capacity);
+                        }
+                });
+        }
+
+        public static Result<Student> students(Path filePath) {
+                return run(filePath, "students", true, (line, lineNo, sep, out) -> {
+                        String id = line.trim();
+                        if (id.isEmpty()) return;
+                        if (isNull(id)) {
+                                out.error(lineNo, 1, ValidationError.Kind.NULL_VALUE, id);
+                                return;
+                        }
+                        out.add(new Student(id), lineNo);
+                });
+        }
+
+        /**
+         * Courses come either as a bare list of IDs (every exam lasts 90 minutes) or as
+         * {@code ID<sep>duration} rows where an empty duration also falls back to 90.
+         */
+        public static Result<Course> courses(Path filePath) {
+                ArrayList<String> fields = new ArrayList<>();
+                return run(filePath, "courses", true, (line, lineNo, sep, out) -> {
+                        if (line.isBlank()) return;
+                        splitFields(line, sep, fields);
+
+                        String id = fields.get(0).trim();
+                        if (id.isEmpty() || isNull(id)) {
+                                out.error(lineNo, 1, id.isEmpty() ? ValidationError.Kind.EMPTY_VALUE : ValidationError.Kind.NULL_VALUE, id);
+                                return;
+                        }
+
+                        int duration = 90;
+                        String durationText = fields.size() > 1 ? fields.get(1).trim() : "";
+                        if (isNull(durationText)) {
+                                out.error(lineNo, 2, ValidationError.Kind.NULL_VALUE, durationText);
+                                return;
+                        }
+                        if (!durationText.isEmpty()) {
+                                try {
+                                        duration = Integer.parseInt(durationText);
+                                } catch (NumberFormatException e) {
+                                        out.error(lineNo, 2, ValidationError.Kind.INVALID_NUMBER, durationText);
+                                        return;
+                                }
+                        }
+                        out.add(new Course(id, duration), lineNo);
+                });
+        }
+
+        /**
+         * Attendance files alternate a course ID line with a student list line such as
+         * {@code ['Std_ID_001', 'Std_ID_002']}. There is no header.
+         */
+        public static Result<Course> attendance(Path filePath) {
+                ArrayList<String> fields = new ArrayList<>();
+                String[] currentCourseID = {null}; // Holds the ID until the list is found
+                return run(filePath, "attendance", false, (line, lineNo, sep, out) -> {
+                        line = line.trim();
+                        if (line.isEmpty()) return; // Skip blank lines to prevent desync
+
+                        // If line has brackets '[' or the separator, it's a Student List.
+                        // Otherwise, it is a Course ID.
+                        boolean isStudentList = line.indexOf('[') >= 0 || (sep != NO_SEPARATOR && line.indexOf(sep) >= 0);
+                        if (!isStudentList) {
+                                currentCourseID[0] = line;
+                                return;
+                        }
+                        if (currentCourseID[0] == null) {
+                                out.error(lineNo, 1, ValidationError.Kind.ORPHAN_LIST, "");
+                                return;
+                        }
+
+                        Course course = new Course(currentCourseID[0], 90);
+                        splitFields(line, sep, fields);
+                        // "[]" is an empty list, not an empty value
+                        boolean single = fields.size() == 1;
+                        for (int i = 0; i < fields.size(); i++) {
+                                String id = stripListToken(fields.get(i));
+                                if (id.isEmpty()) {
+                                        if (!single) out.error(lineNo, i + 1, ValidationError.Kind.EMPTY_VALUE, "");
+                                        continue;
+                                }
+                                course.addEnrolledStudentID(id);
+                        }
+                        out.add(course, lineNo);
+                });
+        }
+
+        /**
+         * Generic validation of any delimited file: every cell of every line (header included)
+         * must be non-empty and not the literal {@code null}.
+         *
+         * @param filePath  file to check
+         * @param maxErrors stop scanning after this many errors
+         * @return result without items, only errors and the detected separator
+         */
+        public static Result<Void> validate(Path filePath, int maxErrors) {
+                ArrayList<String> fields = new ArrayList<>();
+                return run(filePath, "validate", false, (line, lineNo, sep, out) -> {
+                        if (out.errors.size() >= maxErrors || line.isBlank()) return;
+                        splitFields(line, sep, fields);
+                        for (int i = 0; i < fields.size() && out.errors.size() < maxErrors; i++) {
+                                String val = fields.get(i).trim();
+                                if (val.isEmpty()) out.error(lineNo, i + 1, ValidationError.Kind.EMPTY_VALUE, "");
+                                else if (isNull(val)) out.error(lineNo, i + 1, ValidationError.Kind.NULL_VALUE, val);
+                        }
+                });
+        }
+
+        /**
+         * Cheap metadata checks that do not open the file.
+         *
+         * @return true if the file can be read
+         */
+        static boolean checkFile(Path filePath, List<ValidationError> errors) {
+                ValidationError.Kind kind = null;
+                if (Files.notExists(filePath)) kind = ValidationError.Kind.FILE_NOT_FOUND;
+                else if (!Files.isReadable(filePath)) kind = ValidationError.Kind.UNREADABLE;
+                else if (!Files.isRegularFile(filePath)) kind = ValidationError.Kind.NOT_REGULAR_FILE;
+                else if (!Validator.allowedextensions(filePath)) kind = ValidationError.Kind.UNSUPPORTED_EXTENSION;
+
+                if (kind == null) return true;
+                errors.add(new ValidationError(filePath, 0, 0, kind, ""));
+                return false;
+        }
+
+        /**
+         * Parses one file line by line and reports it as an {@link ImportEvent} to Flight Recorder.
+         *
+         * @param format file kind, only used for the event
+         */
+        private static <T> Result<T> run(Path filePath, String format, boolean skipHeader, LineHandler<T> handler) {
+                ImportEvent event = new ImportEvent();
+                event.begin();
+                Result<T> result = new Result<>(filePath);
+                int lineNo = 0;
+                if (checkFile(filePath, result.errors)) {
+                        try (BufferedReader reader = openReader(filePath)) {
+                                lineNo = parse(reader, skipHeader, handler, result);
+                        } catch (IOException | RuntimeException e) {
+                                result.error(0, 0, ValidationError.Kind.IO_FAILURE, e.getMessage());
+                        }
+                }
+
+                event.end();
+                if (event.shouldCommit()) {
+                        event.file = String.valueOf(filePath);
+                        event.format = format;
+                        event.gzip = isGzip(filePath);
+                        try {
+                                event.bytes = Files.size(filePath);
+                        } catch (IOException ignored) {
+                                // missing file, already reported
+                        }
+                        event.lines = lineNo;
+                        event.items = result.items.size();
+                        event.errors = result.errors.size();
+                        event.commit();
+                }
+                return result;
+        }
+
+        /**
+         * @return number of lines read
+         */
+        private static <T> int parse(BufferedReader reader, boolean skipHeader, LineHandler<T> handler, Result<T> result) throws IOException {
+                int lineNo = 0;
+                if (skipHeader) {
+                        if (reader.readLine() == null) return lineNo;
+                        lineNo++;
+                }
+
+                ArrayList<String> head = new ArrayList<>(SNIFF_LINES);
+                String line;
+                while (head.size() < SNIFF_LINES && (line = reader.readLine()) != null) {
+                        head.add(line);
+                }
+                char separator = sniffSeparator(head);
+                result.separator = separator;
+
+                for (String buffered : head) {
+                        handler.line(buffered, ++lineNo, separator, result);
+                }
+                while ((line = reader.readLine()) != null) {
+                        handler.line(line, ++lineNo, separator, result);
+                }
+                return lineNo;
+        }
+
+        /**
+         * Opens a file for reading. {@code .gz} files are inflated on a separate thread
+         * (see {@link AsyncGzipInputStream}) while the caller parses.
+         */
+        static BufferedReader openReader(Path filePath) throws IOException {
+                if (isGzip(filePath)) {
+                        InputStream inflated = new AsyncGzipInputStream(Files.newInputStream(filePath));
+                        return new BufferedReader(new InputStreamReader(inflated, StandardCharsets.UTF_8), AsyncGzipInputStream.CHUNK_SIZE);
+                }
+                return Files.newBufferedReader(filePath);
+        }
+
+        static boolean isGzip(Path filePath) {
+                return filePath.getFileName().toString().toLowerCase().endsWith(".gz");
+        }
+
+        /**
+         * Picks the separator from the first line that contains ',' or ';'.
+         *
+         * @param lines first lines of the file
+         * @return ',' or ';', or {@link #NO_SEPARATOR} for single column files
+         */
+        static char sniffSeparator(List<String> lines) {
+                for (String line : lines) {
+                        if (line.indexOf(',') >= 0) return ',';
+                        if (line.indexOf(';') >= 0) return ';';
+                }
+                return NO_SEPARATOR;
+        }
+
+        /**
+         * Splits {@code line} on a literal separator without going through the regex engine.
+         * Trailing empty fields are kept.
+         */
+        static void splitFields(String line, char separator, ArrayList<String> out) {
+                out.clear();
+                if (separator == NO_SEPARATOR) {
+                        out.add(line);
+                        return;
+                }
+                int start = 0;
+                int idx;
+                while ((idx = line.indexOf(separator, start)) >= 0) {
+                        out.add(line.substring(start, idx));
+                        start = idx + 1;
+                }
+                out.add(line.substring(start));
+        }
+
+        static boolean isNull(String trimmed) {
+                return "null".equalsIgnoreCase(trimmed);
+        }
+
+        /**
+         * Removes list decoration ({@code [ ] ' "} and blanks) around a student ID.
+         */
+        static String stripListToken(String token) {
+                int start = 0;
+                int end = token.length();
+                while (start < end && isListDecoration(token.charAt(start))) start++;
+                while (end > start && isListDecoration(token.charAt(end - 1))) end--;
+                return token.substring(start, end);
+        }
+
+        private static boolean isListDecoration(char c) {
+                return c == '[' || c == ']' || c == '\'' || c == '"' || Character.isWhitespace(c);
+        }
+
+        private static boolean checkFields(ArrayList<String> fields, int lineNo, Result<?> out) {
+                boolean ok = true;
+                for (int i = 0; i < fields.size(); i++) {
+                        String val = fields.get(i).trim();
+                        if (val.isEmpty()) {
+                                out.error(lineNo, i + 1, ValidationError.Kind.EMPTY_VALUE, "");
+                                ok = false;
+                        } else if (isNull(val)) {
+                                out.error(lineNo, i + 1, ValidationError.Kind.NULL_VALUE, val);
+                                ok = false;
+                        }
+                }
+                return ok;
+        }
+}
@@ -2,181 +2,73 @@ package IO;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 
 import Core.ClassRoom;
 import Core.Course;
 import Core.Student;
 
 
+/**
+ * Reads the four input files. Parsing is done by {@link ImportPipeline} in a single pass per file;
+ * every problem found on the way is forwarded to the {@link ErrorHandler} and the valid rows are returned.
+ */
 public class Importer {
         public static ArrayList<ClassRoom> importClassRooms(Path filePath) {
-                ArrayList<ClassRoom> classRooms = new ArrayList<>();
-                String separator = new Importer().detectSeparator(filePath);
-
-                try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-                        reader.readLine(); // Skip header line
-                        String line;
-                        while ((line = reader.readLine()) != null) {
-                                String[] parts = line.split(separator);
-                                if (parts.length >= 2) {
-                                        String name = parts[0].trim();
-                                        int capacity = Integer.parseInt(parts[1].trim());
-                                        ClassRoom classRoom = new ClassRoom(name, capacity);
-                                        classRooms.add(classRoom);
-                                }
-                        }
-                } catch (Exception e) {
-                        ErrorHandler.getInstance().logError("Sınıflar dosyasını içe aktarırken okuma hatası.");
-                }
-                return classRooms;
+                return report(ImportPipeline.classRooms(filePath));
         }
 
 
         public static ArrayList<Student> importStudents(Path filePath) {
-                ArrayList<Student> students = new ArrayList<>();
-                try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-                        reader.readLine(); // Skip header line
-                        String line;
-                        while ((line = reader.readLine()) != null) {
-                                line = line.trim();
-                                if (!line.isEmpty()) {
-
-
-                                        Student student = new Student(line);
-                                        students.add(student);
-                                }
-                        }
-                } catch (IOException e) {
-                        ErrorHandler.getInstance().logError("Öğrenciler dosyasını içe aktarırken okuma hatası.");
-                }
-                return students;
+                return report(ImportPipeline.students(filePath));
         }
 
         public static ArrayList<Course> importCourses(Path filePath) {
-                String separator = new Importer().detectSeparator(filePath);
-                if (separator.equals("+")) {
-                        ArrayList<Course> courses = new ArrayList<>();
-                        try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-                                reader.readLine(); // Skip header line
-                                String line;
-                                while ((line = reader.readLine()) != null) {
-                                        line = line.trim();
-                                        if (!line.isEmpty()) {
-
-
-                                                Course course = new Course(line, 90);
-                                                courses.add(course);
-
-                                        }
-                                }
-
-                        } catch (IOException e) {
-                                ErrorHandler.getInstance().logError("Dersler dosyasını içe aktarırken okuma hatası.");
-                        }
-                        return courses;
-
-                }//if
-
-                else {
-                        ArrayList<Course> courses = new ArrayList<>();
-                        if (separator.equals(",")) {
-
-                                try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-                                        reader.readLine(); // Skip header line
-                                        String line;
-                                        while ((line = reader.readLine()) != null) {
-                                                String[] parts = line.split(separator);
-                                                if (parts.length >= 1) {
-                                                        String id = parts[0].trim();
-                                                        int duration = parts[1].trim().isEmpty() ? 90 : Integer.parseInt(parts[1].trim());
-                                                        Course course = new Course(id, duration);
-                                                        courses.add(course);
-                                                }
-
-                                        }
-
-
-                                } catch (IOException e) {
-                                        ErrorHandler.getInstance().logError("Dersler dosyasını içe aktarırken okuma hatası.");
-                                }
-
-
-                        }
-                        return courses;
-                }
+                return report(ImportPipeline.courses(filePath));
         }
 
         public static ArrayList<Course> importAttandenceLists(Path filePath) {
-                ArrayList<Course> courses = new ArrayList<>();
-                String separator = new Importer().detectSeparator(filePath);
-
-                try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-                        // reader.readLine(); // Skip header line no header present
-
-                        String line;
-                        String currentCourseID = null; // Holds the ID until the list is found
+                return report(ImportPipeline.attendance(filePath));
+        }
 
+        /**
+         * Reads the start of every exam back from a schedule written by {@link Exporter#exportSchedule},
+         * e.g. to repair a published schedule with {@link Core.Scheduler#repair_schedule}.
+         *
+         * @return start by course ID in file order, empty if the file cannot be read
+         */
+        public static LinkedHashMap<String, LocalDateTime> importSchedule(Path filePath) {
+                LinkedHashMap<String, LocalDateTime> starts = new LinkedHashMap<>();
+                try (BufferedReader reader = ImportPipeline.openReader(filePath)) {
+                        String line = reader.readLine(); // ExamName;CourseID;ClassRoom;Date;StartTime;EndTime;Students
+                        int lineNo = 1;
                         while ((line = reader.readLine()) != null) {
-                                line = line.trim();
-                                if (line.isEmpty()) continue; // CRITICAL FIX: Skip blank lines to prevent desync
-
-                                // DECISION LOGIC:
-                                // If line has brackets '[' or the separator, it's a Student List.
-                                // Otherwise, it is a Course ID.
-                                boolean isStudentList = line.contains("[") || line.contains(separator);
-
-                                if (isStudentList) {
-                                        // --- Process Student List ---
-                                        if (currentCourseID == null) {
-                                                continue;
-                                        }
-
-                                        // Clean the string
-                                        String cleanLine = line.replace("[", "").replace("]", "").replace("'", "");
-
-                                        Course course = new Course(currentCourseID, 90);
-
-                                        // Only split if there is content (handles "[]" empty lists)
-                                        if (!cleanLine.isBlank()) {
-                                                String[] studentIDs = cleanLine.split(separator);
-                                                for (String id : studentIDs) {
-                                                        course.addEnrolledStudentID(id.trim());
-                                                }
-                                        }
-                                        courses.add(course);
-                                } else {
-                                        // --- Process Course ID ---
-                                        // If it's not a list, it must be the ID for the next batch
-                                        currentCourseID = line;
+                                lineNo++;
+                                if (line.isBlank()) continue;
+                                String[] cols = line.split(";", 6);
+                                try {
+                                        if (cols.length < 5) throw new DateTimeParseException("missing columns", line, 0);
+                                        starts.put(cols[1].trim(), LocalDateTime.of(LocalDate.parse(cols[3].trim()), LocalTime.parse(cols[4].trim())));
+                                } catch (DateTimeParseException e) {
+                                        ErrorHandler.getInstance().logError("Geçersiz program satırı: " + filePath + " satır " + lineNo);
                                 }
-
                         }
-
                 } catch (IOException e) {
-                        ErrorHandler.getInstance().logError("Katılım dosyasını içe aktarırken okuma hatası.");
+                        ErrorHandler.getInstance().logError("Program dosyası okunamadı: " + filePath + " - " + e.getMessage());
                 }
-                return courses;
+                return starts;
         }
 
-
-        private String detectSeparator(Path filePath) {
-                try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-                        String line;
-                        reader.readLine(); // Skip header line
-                        while ((line = reader.readLine()) != null) {
-                                if (line.trim().isEmpty()) continue;
-                                if (line.contains(",")) return ",";
-                                if (line.contains(";")) return ";";
-                                else {
-                                        return "+";
-                                }
-                        }
-                } catch (IOException e) {
-                        ErrorHandler.getInstance().logError("Dosyayı içe aktarırken ayırıcı belirlenemedi.");
+        private static <T> ArrayList<T> report(ImportPipeline.Result<T> result) {
+                for (ValidationError error : result.getErrors()) {
+                        ErrorHandler.getInstance().logError(error.kind().name(), error.toMessage());
                 }
-                return ","; // Default fallback
+                return result.getItems();
         }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package IO;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Minimal writer for flat JSON objects, enough for statistics and status documents.
+ * Keys keep their insertion order.
+ */
+public final class Json {
+
+        private final StringBuilder out = new StringBuilder("{");
+        private boolean empty = true;
+
+        private Json() {
+        }
+
+        public static Json object() {
+                return new Json();
+        }
+
+        public Json put(String key, String value) {
+                return raw(key, value == null ? "null" : quote(value));
+        }
+
+        public Json put(String key, long value) {
+                return raw(key, Long.toString(value));
+        }
+
+        public Json put(String key, double value) {
+                return raw(key, Double.isFinite(value) ? Double.toString(value) : "null");
+        }
+
+        public Json put(String key, boolean value) {
+                return raw(key, Boolean.toString(value));
+        }
+
+        public Json put(String key, Json value) {
+                return raw(key, value.toString());
+        }
+
+        /**
+         * Array of numbers or strings; other elements are written as their quoted {@code toString()}.
+         */
+        public Json put(String key, Collection<?> values) {
+                StringBuilder array = new StringBuilder("[");
+                for (Object value : values) {
+                        if (array.length() > 1) array.append(',');
+                        array.append(value instanceof Number ? value.toString() : quote(String.valueOf(value)));
+                }
+                return raw(key, array.append(']').toString());
+        }
+
+        /**
+         * Object with the map's entries; numbers stay numbers, everything else becomes a string.
+         */
+        public Json put(String key, Map<?, ?> values) {
+                Json object = object();
+                for (var entry : values.entrySet()) {
+                        String k = String.valueOf(entry.getKey());
+                        Object v = entry.getValue();
+                        object.raw(k, v instanceof Number ? v.toString() : quote(String.valueOf(v)));
+                }
+                return raw(key, object.toString());
+        }
+
+        /**
+         * Adds an already encoded JSON value.
+         */
+        public Json raw(String key, String json) {
+                if (!empty) out.append(',');
+                empty = false;
+                out.append(quote(key)).append(':').append(json);
+                return this;
+        }
+
+        @Override
+        public String toString() {
+                return out + "}";
+        }
+
+        public static String quote(String text) {
+                StringBuilder sb = new StringBuilder(text.length() + 2).append('"');
+                for (int i = 0; i < text.length(); i++) {
+                        char c = text.charAt(i);
+                        switch (c) {
+                                case '"' -> sb.append("\\\"");
+                                case '\\' -> sb.append("\\\\");
+                                case '\n' -> sb.append("\\n");
+                                case '\r' -> sb.append("\\r");
+                                case '\t' -> sb.append("\\t");
+                                default -> {
+                                        if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                                        else sb.append(c);
+                                }
+                        }
+                }
+                return sb.append('"').toString();
+        }
+}
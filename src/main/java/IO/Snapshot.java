@@ -0,0 +1,291 @@
+package IO;
+
+import Core.ClassRoom;
+import Core.Course;
+import Core.Student;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of a loaded term, so the CSVs do not have to be parsed and the conflict graph
+ * does not have to be rebuilt every time the application starts.
+ * <p>
+ * Layout (big endian):
+ * <pre>
+ *   header   : magic "SE302SNP" | int version | int flags | long payload length | long CRC32 of payload
+ *   payload  : student dictionary  int count, int listed, count x string
+ *              rooms               int count, count x (string name, int capacity)
+ *              courses             int count, count x (string id, int duration, int n, n x student index)
+ *              conflict graph      (only if flags has GRAPH) int[count + 1] offsets, int edges, int[edges] neighbours
+ *   string   : int byte length, UTF-8 bytes
+ * </pre>
+ * Student IDs are stored once and rosters refer to them by index, so a loaded snapshot shares one
+ * String instance per student across all rosters. Loading memory-maps the file.
+ */
+public class Snapshot {
+
+        public static final int VERSION = 1;
+
+        private static final byte[] MAGIC = "SE302SNP".getBytes(StandardCharsets.US_ASCII);
+        private static final int HEADER_SIZE = MAGIC.length + 4 + 4 + 8 + 8;
+        private static final int FLAG_GRAPH = 1;
+
+        /**
+         * What a snapshot holds.
+         *
+         * @param dataset       students, courses (with rosters), classrooms; attendance lists are rebuilt from the rosters
+         * @param conflictGraph conflict graph over {@code dataset.courses()}, or {@code null} if none was saved
+         */
+        public record Contents(Dataset dataset, HashMap<Course, ArrayList<Course>> conflictGraph) {
+        }
+
+        /**
+         * Writes a snapshot to a temporary file next to the target and moves it over the target, so a
+         * failed or interrupted save leaves an earlier snapshot as it was.
+         *
+         * @param filePath      target file, replaced
+         * @param dataset       data to store; course rosters must already be merged
+         * @param conflictGraph graph to store with it, may be {@code null}
+         * @return true on success
+         */
+        public static boolean save(Path filePath, Dataset dataset, HashMap<Course, ArrayList<Course>> conflictGraph) {
+                ArrayList<Course> courses = dataset.courses();
+
+                // dictionary: listed students first, then anyone only found in a roster
+                LinkedHashMap<String, Integer> dictionary = new LinkedHashMap<>();
+                for (Student s : dataset.students()) {
+                        dictionary.putIfAbsent(s.ID(), dictionary.size());
+                }
+                int listed = dictionary.size();
+                for (Course c : courses) {
+                        for (String id : c.getEnrolledStudentIDs()) {
+                                dictionary.putIfAbsent(id, dictionary.size());
+                        }
+                }
+
+                Path target = filePath.toAbsolutePath();
+                Path tmp = null;
+                try {
+                        tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+                        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                                channel.position(HEADER_SIZE);
+
+                                CRC32 crc = new CRC32();
+                                CheckedOutputStream checked = new CheckedOutputStream(Channels.newOutputStream(channel), crc);
+                                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+
+                                out.writeInt(dictionary.size());
+                                out.writeInt(listed);
+                                for (String id : dictionary.keySet()) {
+                                        writeString(out, id);
+                                }
+
+                                out.writeInt(dataset.classrooms().size());
+                                for (ClassRoom room : dataset.classrooms()) {
+                                        writeString(out, room.getName());
+                                        out.writeInt(room.getCapacity());
+                                }
+
+                                out.writeInt(courses.size());
+                                for (Course c : courses) {
+                                        writeString(out, c.getID());
+                                        out.writeInt(c.getDuration());
+                                        out.writeInt(c.getEnrolledStudentIDs().size());
+                                        for (String id : c.getEnrolledStudentIDs()) {
+                                                out.writeInt(dictionary.get(id));
+                                        }
+                                }
+
+                                int flags = 0;
+                                if (conflictGraph != null) {
+                                        flags |= FLAG_GRAPH;
+                                        writeGraph(out, courses, conflictGraph);
+                                }
+                                out.flush();
+
+                                long payloadLength = channel.position() - HEADER_SIZE;
+                                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                                header.put(MAGIC).putInt(VERSION).putInt(flags).putLong(payloadLength).putLong(crc.getValue());
+                                header.flip();
+                                channel.write(header, 0);
+                                channel.force(true);
+                        }
+                        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                        return true;
+                } catch (IOException e) {
+                        ErrorHandler.getInstance().logError("Snapshot kaydedilemedi: " + filePath + " - " + e.getMessage());
+                        return false;
+                } finally {
+                        if (tmp != null) {
+                                try {
+                                        Files.deleteIfExists(tmp);
+                                } catch (IOException ignored) {
+                                        // only a leftover .part file
+                                }
+                        }
+                }
+        }
+
+        /**
+         * Reads a snapshot written by {@link #save}.
+         *
+         * @param filePath snapshot file
+         * @return contents, or {@code null} if the file is missing, corrupt or of another version
+         */
+        public static Contents load(Path filePath) {
+                long start = System.nanoTime();
+                try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+                        if (channel.size() < HEADER_SIZE) {
+                                ErrorHandler.getInstance().logError("Geçersiz snapshot dosyası: " + filePath);
+                                return null;
+                        }
+                        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+                        byte[] magic = new byte[MAGIC.length];
+                        buf.get(magic);
+                        int version = buf.getInt();
+                        int flags = buf.getInt();
+                        long payloadLength = buf.getLong();
+                        long checksum = buf.getLong();
+                        if (!java.util.Arrays.equals(magic, MAGIC) || payloadLength != channel.size() - HEADER_SIZE) {
+                                ErrorHandler.getInstance().logError("Geçersiz snapshot dosyası: " + filePath);
+                                return null;
+                        }
+                        if (version != VERSION) {
+                                ErrorHandler.getInstance().logError("Desteklenmeyen snapshot sürümü (" + version + "): " + filePath);
+                                return null;
+                        }
+
+                        CRC32 crc = new CRC32();
+                        crc.update(buf.slice(HEADER_SIZE, (int) payloadLength));
+                        if (crc.getValue() != checksum) {
+                                ErrorHandler.getInstance().logError("Snapshot sağlama toplamı hatalı: " + filePath);
+                                return null;
+                        }
+
+                        int dictSize = buf.getInt();
+                        int listed = buf.getInt();
+                        String[] dictionary = new String[dictSize];
+                        ArrayList<Student> students = new ArrayList<>(listed);
+                        for (int i = 0; i < dictSize; i++) {
+                                dictionary[i] = readString(buf);
+                                if (i < listed) students.add(new Student(dictionary[i]));
+                        }
+
+                        int roomCount = buf.getInt();
+                        ArrayList<ClassRoom> classrooms = new ArrayList<>(roomCount);
+                        for (int i = 0; i < roomCount; i++) {
+                                String name = readString(buf);
+                                classrooms.add(new ClassRoom(name, buf.getInt()));
+                        }
+
+                        int courseCount = buf.getInt();
+                        ArrayList<Course> courses = new ArrayList<>(courseCount);
+                        ArrayList<Course> attendance = new ArrayList<>(courseCount);
+                        for (int i = 0; i < courseCount; i++) {
+                                String id = readString(buf);
+                                Course course = new Course(id, buf.getInt());
+                                Course list = new Course(id, 90);
+                                int n = buf.getInt();
+                                for (int k = 0; k < n; k++) {
+                                        String studentID = dictionary[buf.getInt()];
+                                        course.addEnrolledStudentID(studentID);
+                                        list.addEnrolledStudentID(studentID);
+                                }
+                                courses.add(course);
+                                attendance.add(list);
+                        }
+
+                        HashMap<Course, ArrayList<Course>> graph = null;
+                        if ((flags & FLAG_GRAPH) != 0) {
+                                graph = readGraph(buf, courses);
+                        }
+
+                        LinkedHashMap<String, Duration> timings = new LinkedHashMap<>();
+                        timings.put(DatasetLoader.TOTAL, Duration.ofNanos(System.nanoTime() - start));
+                        Dataset dataset = new Dataset(students, courses, classrooms, attendance, new ArrayList<>(), timings);
+                        return new Contents(dataset, graph);
+                } catch (IOException | RuntimeException e) {
+                        ErrorHandler.getInstance().logError("Snapshot okunamadı: " + filePath + " - " + e.getMessage());
+                        return null;
+                }
+        }
+
+        /**
+         * Stores the adjacency list in compressed sparse row form, neighbours referenced by course index.
+         */
+        private static void writeGraph(DataOutputStream out, ArrayList<Course> courses, HashMap<Course, ArrayList<Course>> graph) throws IOException {
+                HashMap<Course, Integer> index = new HashMap<>();
+                for (int i = 0; i < courses.size(); i++) {
+                        index.put(courses.get(i), i);
+                }
+
+                int offset = 0;
+                out.writeInt(0);
+                for (Course c : courses) {
+                        for (Course neighbor : graph.getOrDefault(c, new ArrayList<>())) {
+                                if (index.containsKey(neighbor)) offset++;
+                        }
+                        out.writeInt(offset);
+                }
+                out.writeInt(offset);
+                for (Course c : courses) {
+                        for (Course neighbor : graph.getOrDefault(c, new ArrayList<>())) {
+                                Integer j = index.get(neighbor);
+                                if (j != null) out.writeInt(j);
+                        }
+                }
+        }
+
+        private static HashMap<Course, ArrayList<Course>> readGraph(ByteBuffer buf, ArrayList<Course> courses) {
+                int n = courses.size();
+                int[] offsets = new int[n + 1];
+                for (int i = 0; i <= n; i++) {
+                        offsets[i] = buf.getInt();
+                }
+                int edges = buf.getInt();
+                int[] neighbors = new int[edges];
+                buf.asIntBuffer().get(neighbors);
+                buf.position(buf.position() + edges * Integer.BYTES);
+
+                HashMap<Course, ArrayList<Course>> graph = new HashMap<>();
+                for (int i = 0; i < n; i++) {
+                        ArrayList<Course> adj = new ArrayList<>(offsets[i + 1] - offsets[i]);
+                        for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                                adj.add(courses.get(neighbors[k]));
+                        }
+                        graph.put(courses.get(i), adj);
+                }
+                return graph;
+        }
+
+        private static void writeString(DataOutputStream out, String s) throws IOException {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+        }
+
+        private static String readString(ByteBuffer buf) {
+                int length = buf.getInt();
+                String s = StandardCharsets.UTF_8.decode(buf.slice(buf.position(), length)).toString();
+                buf.position(buf.position() + length);
+                return s;
+        }
+}
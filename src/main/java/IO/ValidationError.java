@@ -0,0 +1,59 @@
+package IO;
+
+import java.nio.file.Path;
+
+/**
+ * A single problem found while reading an input file.
+ * Line and column numbers are 1-based; 0 means "not tied to a position"
+ * (e.g. a missing file).
+ *
+ * @param file   file the problem was found in
+ * @param line   1-based line number, 0 if not applicable
+ * @param column 1-based column number, 0 if not applicable
+ * @param kind   category of the problem
+ * @param detail offending value or extra information, may be empty
+ */
+public record ValidationError(Path file, int line, int column, Kind kind, String detail) {
+
+        public enum Kind {
+                FILE_NOT_FOUND,
+                UNREADABLE,
+                NOT_REGULAR_FILE,
+                UNSUPPORTED_EXTENSION,
+                IO_FAILURE,
+                EMPTY_VALUE,
+                NULL_VALUE,
+                INVALID_NUMBER,
+                MISSING_COLUMN,
+                ORPHAN_LIST,
+                UNKNOWN_COURSE,
+                UNKNOWN_STUDENT,
+                DUPLICATE_ROOM
+        }
+
+        /**
+         * Formats the error the same way the validator has always reported it to the user.
+         *
+         * @return user facing message
+         */
+        public String toMessage() {
+                String position = line > 0
+                        ? ", " + line + ". satır" + (column > 0 ? ", " + column + ". sütun." : ".")
+                        : "";
+                String suffix = detail == null || detail.isEmpty() ? "" : " - " + detail;
+                return switch (kind) {
+                        case FILE_NOT_FOUND -> "Dosya bulunamadı: " + file + suffix;
+                        case UNREADABLE -> "Dosya okunamadı: " + file;
+                        case NOT_REGULAR_FILE -> "Normal olmayan dosya: " + file;
+                        case UNSUPPORTED_EXTENSION -> "Desteklenmeyen dosya uzantısı: " + file;
+                        case IO_FAILURE -> "Dosya ayrıştırılamadı: " + file + suffix;
+                        case EMPTY_VALUE, NULL_VALUE -> "Boş veya geçersiz(null) değer: " + file + position;
+                        case INVALID_NUMBER -> "Geçersiz sayı: " + file + position + suffix;
+                        case MISSING_COLUMN -> "Eksik sütun: " + file + position;
+                        case ORPHAN_LIST -> "Ders kodu olmayan katılım listesi: " + file + position;
+                        case UNKNOWN_COURSE -> "Ders listesinde olmayan ders: " + file + position + suffix;
+                        case UNKNOWN_STUDENT -> "Öğrenci listesinde olmayan öğrenci: " + file + position + suffix;
+                        case DUPLICATE_ROOM -> "Tekrarlanan sınıf: " + file + position + suffix;
+                };
+        }
+}
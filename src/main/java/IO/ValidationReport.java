@@ -0,0 +1,83 @@
+package IO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Every problem found by a collect-all validation run, capped at a fixed number of entries.
+ * Safe to fill from several threads.
+ */
+public class ValidationReport {
+
+        public static final int DEFAULT_LIMIT = 1000;
+
+        private static final Comparator<ValidationError> ORDER = Comparator
+                .comparing((ValidationError e) -> String.valueOf(e.file()))
+                .thenComparingInt(ValidationError::line)
+                .thenComparingInt(ValidationError::column);
+
+        private final int limit;
+        private final ArrayList<ValidationError> errors = new ArrayList<>();
+        private long total = 0;
+
+        public ValidationReport(int limit) {
+                this.limit = Math.max(1, limit);
+        }
+
+        /**
+         * Records an error; once the cap is reached it is only counted.
+         *
+         * @return false if the report is already full
+         */
+        public synchronized boolean add(ValidationError error) {
+                total++;
+                if (errors.size() >= limit) return false;
+                errors.add(error);
+                return true;
+        }
+
+        public synchronized void addAll(Collection<ValidationError> more) {
+                for (ValidationError error : more) add(error);
+        }
+
+        /**
+         * Counts errors that were found but not kept (e.g. dropped early by a worker that hit the cap).
+         */
+        public synchronized void addDropped(long count) {
+                total += count;
+        }
+
+        public synchronized boolean isFull() {
+                return errors.size() >= limit;
+        }
+
+        /**
+         * @return copy of the recorded errors ordered by file, line and column
+         */
+        public synchronized List<ValidationError> getErrors() {
+                ArrayList<ValidationError> sorted = new ArrayList<>(errors);
+                sorted.sort(ORDER);
+                return sorted;
+        }
+
+        /**
+         * @return number of errors found, including those dropped past the cap
+         */
+        public synchronized long getTotalCount() {
+                return total;
+        }
+
+        public synchronized boolean isTruncated() {
+                return total > errors.size();
+        }
+
+        public synchronized boolean isValid() {
+                return total == 0;
+        }
+
+        public int getLimit() {
+                return limit;
+        }
+}
@@ -1,94 +1,315 @@
 package IO;
-    import java.io.BufferedReader;
-import java.io.IOException;
-import java.nio.file.Files;
+    import Core.ClassRoom;
+    import Core.Course;
+    import Core.Student;
+
+    import java.io.IOException;
+    import java.io.UncheckedIOException;
+    import java.nio.ByteBuffer;
+    import java.nio.MappedByteBuffer;
+    import java.nio.channels.FileChannel;
+    import java.nio.charset.StandardCharsets;
     import java.nio.file.Path;
-    import java.util.regex.Pattern;
+    import java.nio.file.StandardOpenOption;
+    import java.util.ArrayList;
+    import java.util.HashMap;
+    import java.util.HashSet;
+    import java.util.List;
+    import java.util.concurrent.CompletableFuture;
+    import java.util.concurrent.ExecutorService;
+    import java.util.concurrent.Executors;
+    import java.util.function.Function;
+    import java.util.stream.IntStream;
 public class Validator {
+    /**
+     * Checks that the file exists, is readable, has a supported extension and that no cell
+     * is empty or {@code null}. The file is opened once; the first problem is logged.
+     *
+     * @param filePath file to validate
+     * @return true if all checks passed
+     */
     public static boolean validateFile(Path filePath) {
-        //existence check
-        if (Files.notExists(filePath)) {
+        ArrayList<ValidationError> errors = ImportPipeline.validate(filePath, 1).getErrors();
+        if (!errors.isEmpty()) {
             //ERROR LOG
-            ErrorHandler.getInstance().logError("Dosya bulunamadı: " + filePath);
+            ErrorHandler.getInstance().logError(errors.get(0).kind().name(), errors.get(0).toMessage());
             return false;
         }
-        //readable check
-        if (!Files.isReadable(filePath)) {
-            //ERROR LOG
-            ErrorHandler.getInstance().logError("Dosya okunamadı: " + filePath);
-            return false;
-        }
-        //regular file check
-        if (!Files.isRegularFile(filePath)) {
-            //ERROR LOG
-            ErrorHandler.getInstance().logError("Normal olmayan dosya: " + filePath);
-            return false;
-        }
-        //extension check
-        if (!allowedextensions(filePath)) {
-            //ERROR LOG
-            ErrorHandler.getInstance().logError("Desteklenmeyen dosya uzantısı: " + filePath);
-            return false;
+        //all checks passed
+        return true;
+
+    }
+
+
+
+
+    /**
+     * Collect-all validation of one file: instead of stopping at the first problem, every empty or
+     * {@code null} cell is reported (up to {@code maxErrors}).
+     * <p>
+     * The file is memory-mapped and split at line boundaries into chunks that are scanned in
+     * parallel at byte level; line numbers are fixed up afterwards from the line count of each chunk.
+     * Gzip files cannot be split and are scanned sequentially.
+     *
+     * @param filePath  file to validate
+     * @param maxErrors cap on the number of errors kept
+     * @return report with every error found
+     */
+    public static ValidationReport validateAll(Path filePath, int maxErrors) {
+        ValidationReport report = new ValidationReport(maxErrors);
+        validateAll(filePath, report);
+        return report;
+    }
+
+    private static void validateAll(Path filePath, ValidationReport report) {
+        ArrayList<ValidationError> fileErrors = new ArrayList<>();
+        if (!ImportPipeline.checkFile(filePath, fileErrors)) {
+            report.addAll(fileErrors);
+            return;
         }
-        //reachable check
-        try {
-            Files.newBufferedReader(filePath).close();
-        } catch (Exception e) {
-            //ERROR LOG
-            ErrorHandler.getInstance().logError("Ulaşılamayan dosya: " + filePath + " - " + e.getMessage());
-            return false;
+        if (ImportPipeline.isGzip(filePath)) {
+            report.addAll(ImportPipeline.validate(filePath, report.getLimit()).getErrors());
+            return;
         }
-        //parseable check
-        // detect separator by scanning until we find a line containing ',' or ';'
-        char separator = ','; // default
-        try (BufferedReader detectionReader = Files.newBufferedReader(filePath)) {
-            String detectLine;
-            while ((detectLine = detectionReader.readLine()) != null) {
-                if (detectLine.trim().isEmpty()) continue;
-                if (detectLine.indexOf(',') >= 0) { separator = ','; break; }
-                if (detectLine.indexOf(';') >= 0) { separator = ';'; break; }
-                // otherwise keep scanning until we find one of the delimiters
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            byte separator = (byte) sniffSeparator(channel);
+            long[] bounds = chunkBounds(channel);
+            Chunk[] chunks = new Chunk[bounds.length - 1];
+
+            IntStream.range(0, chunks.length).parallel().forEach(i ->
+                    chunks[i] = scanChunk(channel, bounds[i], bounds[i + 1], separator, filePath, report.getLimit()));
+
+            int lineOffset = 0;
+            for (Chunk chunk : chunks) {
+                for (ValidationError e : chunk.errors) {
+                    report.add(new ValidationError(e.file(), e.line() + lineOffset, e.column(), e.kind(), e.detail()));
+                }
+                report.addDropped(chunk.dropped);
+                lineOffset += chunk.lines;
             }
-        } catch (IOException e) {
-            ErrorHandler.getInstance().logError("Ayırıcı dosya bulunamadı: " + filePath + " - " + e.getMessage());
-            return false;
+        } catch (IOException | UncheckedIOException e) {
+            report.add(new ValidationError(filePath, 0, 0, ValidationError.Kind.IO_FAILURE, e.getMessage()));
         }
+    }
+
+    /**
+     * Scan result of one chunk; line numbers are relative to the chunk start.
+     */
+    private record Chunk(List<ValidationError> errors, long dropped, int lines) {
+    }
+
+    private static final int MIN_CHUNK = 1 << 20;
+    private static final int MAX_CHUNK = 1 << 30;
 
-        // now validate using the detected separator
-        String sepRegex = Pattern.quote(String.valueOf(separator));
-        try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-            String line;
-            int lineNum = 1;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) { lineNum++; continue; }
-                String[] columns = line.split(sepRegex, -1); // -1 keeps trailing empty fields
-                for (int coulmnNum = 0; coulmnNum < columns.length; coulmnNum++) {
-                    String val = columns[coulmnNum];
-                    if (val == null || val.trim().isEmpty() || "null".equalsIgnoreCase(val.trim()))  {
-                        //ERROR LOG
-                        ErrorHandler.getInstance().logError("Boş veya geçersiz(null) değer: " + filePath + ", " + lineNum + ". satır, " + (coulmnNum + 1) + ". sütun.");
-                        return false;
-                    }
+    private static char sniffSeparator(FileChannel channel) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(channel.size(), 1 << 16));
+        channel.read(head, 0);
+        String text = new String(head.array(), 0, head.position(), StandardCharsets.ISO_8859_1);
+        List<String> lines = text.lines().limit(ImportPipeline.SNIFF_LINES).toList();
+        return ImportPipeline.sniffSeparator(lines);
+    }
+
+    /**
+     * Splits the file into chunks that each start right after a '\n'.
+     */
+    private static long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = Runtime.getRuntime().availableProcessors() * 4;
+        int chunks = (int) Math.max(size / MAX_CHUNK + 1, Math.min(parallelism, size / MIN_CHUNK));
+        chunks = Math.max(1, chunks);
+
+        long[] bounds = new long[chunks + 1];
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        int count = 1;
+        for (int i = 1; i < chunks; i++) {
+            long pos = Math.max(size * i / chunks, bounds[count - 1]);
+            long boundary = size;
+            while (pos < size) {
+                probe.clear();
+                int n = channel.read(probe, pos);
+                if (n <= 0) break;
+                int idx = -1;
+                for (int k = 0; k < n; k++) {
+                    if (probe.get(k) == '\n') { idx = k; break; }
                 }
-                lineNum++;
+                if (idx >= 0) { boundary = pos + idx + 1; break; }
+                pos += n;
             }
+            if (boundary > bounds[count - 1] && boundary < size) bounds[count++] = boundary;
+        }
+        bounds[count++] = size;
+        return java.util.Arrays.copyOf(bounds, count);
+    }
+
+    private static Chunk scanChunk(FileChannel channel, long from, long to, byte separator, Path filePath, int limit) {
+        MappedByteBuffer buf;
+        try {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
         } catch (IOException e) {
-            //ERROR LOG
-            ErrorHandler.getInstance().logError("Dosya ayrıştırılamadı: " + filePath + " - " + e.getMessage());
-            return false;
+            throw new UncheckedIOException(e);
         }
-        //all checks passed
-        return true;
 
+        ArrayList<ValidationError> errors = new ArrayList<>();
+        long[] dropped = {0};
+        int n = buf.limit();
+        int lines = 0;
+        int lineStart = 0;
+        for (int i = 0; i <= n; i++) {
+            if (i < n && buf.get(i) != '\n') continue;
+            if (i == n && lineStart == n) break; // chunk ended with a newline
+            lines++;
+            int end = i;
+            if (end > lineStart && buf.get(end - 1) == '\r') end--;
+            checkLine(buf, lineStart, end, separator, lines, filePath, errors, dropped, limit);
+            lineStart = i + 1;
+        }
+        return new Chunk(errors, dropped[0], lines);
+    }
+
+    private static void checkLine(ByteBuffer buf, int start, int end, byte separator, int lineNo, Path filePath,
+                                  ArrayList<ValidationError> errors, long[] dropped, int limit) {
+        boolean blank = true;
+        for (int i = start; i < end && blank; i++) {
+            if ((buf.get(i) & 0xFF) > ' ') blank = false;
+        }
+        if (blank) return;
+
+        int column = 1;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i < end && buf.get(i) != separator) continue;
+
+            int s = fieldStart, e = i;
+            while (s < e && (buf.get(s) & 0xFF) <= ' ') s++;
+            while (e > s && (buf.get(e - 1) & 0xFF) <= ' ') e--;
+
+            ValidationError.Kind kind = null;
+            if (s == e) kind = ValidationError.Kind.EMPTY_VALUE;
+            else if (e - s == 4 && (buf.get(s) | 0x20) == 'n' && (buf.get(s + 1) | 0x20) == 'u'
+                    && (buf.get(s + 2) | 0x20) == 'l' && (buf.get(s + 3) | 0x20) == 'l') kind = ValidationError.Kind.NULL_VALUE;
+
+            if (kind != null) {
+                if (errors.size() < limit) errors.add(new ValidationError(filePath, lineNo, column, kind, detail(buf, s, e)));
+                else dropped[0]++;
+            }
+            column++;
+            fieldStart = i + 1;
+        }
+    }
+
+    private static String detail(ByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Validates a whole term in one call: the four files are parsed concurrently (collecting every
+     * malformed cell with its position) and then cross-checked:
+     * <ul>
+     *     <li>attendance lists for courses missing from the course list,</li>
+     *     <li>enrolled students missing from the student list,</li>
+     *     <li>classrooms listed more than once.</li>
+     * </ul>
+     * Any path may be {@code null} to skip that file (and the checks that need it).
+     *
+     * @param maxErrors cap on the number of errors kept
+     * @return report with every problem found
+     */
+    public static ValidationReport validateDataset(Path studentsPath, Path coursesPath, Path classroomsPath,
+                                                   Path attendancePath, int maxErrors) {
+        ValidationReport report = new ValidationReport(maxErrors);
+        validateDataset(studentsPath, coursesPath, classroomsPath, attendancePath, report);
+        return report;
+    }
+
+    /**
+     * Same as {@link #validateDataset(Path, Path, Path, Path, int)} for the files of a term folder,
+     * found by name as {@link DatasetLoader#load(Path)} does; a missing file is reported as well.
+     */
+    public static ValidationReport validateDataset(Path directory, int maxErrors) {
+        ValidationReport report = new ValidationReport(maxErrors);
+        ArrayList<ValidationError> missing = new ArrayList<>();
+        DatasetLoader.Sources sources = DatasetLoader.find(directory, missing);
+        report.addAll(missing);
+        validateDataset(sources.students(), sources.courses(), sources.classrooms(), sources.attendance(), report);
+        return report;
     }
 
+    private static void validateDataset(Path studentsPath, Path coursesPath, Path classroomsPath,
+                                        Path attendancePath, ValidationReport report) {
+
+        ImportPipeline.Result<Student> students;
+        ImportPipeline.Result<Course> courses;
+        ImportPipeline.Result<ClassRoom> rooms;
+        ImportPipeline.Result<Course> attendance;
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            var s = parse(pool, ImportPipeline::students, studentsPath);
+            var c = parse(pool, ImportPipeline::courses, coursesPath);
+            var r = parse(pool, ImportPipeline::classRooms, classroomsPath);
+            var a = parse(pool, ImportPipeline::attendance, attendancePath);
+            students = s.join();
+            courses = c.join();
+            rooms = r.join();
+            attendance = a.join();
+        }
+        for (ImportPipeline.Result<?> result : List.of(students, courses, rooms, attendance)) {
+            report.addAll(result.getErrors());
+        }
+
+        // duplicate rooms
+        HashMap<String, Integer> firstLine = new HashMap<>();
+        for (int i = 0; i < rooms.getItems().size(); i++) {
+            String name = rooms.getItems().get(i).getName();
+            Integer first = firstLine.putIfAbsent(name, rooms.getLine(i));
+            if (first != null) {
+                report.add(new ValidationError(classroomsPath, rooms.getLine(i), 1, ValidationError.Kind.DUPLICATE_ROOM,
+                        name + " (" + first + ". satır)"));
+            }
+        }
 
+        // attendance -> courses / students
+        HashSet<String> courseIDs = new HashSet<>();
+        for (Course course : courses.getItems()) courseIDs.add(course.getID());
+        HashSet<String> studentIDs = new HashSet<>();
+        for (Student student : students.getItems()) studentIDs.add(student.ID());
+        boolean checkCourses = coursesPath != null;
+        boolean checkStudents = studentsPath != null;
 
+        // lists are checked in parallel but reported in line order, so a full report keeps the first errors
+        List<List<ValidationError>> perList = IntStream.range(0, attendance.getItems().size()).parallel().mapToObj(i -> {
+            Course list = attendance.getItems().get(i);
+            int line = attendance.getLine(i);
+            ArrayList<ValidationError> errors = new ArrayList<>(0);
+            if (checkCourses && !courseIDs.contains(list.getID())) {
+                errors.add(new ValidationError(attendancePath, line, 0, ValidationError.Kind.UNKNOWN_COURSE, list.getID()));
+            }
+            if (checkStudents) {
+                ArrayList<String> unknown = new ArrayList<>(0);
+                for (String studentID : list.getEnrolledStudentIDs()) {
+                    if (!studentIDs.contains(studentID)) unknown.add(studentID);
+                }
+                unknown.sort(null); // the roster is a HashSet
+                for (String studentID : unknown) {
+                    errors.add(new ValidationError(attendancePath, line, 0, ValidationError.Kind.UNKNOWN_STUDENT,
+                            studentID + " (" + list.getID() + ")"));
+                }
+            }
+            return (List<ValidationError>) errors;
+        }).toList();
+        for (List<ValidationError> errors : perList) report.addAll(errors);
+    }
+
+    private static <T> CompletableFuture<ImportPipeline.Result<T>> parse(ExecutorService pool,
+                                                                         Function<Path, ImportPipeline.Result<T>> parser, Path path) {
+        return CompletableFuture.supplyAsync(() -> path == null ? new ImportPipeline.Result<>(null) : parser.apply(path), pool);
+    }
 
 //check for allowed extensions
 //add more extensions if needed by   || filename.endsWith(".extension")
     public static boolean allowedextensions(Path filePath) {
         String fileName = filePath.getFileName().toString().toLowerCase();
-        return fileName.endsWith(".csv");
+        return fileName.endsWith(".csv") || fileName.endsWith(".csv.gz");
     }
 }
@@ -0,0 +1,43 @@
+package Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Writing of an export file.
+ */
+@Name("se302.Export")
+@Label("Export")
+@Category({"SE302", "IO"})
+@Description("Writing of an export file")
+@StackTrace(false)
+public class ExportEvent extends Event {
+
+        public static final String SCHEDULE = "schedule";
+        public static final String STUDENT_PROGRAMS = "student-programs";
+
+        @Label("File")
+        public String file;
+
+        @Label("Format")
+        @Description("schedule or student-programs")
+        public String format;
+
+        @Label("Compressed")
+        public boolean gzip;
+
+        @Label("Rows")
+        public long rows;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Success")
+        public boolean success;
+}
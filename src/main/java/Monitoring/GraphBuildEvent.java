@@ -0,0 +1,29 @@
+package Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Construction of the course conflict graph.
+ */
+@Name("se302.GraphBuild")
+@Label("Conflict Graph Build")
+@Category({"SE302", "Scheduler"})
+@Description("Construction of the course conflict graph")
+@StackTrace(false)
+public class GraphBuildEvent extends Event {
+
+        @Label("Courses")
+        public int courses;
+
+        @Label("Enrollments")
+        public long enrollments;
+
+        @Label("Edges")
+        @Description("Pairs of courses sharing at least one student")
+        public long edges;
+}
@@ -0,0 +1,43 @@
+package Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing of one input file.
+ */
+@Name("se302.Import")
+@Label("Import")
+@Category({"SE302", "IO"})
+@Description("Parsing of one input file")
+@StackTrace(false)
+public class ImportEvent extends Event {
+
+        @Label("File")
+        public String file;
+
+        @Label("Format")
+        @Description("classrooms, students, courses, attendance or validate")
+        public String format;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Compressed")
+        public boolean gzip;
+
+        @Label("Lines")
+        public int lines;
+
+        @Label("Items")
+        public int items;
+
+        @Label("Errors")
+        public int errors;
+}
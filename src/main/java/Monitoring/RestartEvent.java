@@ -0,0 +1,30 @@
+package Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A random restart of the solver.
+ */
+@Name("se302.Restart")
+@Label("Solver Restart")
+@Category({"SE302", "Scheduler"})
+@Description("A random restart of the solver")
+@StackTrace(false)
+public class RestartEvent extends Event {
+
+        @Label("Days")
+        public int days;
+
+        @Label("Retry")
+        @Description("Restarts so far on this day count, including this one")
+        public int retry;
+
+        @Label("Depth")
+        @Description("Course index the solver was at when it restarted")
+        public int depth;
+}
@@ -0,0 +1,28 @@
+package Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Assignment of classrooms to a finished time schedule.
+ */
+@Name("se302.RoomAssignment")
+@Label("Room Assignment")
+@Category({"SE302", "Scheduler"})
+@Description("Assignment of classrooms to a finished time schedule")
+@StackTrace(false)
+public class RoomAssignmentEvent extends Event {
+
+        @Label("Courses")
+        public int courses;
+
+        @Label("Rooms")
+        public int rooms;
+
+        @Label("Assigned")
+        public int assigned;
+}
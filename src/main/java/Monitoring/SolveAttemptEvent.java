@@ -0,0 +1,45 @@
+package Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One solver attempt on a fixed day count; a day count is attempted again after each restart.
+ */
+@Name("se302.SolveAttempt")
+@Label("Solve Attempt")
+@Category({"SE302", "Scheduler"})
+@Description("One solver attempt on a fixed day count")
+@StackTrace(false)
+public class SolveAttemptEvent extends Event {
+
+        public static final String SOLVED = "SOLVED";
+        public static final String NO_SOLUTION = "NO_SOLUTION";
+        public static final String RESTART = "RESTART";
+        public static final String TIMEOUT = "TIMEOUT";
+        public static final String NOT_ENOUGH_SLOTS = "NOT_ENOUGH_SLOTS";
+        public static final String CANCELLED = "CANCELLED";
+
+        @Label("Days")
+        public int days;
+
+        @Label("Attempt")
+        @Description("0 for the first attempt on this day count, then one more per restart")
+        public int attempt;
+
+        @Label("Slots")
+        public int slots;
+
+        @Label("Outcome")
+        public String outcome;
+
+        @Label("Nodes")
+        public long nodes;
+
+        @Label("Backtracks")
+        public long backtracks;
+}
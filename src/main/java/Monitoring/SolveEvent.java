@@ -0,0 +1,48 @@
+package Monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One whole {@code Scheduler.generate_schedule} run, over all day counts and restarts.
+ */
+@Name("se302.Solve")
+@Label("Solve")
+@Category({"SE302", "Scheduler"})
+@Description("One whole scheduling run over all day counts and restarts")
+@StackTrace(false)
+public class SolveEvent extends Event {
+
+        @Label("Courses")
+        public int courses;
+
+        @Label("Rooms")
+        public int rooms;
+
+        @Label("Step Size")
+        @Description("Time slot resolution in minutes")
+        public int stepSize;
+
+        @Label("Solved")
+        public boolean solved;
+
+        @Label("Timed Out")
+        public boolean timedOut;
+
+        @Label("Days")
+        @Description("Day count of the final schedule, 0 if not solved")
+        public int days;
+
+        @Label("Nodes")
+        public long nodes;
+
+        @Label("Backtracks")
+        public long backtracks;
+
+        @Label("Restarts")
+        public int restarts;
+}
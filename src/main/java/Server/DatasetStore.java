@@ -0,0 +1,168 @@
+package Server;
+
+import Core.GraphAnalysis;
+import Core.Portfolio;
+import IO.Dataset;
+import IO.DatasetLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Uploaded datasets, one folder per name under the server's data directory.
+ * <p>
+ * A dataset is parsed and its conflict graph built on the first job that needs it. Both are kept
+ * until one of its files is uploaded again, so repeated jobs on the same data skip import and
+ * graph construction. Jobs only read the cached courses and graph; each solve works on its own
+ * copy of the course list.
+ */
+class DatasetStore {
+
+        static final Set<String> FILES = Set.of(DatasetLoader.STUDENTS, DatasetLoader.COURSES,
+                DatasetLoader.CLASSROOMS, DatasetLoader.ATTENDANCE);
+
+        private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_.-]{1,64}");
+
+        /**
+         * Parsed dataset with its conflict graph, solver order and clique, shared read-only by all jobs on it.
+         */
+        record Loaded(Dataset dataset, GraphAnalysis analysis, long version) {
+        }
+
+        private static final class Entry {
+                long version;
+                Loaded loaded;
+        }
+
+        private final Path root;
+        private final long maxUploadBytes;
+        private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+        DatasetStore(Path root, long maxUploadBytes) throws IOException {
+                this.root = Files.createDirectories(root);
+                this.maxUploadBytes = maxUploadBytes;
+        }
+
+        static boolean isValidName(String name) {
+                return name != null && NAME.matcher(name).matches() && !name.startsWith(".");
+        }
+
+        /**
+         * Stores one file of a dataset and drops the cached parse of that dataset.
+         *
+         * @param file one of {@link #FILES}
+         * @param gzip body is gzip compressed
+         * @return stored size in bytes
+         * @throws IllegalArgumentException if the name or file is unknown or the body is too large
+         */
+        long store(String name, String file, boolean gzip, InputStream body) throws IOException {
+                if (!isValidName(name)) throw new IllegalArgumentException("invalid dataset name");
+                if (!FILES.contains(file)) throw new IllegalArgumentException("unknown file " + file + ", expected one of " + FILES);
+
+                Path dir = Files.createDirectories(root.resolve(name));
+                Path tmp = Files.createTempFile(dir, file, ".part");
+                try {
+                        long size;
+                        try (InputStream in = new LimitedInputStream(body, maxUploadBytes)) {
+                                size = Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+                        }
+                        // only one encoding of a file may exist, the loader picks files by name
+                        Files.deleteIfExists(dir.resolve(file + ".csv"));
+                        Files.deleteIfExists(dir.resolve(file + ".csv.gz"));
+                        Files.move(tmp, dir.resolve(file + (gzip ? ".csv.gz" : ".csv")), StandardCopyOption.ATOMIC_MOVE);
+                        Entry entry = entries.computeIfAbsent(name, n -> new Entry());
+                        synchronized (entry) {
+                                entry.version++;
+                                entry.loaded = null;
+                        }
+                        return size;
+                } finally {
+                        Files.deleteIfExists(tmp);
+                }
+        }
+
+        /**
+         * @return stored file names of a dataset, empty if it does not exist
+         */
+        List<String> files(String name) throws IOException {
+                if (!isValidName(name)) return List.of();
+                Path dir = root.resolve(name);
+                if (!Files.isDirectory(dir)) return List.of();
+                try (var stream = Files.list(dir)) {
+                        return stream.map(p -> p.getFileName().toString()).filter(f -> !f.endsWith(".part")).sorted().toList();
+                }
+        }
+
+        /**
+         * @return true if the dataset is parsed and its graph is cached
+         */
+        boolean isLoaded(String name) {
+                Entry entry = entries.get(name);
+                if (entry == null) return false;
+                synchronized (entry) {
+                        return entry.loaded != null;
+                }
+        }
+
+        /**
+         * Parses a dataset and builds its graph, or returns the cached result.
+         * Concurrent callers on the same dataset wait for one parse.
+         *
+         * @throws IllegalArgumentException if the dataset does not exist
+         */
+        Loaded load(String name) throws IOException {
+                if (files(name).isEmpty()) throw new IllegalArgumentException("unknown dataset " + name);
+                Entry entry = entries.computeIfAbsent(name, n -> new Entry());
+                synchronized (entry) {
+                        if (entry.loaded == null) {
+                                Dataset dataset = DatasetLoader.load(root.resolve(name));
+                                entry.loaded = new Loaded(dataset, Portfolio.analyze(dataset.courses()), entry.version);
+                        }
+                        return entry.loaded;
+                }
+        }
+
+        /**
+         * Stops reading after {@code limit} bytes with an {@link IllegalArgumentException}.
+         */
+        private static final class LimitedInputStream extends InputStream {
+                private final InputStream in;
+                private long remaining;
+
+                LimitedInputStream(InputStream in, long limit) {
+                        this.in = in;
+                        this.remaining = limit;
+                }
+
+                @Override
+                public int read() throws IOException {
+                        int b = in.read();
+                        if (b >= 0) count(1);
+                        return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int n = in.read(buffer, offset, length);
+                        if (n > 0) count(n);
+                        return n;
+                }
+
+                private void count(int n) {
+                        remaining -= n;
+                        if (remaining < 0) throw new IllegalArgumentException("upload too large");
+                }
+
+                @Override
+                public void close() throws IOException {
+                        in.close();
+                }
+        }
+}
@@ -0,0 +1,123 @@
+package Server;
+
+import Core.Portfolio;
+import Core.SolveStats;
+import IO.Json;
+
+import java.nio.file.Path;
+
+/**
+ * One queued solve. Written by its worker thread, read by request threads.
+ */
+class Job {
+
+        enum Status {
+                QUEUED, RUNNING, SOLVED, NOT_SOLVED, CANCELLED, FAILED;
+
+                boolean isFinished() {
+                        return this != QUEUED && this != RUNNING;
+                }
+        }
+
+        final String id;
+        final String dataset;
+        final Portfolio.Settings settings;
+        final long submittedMillis = System.currentTimeMillis();
+        final Portfolio portfolio;
+
+        private volatile Status status = Status.QUEUED;
+        private volatile long startedMillis;
+        private volatile long finishedMillis;
+        private volatile int days;
+        private volatile int placed;
+        private volatile int total;
+        private volatile boolean graphCached;
+        private volatile SolveStats stats;
+        private volatile int violations;
+        private volatile Path result;
+        private volatile String error;
+
+        Job(String id, String dataset, Portfolio.Settings settings) {
+                this.id = id;
+                this.dataset = dataset;
+                this.settings = settings;
+                this.portfolio = new Portfolio(settings);
+                this.portfolio.setProgressListener(this::progress);
+        }
+
+        Status status() {
+                return status;
+        }
+
+        Path result() {
+                return result;
+        }
+
+        /**
+         * @return false if the job was cancelled before it started
+         */
+        synchronized boolean start(boolean graphCached) {
+                if (status != Status.QUEUED) return false;
+                this.graphCached = graphCached;
+                this.startedMillis = System.currentTimeMillis();
+                this.status = Status.RUNNING;
+                return true;
+        }
+
+        private void progress(int days, int placed, int total) {
+                this.days = days;
+                this.placed = placed;
+                this.total = total;
+        }
+
+        synchronized void finish(SolveStats stats, int violations, Path result) {
+                this.stats = stats;
+                this.violations = violations;
+                this.result = result;
+                this.finishedMillis = System.currentTimeMillis();
+                if (status == Status.CANCELLED || (stats != null && stats.cancelled())) status = Status.CANCELLED;
+                // a schedule the verifier rejects is not served
+                else status = stats != null && stats.solved() && violations == 0 && result != null ? Status.SOLVED : Status.NOT_SOLVED;
+        }
+
+        synchronized void fail(String error) {
+                this.error = error;
+                this.finishedMillis = System.currentTimeMillis();
+                this.status = Status.FAILED;
+        }
+
+        /**
+         * Cancels a queued job right away and a running one at its next search node.
+         *
+         * @return false if the job had already finished
+         */
+        synchronized boolean cancel() {
+                if (status.isFinished()) return false;
+                if (status == Status.QUEUED) this.finishedMillis = System.currentTimeMillis();
+                status = Status.CANCELLED;
+                portfolio.cancel();
+                return true;
+        }
+
+        Json toJson() {
+                Json json = Json.object()
+                        .put("id", id)
+                        .put("dataset", dataset)
+                        .put("status", status.name())
+                        .put("startDate", settings.startDate().toString())
+                        .put("stepSize", settings.stepSize())
+                        .put("timeLimitMillis", settings.timeLimit().toMillis())
+                        .put("seed", settings.seed())
+                        .put("graphCached", graphCached)
+                        .put("queuedMillis", (startedMillis == 0 ? (finishedMillis == 0 ? System.currentTimeMillis() : finishedMillis) : startedMillis) - submittedMillis)
+                        .put("runMillis", startedMillis == 0 ? 0 : (finishedMillis == 0 ? System.currentTimeMillis() : finishedMillis) - startedMillis)
+                        .put("progress", Json.object()
+                                .put("days", days)
+                                .put("placed", placed)
+                                .put("total", total));
+                if (stats != null) json.put("stats", stats.toJson()).put("violations", violations);
+                if (error != null) json.put("error", error);
+                if (status == Status.SOLVED) json.put("result", "/jobs/" + id + "/result");
+                return json;
+        }
+}
@@ -0,0 +1,337 @@
+package Server;
+
+import Core.Portfolio;
+import Core.ScheduleVerifier;
+import Core.Scheduler;
+import Core.SolveStats;
+import IO.Dataset;
+import IO.ErrorHandler;
+import IO.Exporter;
+import IO.Json;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared scheduling service on the JDK's built-in HTTP server.
+ * <p>
+ * Departments upload the CSV files of a term once and then submit solve jobs against it:
+ * <pre>
+ * PUT    /datasets/{name}/{students|courses|classrooms|attendance}   CSV body (Content-Encoding: gzip allowed)
+ * GET    /datasets/{name}                                            stored files
+ * POST   /jobs?dataset=&amp;start=&amp;step=&amp;days=&amp;timeLimit=&amp;seed=&amp;skipWeekends=   202, or 503 when the queue is full
+ * GET    /jobs                                                       all jobs
+ * GET    /jobs/{id}                                                  status, progress and statistics
+ * GET    /jobs/{id}/result                                           schedule CSV once solved
+ * DELETE /jobs/{id}                                                  cancel
+ * </pre>
+ * Jobs run on a fixed pool of worker threads behind a bounded queue, each with its own time limit
+ * (capped by the server). A dataset is parsed and its conflict graph built once and reused by every
+ * later job on it until one of its files is uploaded again. Requests are served on virtual threads.
+ */
+public class SchedulingServer {
+
+        /**
+         * Finished jobs kept for status and result requests; older ones are dropped with their result file.
+         */
+        static final int KEPT_JOBS = 256;
+
+        /**
+         * @param host          address to bind, e.g. 127.0.0.1 for local use only
+         * @param port          port, 0 for any free port
+         * @param workers       jobs solved at the same time
+         * @param queue         jobs waiting at most; further submissions are rejected
+         * @param dataDir       where uploads and results are stored
+         * @param maxTimeLimit  upper bound of a job's time limit
+         * @param maxUpload     largest accepted file in bytes
+         */
+        public record Config(String host, int port, int workers, int queue, Path dataDir, Duration maxTimeLimit, long maxUpload) {
+        }
+
+        private final Config config;
+        private final HttpServer http;
+        private final ThreadPoolExecutor pool;
+        private final DatasetStore datasets;
+        private final Path results;
+        private final ConcurrentHashMap<String, Job> jobs = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<String> jobOrder = new ConcurrentLinkedQueue<>();
+        private final AtomicLong nextId = new AtomicLong(1);
+
+        public SchedulingServer(Config config) throws IOException {
+                this.config = config;
+                this.datasets = new DatasetStore(config.dataDir().resolve("datasets"), config.maxUpload());
+                this.results = Files.createDirectories(config.dataDir().resolve("results"));
+                this.pool = new ThreadPoolExecutor(config.workers(), config.workers(), 0, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(config.queue()));
+                this.http = HttpServer.create(new InetSocketAddress(config.host(), config.port()), 0);
+                this.http.createContext("/", this::handle);
+                this.http.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+
+        public void start() {
+                http.start();
+        }
+
+        /**
+         * Stops accepting requests, cancels all jobs and waits up to {@code grace} for workers to finish.
+         */
+        public void stop(Duration grace) throws InterruptedException {
+                http.stop(0);
+                jobs.values().forEach(Job::cancel);
+                pool.shutdown();
+                pool.awaitTermination(grace.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * @return bound port, useful when started on port 0
+         */
+        public int getPort() {
+                return http.getAddress().getPort();
+        }
+
+        public static void main(String[] args) throws IOException {
+                String host = "127.0.0.1";
+                int port = 8080;
+                int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                int queue = 32;
+                Path data = Path.of("server-data");
+                Duration maxTimeLimit = Duration.ofMinutes(5);
+                long maxUploadMb = 512;
+
+                for (String arg : args) {
+                        String[] kv = arg.split("=", 2);
+                        String value = kv.length > 1 ? kv[1] : "";
+                        switch (kv[0]) {
+                                case "--host" -> host = value;
+                                case "--port" -> port = Integer.parseInt(value);
+                                case "--workers" -> workers = Integer.parseInt(value);
+                                case "--queue" -> queue = Integer.parseInt(value);
+                                case "--data" -> data = Path.of(value);
+                                case "--max-time-limit" -> maxTimeLimit = Duration.ofSeconds(Long.parseLong(value));
+                                case "--max-upload-mb" -> maxUploadMb = Long.parseLong(value);
+                                default -> {
+                                        System.err.println("Unknown option: " + arg);
+                                        System.err.println("Usage: SchedulingServer [--host=127.0.0.1] [--port=8080] [--workers=N] [--queue=N] [--data=dir] [--max-time-limit=SEC] [--max-upload-mb=N]");
+                                        System.exit(2);
+                                }
+                        }
+                }
+
+                SchedulingServer server = new SchedulingServer(new Config(host, port, workers, queue, data, maxTimeLimit, maxUploadMb << 20));
+                server.start();
+                System.out.println("Scheduling service on http://" + host + ":" + server.getPort() + " (" + workers + " workers, queue " + queue + ")");
+        }
+
+        // --- requests ---
+
+        private void handle(HttpExchange exchange) throws IOException {
+                try (exchange) {
+                        String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+                        String method = exchange.getRequestMethod();
+                        try {
+                                route(exchange, method, path);
+                        } catch (IllegalArgumentException | DateTimeParseException e) {
+                                send(exchange, 400, error(e.getMessage()));
+                        } catch (IOException e) {
+                                ErrorHandler.getInstance().logError("Sunucu isteği başarısız: " + e.getMessage());
+                                send(exchange, 500, error(e.getMessage()));
+                        }
+                }
+        }
+
+        private void route(HttpExchange exchange, String method, String[] path) throws IOException {
+                String root = path[0];
+                if (root.equals("datasets") && path.length == 3 && method.equals("PUT")) {
+                        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+                        long size = datasets.store(path[1], path[2], "gzip".equalsIgnoreCase(encoding), exchange.getRequestBody());
+                        send(exchange, 201, Json.object().put("dataset", path[1]).put("file", path[2]).put("bytes", size).toString());
+                } else if (root.equals("datasets") && path.length == 2 && method.equals("GET")) {
+                        List<String> files = datasets.files(path[1]);
+                        if (files.isEmpty()) send(exchange, 404, error("unknown dataset"));
+                        else send(exchange, 200, Json.object().put("dataset", path[1]).put("files", files).toString());
+                } else if (root.equals("jobs") && path.length == 1 && method.equals("POST")) {
+                        submit(exchange);
+                } else if (root.equals("jobs") && path.length == 1 && method.equals("GET")) {
+                        StringBuilder list = new StringBuilder("[");
+                        for (String id : jobOrder) {
+                                Job job = jobs.get(id);
+                                if (job == null) continue;
+                                if (list.length() > 1) list.append(',');
+                                list.append(job.toJson());
+                        }
+                        send(exchange, 200, list.append(']').toString());
+                } else if (root.equals("jobs") && path.length >= 2) {
+                        Job job = jobs.get(path[1]);
+                        if (job == null) {
+                                send(exchange, 404, error("unknown job"));
+                        } else if (path.length == 2 && method.equals("GET")) {
+                                send(exchange, 200, job.toJson().toString());
+                        } else if (path.length == 2 && method.equals("DELETE")) {
+                                job.cancel();
+                                send(exchange, 200, job.toJson().toString());
+                        } else if (path.length == 3 && path[2].equals("result") && method.equals("GET")) {
+                                sendResult(exchange, job);
+                        } else {
+                                send(exchange, 405, error("method not allowed"));
+                        }
+                } else {
+                        send(exchange, 404, error("not found"));
+                }
+        }
+
+        private void submit(HttpExchange exchange) throws IOException {
+                Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+                String dataset = query.get("dataset");
+                if (datasets.files(dataset).isEmpty()) {
+                        send(exchange, 404, error("unknown dataset"));
+                        return;
+                }
+
+                Duration limit = query.containsKey("timeLimit")
+                        ? Duration.ofMillis((long) (Double.parseDouble(query.get("timeLimit")) * 1000))
+                        : Scheduler.DEFAULT_TIME_LIMIT;
+                if (limit.compareTo(config.maxTimeLimit()) > 0) limit = config.maxTimeLimit();
+                Portfolio.Settings settings = new Portfolio.Settings(
+                        Integer.parseInt(query.getOrDefault("step", "60")),
+                        Integer.parseInt(query.getOrDefault("days", "1")),
+                        query.containsKey("start") ? LocalDate.parse(query.get("start")) : LocalDate.now(),
+                        Boolean.parseBoolean(query.getOrDefault("skipWeekends", "false")),
+                        limit,
+                        1,
+                        query.containsKey("seed") ? Long.parseLong(query.get("seed")) : System.nanoTime());
+
+                Job job = new Job(Long.toString(nextId.getAndIncrement()), dataset, settings);
+                jobs.put(job.id, job);
+                jobOrder.add(job.id);
+                try {
+                        pool.execute(() -> execute(job));
+                } catch (RejectedExecutionException e) {
+                        jobs.remove(job.id);
+                        jobOrder.remove(job.id);
+                        exchange.getResponseHeaders().set("Retry-After", "10");
+                        send(exchange, 503, error("job queue is full"));
+                        return;
+                }
+                evictOldJobs();
+                exchange.getResponseHeaders().set("Location", "/jobs/" + job.id);
+                send(exchange, 202, job.toJson().toString());
+        }
+
+        private void sendResult(HttpExchange exchange, Job job) throws IOException {
+                if (job.status() != Job.Status.SOLVED) {
+                        send(exchange, 409, error("job is " + job.status().name()));
+                        return;
+                }
+                exchange.getResponseHeaders().set("Content-Type", "text/csv; charset=utf-8");
+                exchange.sendResponseHeaders(200, Files.size(job.result()));
+                try (OutputStream out = exchange.getResponseBody()) {
+                        Files.copy(job.result(), out);
+                }
+        }
+
+        // --- jobs ---
+
+        private void execute(Job job) {
+                try {
+                        boolean cached = datasets.isLoaded(job.dataset);
+                        if (!job.start(cached)) return; // cancelled while queued
+                        DatasetStore.Loaded loaded = datasets.load(job.dataset);
+                        Dataset dataset = loaded.dataset();
+                        if (dataset.courses().isEmpty() || dataset.classrooms().isEmpty()) {
+                                job.fail("dataset has no courses or classrooms");
+                                return;
+                        }
+
+                        Scheduler scheduler = job.portfolio.run(dataset.courses(), dataset.classrooms(), loaded.analysis());
+                        SolveStats stats = scheduler.getLastStats();
+                        Path result = null;
+                        int violations = 0;
+                        if (stats != null && stats.solved()) {
+                                violations = ScheduleVerifier.verify(dataset.courses(), scheduler.getSchedule(),
+                                        scheduler.getActiveTimeSlots(), scheduler.getRoomAssignments()).size();
+                        }
+                        if (violations == 0 && stats != null && stats.solved()) {
+                                result = results.resolve(job.id + ".csv");
+                                if (!Exporter.exportSchedule(result, job.dataset, scheduler.getSchedule(),
+                                        Exporter.slotMap(scheduler.getSchedule(), scheduler.getActiveTimeSlots()),
+                                        scheduler.getRoomAssignments(), false)) {
+                                        result = null;
+                                }
+                        }
+                        job.finish(stats, violations, result);
+                } catch (InterruptedException e) {
+                        job.cancel();
+                        Thread.currentThread().interrupt();
+                } catch (IOException | RuntimeException e) {
+                        job.fail(String.valueOf(e.getMessage()));
+                        ErrorHandler.getInstance().logError("Sunucu işi başarısız: " + job.id + " " + e.getMessage());
+                }
+        }
+
+        /**
+         * Drops the oldest finished jobs beyond {@link #KEPT_JOBS}, with their result files.
+         */
+        private void evictOldJobs() {
+                int excess = jobs.size() - KEPT_JOBS;
+                for (String id : jobOrder) {
+                        if (excess <= 0) break;
+                        Job job = jobs.get(id);
+                        if (job == null || !job.status().isFinished()) continue;
+                        jobs.remove(id);
+                        jobOrder.remove(id);
+                        excess--;
+                        try {
+                                if (job.result() != null) Files.deleteIfExists(job.result());
+                        } catch (IOException ignored) {
+                                // a leftover result file is harmless
+                        }
+                }
+        }
+
+        // --- helpers ---
+
+        private static Map<String, String> query(String raw) {
+                HashMap<String, String> params = new HashMap<>();
+                if (raw == null || raw.isEmpty()) return params;
+                for (String pair : raw.split("&")) {
+                        String[] kv = pair.split("=", 2);
+                        params.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                                kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+                }
+                return params;
+        }
+
+        private static String error(String message) {
+                return Json.object().put("error", message).toString();
+        }
+
+        private static void send(HttpExchange exchange, int status, String json) throws IOException {
+                byte[] body = json.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                }
+        }
+}
@@ -2,6 +2,8 @@ module com.example.se {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.desktop;
+    requires jdk.jfr;
+    requires jdk.httpserver;
 
     exports GUI;
     opens GUI to javafx.fxml;
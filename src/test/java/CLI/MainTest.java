@@ -0,0 +1,96 @@
+package CLI;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MainTest {
+
+        @Test
+        void solvesSampleDataAndWritesScheduleAndStats(@TempDir Path tmp) throws Exception {
+                Path out = tmp.resolve("schedule.csv");
+                Path stats = tmp.resolve("stats.json");
+                int status = Main.run(new String[]{
+                        "--dir=docs", "--start=2026-01-05", "--step=30", "--skip-weekends",
+                        "--threads=2", "--seed=1", "--out=" + out, "--stats=" + stats});
+
+                assertEquals(Main.SOLVED, status);
+                assertTrue(Files.readAllLines(out).size() > 1);
+                String json = Files.readString(stats);
+                assertTrue(json.startsWith("{\"solved\":true,"), json);
+                assertTrue(json.contains("\"violations\":0"), json);
+                assertTrue(json.contains("\"stats\":{\"solved\":true,"), json);
+        }
+
+        @Test
+        void repairsPublishedScheduleWithoutMovingExams(@TempDir Path tmp) throws Exception {
+                Path published = tmp.resolve("published.csv");
+                Path stats = tmp.resolve("stats.json");
+                assertEquals(Main.SOLVED, Main.run(new String[]{
+                        "--dir=docs", "--start=2026-01-05", "--step=30", "--seed=1", "--out=" + published, "--stats=" + tmp.resolve("first.json")}));
+
+                int status = Main.run(new String[]{
+                        "--dir=docs", "--step=30", "--seed=2", "--previous=" + published,
+                        "--out=" + tmp.resolve("repaired.csv"), "--stats=" + stats});
+
+                assertEquals(Main.SOLVED, status);
+                String json = Files.readString(stats);
+                assertTrue(json.contains("\"moved\":0"), json);
+                assertTrue(json.contains("\"violations\":0"), json);
+                assertTrue(json.contains("\"startDate\":\"2026-01-05\""), json);
+
+                assertEquals(Main.USAGE, Main.run(new String[]{
+                        "--dir=docs", "--step=30", "--threads=2", "--previous=" + published, "--stats=" + stats}));
+        }
+
+        @Test
+        void statsOnStandardOutputAreTheOnlyOutput(@TempDir Path tmp) {
+                ByteArrayOutputStream captured = new ByteArrayOutputStream();
+                PrintStream stdout = System.out;
+                System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+                int status;
+                try {
+                        status = Main.run(new String[]{
+                                "--dir=docs", "--start=2026-01-05", "--step=30", "--seed=1", "--out=" + tmp.resolve("s.csv"), "--stats=-"});
+                } finally {
+                        System.setOut(stdout);
+                }
+
+                assertEquals(Main.SOLVED, status);
+                String printed = captured.toString(StandardCharsets.UTF_8).strip();
+                assertTrue(printed.startsWith("{\"solved\":true,") && printed.endsWith("}"), printed);
+                assertEquals(1, printed.lines().count(), printed);
+        }
+
+        @Test
+        void failedExportIsReported(@TempDir Path tmp) {
+                int status = Main.run(new String[]{
+                        "--dir=docs", "--start=2026-01-05", "--step=30", "--seed=1",
+                        "--out=" + tmp.resolve("missing").resolve("s.csv"), "--stats=" + tmp.resolve("stats.json")});
+                assertEquals(Main.IO_FAILURE, status);
+        }
+
+        @Test
+        void validateOnlyChecksTheInput(@TempDir Path tmp) throws Exception {
+                Path stats = tmp.resolve("stats.json");
+                assertEquals(Main.SOLVED, Main.run(new String[]{"--dir=docs", "--validate", "--stats=" + stats}));
+                assertTrue(Files.readString(stats).startsWith("{\"valid\":true,\"problems\":0,"));
+
+                assertEquals(Main.IO_FAILURE, Main.run(new String[]{"--dir=" + tmp, "--validate", "--stats=" + stats}));
+                assertTrue(Files.readString(stats).startsWith("{\"valid\":false,"));
+        }
+
+        @Test
+        void rejectsMissingInput() {
+                assertEquals(Main.USAGE, Main.run(new String[]{"--courses=x.csv"}));
+                assertEquals(Main.USAGE, Main.run(new String[]{"--dir=docs", "--step=abc"}));
+        }
+}
@@ -0,0 +1,78 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConflictGraphTest {
+
+        private static ArrayList<Course> randomTerm(Random random, int courses, int students, int perStudent) {
+                ArrayList<Course> term = new ArrayList<>();
+                for (int i = 0; i < courses; i++) term.add(new Course("C" + i, 60));
+                for (int s = 0; s < students; s++) {
+                        for (int k = 0; k < perStudent; k++) term.get(random.nextInt(courses)).addEnrolledStudentID("S" + s);
+                }
+                return term;
+        }
+
+        private static void assertMatchesRebuild(ConflictGraph graph, ArrayList<Course> term) {
+                assertEquals(Graph.createGraph(term), graph.toAdjacencyList());
+                long edges = 0;
+                for (int i = 0; i < term.size(); i++) {
+                        for (int j = i + 1; j < term.size(); j++) {
+                                HashSet<String> common = new HashSet<>(term.get(i).getEnrolledStudentIDs());
+                                common.retainAll(term.get(j).getEnrolledStudentIDs());
+                                assertEquals(common.size(), graph.sharedStudents(term.get(i), term.get(j)));
+                                if (!common.isEmpty()) edges++;
+                        }
+                }
+                assertEquals(edges, graph.edgeCount());
+        }
+
+        @Test
+        void randomEditsMatchFullRebuild() {
+                Random random = new Random(302);
+                ArrayList<Course> term = randomTerm(random, 40, 150, 4);
+                ConflictGraph graph = new ConflictGraph(term);
+                assertMatchesRebuild(graph, term);
+
+                for (int round = 0; round < 10; round++) {
+                        for (int edit = 0; edit < 50; edit++) {
+                                Course course = term.get(random.nextInt(term.size()));
+                                String student = "S" + random.nextInt(170); // some students are new
+                                boolean enrolled = course.getEnrolledStudentIDs().contains(student);
+                                if (random.nextBoolean()) assertEquals(!enrolled, graph.addEnrollment(student, course));
+                                else assertEquals(enrolled, graph.removeEnrollment(student, course));
+                        }
+                        assertMatchesRebuild(graph, term);
+                }
+        }
+
+        @Test
+        void edgeDisappearsWithLastSharedStudent() {
+                Course a = new Course("A", 60), b = new Course("B", 60);
+                a.addEnrolledStudentID("s1");
+                b.addEnrolledStudentID("s1");
+                ArrayList<Course> term = new ArrayList<>(List.of(a, b));
+                ConflictGraph graph = new ConflictGraph(term);
+
+                assertTrue(graph.addEnrollment("s2", a));
+                assertTrue(graph.addEnrollment("s2", b));
+                assertEquals(2, graph.sharedStudents(a, b));
+                assertTrue(graph.removeEnrollment("s1", b));
+                assertEquals(1, graph.degree(a));
+                assertTrue(graph.removeEnrollment("s2", a));
+                assertEquals(0, graph.degree(a));
+                assertEquals(0, graph.edgeCount());
+                assertFalse(graph.removeEnrollment("s2", a));
+                assertThrows(IllegalArgumentException.class, () -> graph.addEnrollment("s1", new Course("X", 60)));
+        }
+}
@@ -0,0 +1,110 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphCacheTest {
+
+        private static ArrayList<Course> term(String... rosters) {
+                ArrayList<Course> courses = new ArrayList<>();
+                for (String roster : rosters) {
+                        String[] parts = roster.split(":");
+                        Course course = new Course(parts[0], 60);
+                        if (parts.length > 1) for (String s : parts[1].split(",")) course.addEnrolledStudentID(s);
+                        courses.add(course);
+                }
+                return courses;
+        }
+
+        private static Map<String, TreeSet<String>> byId(HashMap<Course, ArrayList<Course>> graph) {
+                TreeMap<String, TreeSet<String>> ids = new TreeMap<>();
+                graph.forEach((c, ns) -> ids.put(c.getID(), new TreeSet<>(ns.stream().map(Course::getID).toList())));
+                return ids;
+        }
+
+        @Test
+        void reimportedTermHitsAndIsMappedOntoNewCourses() {
+                GraphCache.clear();
+                String[] rosters = {"A:s1,s2", "B:s2,s3", "C:s3", "D:s4", "E:s1,s3"};
+                GraphAnalysis first = GraphCache.analyze(term(rosters));
+
+                // same rosters in another order and with other Course objects, as after a re-import
+                ArrayList<Course> again = term(rosters[4], rosters[2], rosters[0], rosters[3], rosters[1]);
+                GraphAnalysis second = GraphCache.analyze(again);
+
+                assertEquals(1, GraphCache.misses());
+                assertEquals(1, GraphCache.hits());
+                assertEquals(byId(Graph.createGraph(again)), byId(second.graph()));
+                assertEquals(byId(first.graph()), byId(second.graph()));
+                assertEquals(first.degreeOrder().stream().map(Course::getID).toList(),
+                        second.degreeOrder().stream().map(Course::getID).toList());
+                for (Course c : second.degreeOrder()) {
+                        assertTrue(again.stream().anyMatch(x -> x == c), "order holds the caller's courses");
+                        for (Course n : second.graph().get(c)) assertTrue(again.stream().anyMatch(x -> x == n));
+                }
+        }
+
+        @Test
+        void changedRosterMisses() {
+                GraphCache.clear();
+                GraphCache.analyze(term("A:s1", "B:s1"));
+                GraphAnalysis changed = GraphCache.analyze(term("A:s1", "B:s2"));
+                assertEquals(2, GraphCache.misses());
+                assertTrue(changed.graph().values().stream().allMatch(List::isEmpty));
+        }
+
+        @Test
+        void cliqueIsPairwiseConflicting() {
+                GraphCache.clear();
+                GraphAnalysis analysis = GraphCache.analyze(term("A:s1,s2,s3", "B:s1,s4", "C:s2,s4", "D:s3", "E:s5"));
+                List<Course> clique = analysis.clique();
+                assertEquals(List.of("A", "B", "C"), clique.stream().map(Course::getID).toList());
+                for (Course a : clique) {
+                        for (Course b : clique) if (a != b) assertTrue(analysis.graph().get(a).contains(b));
+                }
+                assertSame(analysis.degreeOrder().getFirst(), clique.getFirst());
+        }
+
+        @Test
+        void leastRecentlyUsedTermIsDropped() {
+                GraphCache.clear();
+                GraphCache.setCapacity(1);
+                try {
+                        GraphCache.analyze(term("A:s1"));
+                        GraphCache.analyze(term("B:s1"));
+                        GraphCache.analyze(term("A:s1"));
+                        assertEquals(3, GraphCache.misses());
+                } finally {
+                        GraphCache.setCapacity(GraphCache.DEFAULT_CAPACITY);
+                }
+        }
+
+        @Test
+        void portfolioSchedulersShareOneAnalysis() throws InterruptedException {
+                GraphCache.clear();
+                ArrayList<Course> courses = term("A:s1,s2", "B:s2,s3", "C:s3", "D:s4", "E:s1,s3");
+                ArrayList<ClassRoom> rooms = new ArrayList<>(List.of(new ClassRoom("R1", 10)));
+                GraphAnalysis analysis = Portfolio.analyze(courses);
+
+                Portfolio portfolio = new Portfolio(new Portfolio.Settings(60, 1, LocalDate.of(2026, 1, 5), false,
+                        Duration.ofSeconds(10), 2, 1));
+                Scheduler scheduler = portfolio.run(courses, rooms, analysis);
+
+                assertTrue(scheduler.getLastStats().solved());
+                assertEquals(1, GraphCache.misses() + GraphCache.hits());
+                assertEquals(analysis.buildNanos(), scheduler.getLastStats().graphBuildNanos());
+                assertTrue(analysis.buildNanos() > 0);
+        }
+}
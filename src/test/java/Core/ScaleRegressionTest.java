@@ -0,0 +1,143 @@
+package Core;
+
+import Helpers.TimeSlot;
+import IO.DataGenerator;
+import IO.DatasetLoader;
+import IO.Exporter;
+import IO.Importer;
+import Tests.AllocationMeter;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs import -> schedule -> export on seeded instances of growing size and checks the result with
+ * {@link ScheduleChecker}. Each phase also has a wall-clock and an allocation budget, so a change that
+ * makes the scheduler or the conflict graph much slower or hungrier fails here.
+ * <p>
+ * Budgets are several times the measured cost on a developer machine, loose enough for a slow CI
+ * runner but tight enough to catch an accidental complexity jump. Allocation is counted on the
+ * test thread only.
+ */
+class ScaleRegressionTest {
+
+        private static final int STEP = 30;
+        private static final LocalDate START = LocalDate.of(2026, 1, 5);
+        private static final long MB = 1024 * 1024;
+
+        /**
+         * @param config       generated term, {@code null} for the sample data in {@code docs}
+         * @param importBudget / solveBudget / exportBudget  wall-clock limit of the phase
+         * @param importAlloc  / solveAlloc  / exportAlloc   allocation limit of the phase in bytes
+         */
+        record Scale(String name, DataGenerator.Config config,
+                     Duration importBudget, long importAlloc,
+                     Duration solveBudget, long solveAlloc,
+                     Duration exportBudget, long exportAlloc) {
+                @Override
+                public String toString() {
+                        return name;
+                }
+        }
+
+        static Stream<Scale> scales() {
+                return Stream.of(
+                        new Scale("sample", null,
+                                Duration.ofSeconds(2), 32 * MB,
+                                Duration.ofSeconds(4), 64 * MB,
+                                Duration.ofSeconds(2), 32 * MB),
+                        new Scale("small", DataGenerator.Config.small(1),
+                                Duration.ofSeconds(2), 32 * MB,
+                                Duration.ofSeconds(5), 256 * MB,
+                                Duration.ofSeconds(2), 32 * MB),
+                        new Scale("campus", new DataGenerator.Config(1000, 60, 20, 3, 4, 1),
+                                Duration.ofSeconds(3), 64 * MB,
+                                Duration.ofSeconds(9), 1024 * MB,
+                                Duration.ofSeconds(3), 64 * MB));
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("scales")
+        void pipelineProducesValidScheduleWithinBudget(Scale scale, @TempDir Path tmp) throws Exception {
+                Path input = scale.config() == null ? Path.of("docs") : tmp.resolve("input");
+                if (scale.config() != null) {
+                        assertTrue(DataGenerator.generate(scale.config(), input));
+                }
+
+                // IMPORT
+                long t = System.nanoTime();
+                AllocationMeter meter = AllocationMeter.start();
+                ArrayList<ClassRoom> rooms = Importer.importClassRooms(input.resolve(DataGenerator.FILE_CLASSROOMS));
+                ArrayList<Course> courses = Importer.importCourses(input.resolve(DataGenerator.FILE_COURSES));
+                ArrayList<Student> students = Importer.importStudents(input.resolve(DataGenerator.FILE_STUDENTS));
+                ArrayList<Course> attendance = Importer.importAttandenceLists(input.resolve(DataGenerator.FILE_ATTENDANCE));
+                DatasetLoader.mergeAttendance(courses, attendance);
+                assertBudget("import", scale.importBudget(), scale.importAlloc(), t, meter);
+                assertTrue(!courses.isEmpty() && !rooms.isEmpty() && !students.isEmpty(), "nothing imported");
+
+                // durations and roster sizes for the checker, taken before the scheduler touches anything
+                HashMap<String, Integer> durations = new HashMap<>();
+                HashMap<String, Integer> rosters = new HashMap<>();
+                HashMap<String, Integer> capacities = new HashMap<>();
+                for (Course c : courses) {
+                        durations.put(c.getID(), c.getDuration());
+                        rosters.put(c.getID(), c.getEnrolledStudentIDs().size());
+                }
+                for (ClassRoom r : rooms) capacities.put(r.getName(), r.getCapacity());
+
+                // SCHEDULE
+                t = System.nanoTime();
+                meter = AllocationMeter.start();
+                Scheduler scheduler = new Scheduler();
+                scheduler.setSeed(1);
+                scheduler.loadData(courses, rooms, STEP);
+                scheduler.generate_schedule(1, START, true);
+                SolveStats stats = scheduler.getLastStats();
+                assertTrue(stats != null && stats.solved(), "not solved: " + stats);
+                assertBudget("solve", scale.solveBudget(), scale.solveAlloc(), t, meter);
+
+                // EXPORT
+                t = System.nanoTime();
+                meter = AllocationMeter.start();
+                HashMap<Course, Integer> schedule = scheduler.getSchedule();
+                ArrayList<TimeSlot> slots = scheduler.getActiveTimeSlots();
+                HashMap<Integer, String[]> slotMap = Exporter.slotMap(schedule, slots);
+                Path exported = tmp.resolve("schedule.csv");
+                Path programs = tmp.resolve("programs.csv");
+                Exporter.exportSchedule(exported, "Scale " + scale.name(), schedule, slotMap, scheduler.getRoomAssignments());
+                assertTrue(Exporter.exportStudentPrograms(programs, new StudentProgramExtractor(schedule, slots), 1));
+                assertBudget("export", scale.exportBudget(), scale.exportAlloc(), t, meter);
+
+                // CORRECTNESS
+                List<ScheduleVerifier.Violation> verified = ScheduleVerifier.verify(courses, schedule, slots, scheduler.getRoomAssignments());
+                assertTrue(verified.isEmpty(), () -> "verifier: " + verified.getFirst().toMessage());
+                List<String> violations = ScheduleChecker.check(exported, durations, rosters, capacities);
+                assertTrue(violations.isEmpty(), () -> violations.size() + " violations, first: " + violations.subList(0, Math.min(10, violations.size())));
+
+                long enrollments = rosters.values().stream().mapToLong(Integer::longValue).sum();
+                try (Stream<String> lines = Files.lines(programs)) {
+                        assertEquals(enrollments, lines.count() - 1, "student program rows");
+                }
+        }
+
+        private static void assertBudget(String phase, Duration budget, long allocBudget, long startNanos, AllocationMeter meter) {
+                long allocated = meter.allocatedBytes();
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+                assertTrue(elapsed.compareTo(budget) <= 0, phase + " took " + elapsed.toMillis() + " ms, budget " + budget.toMillis() + " ms");
+                if (AllocationMeter.isSupported()) {
+                        assertTrue(allocated <= allocBudget, phase + " allocated " + allocated / MB + " MB, budget " + allocBudget / MB + " MB");
+                }
+        }
+}
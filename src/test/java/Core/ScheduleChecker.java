@@ -0,0 +1,121 @@
+package Core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Checks an exported schedule file against the input data without using any scheduler code.
+ * <p>
+ * Exam length is taken from the course durations, not from the exported end time, so a wrong end
+ * time cannot hide an overlap; an end time other than start plus duration is itself a violation.
+ */
+final class ScheduleChecker {
+
+        private record Exam(String course, String room, LocalDate date, int start, int end, List<String> students) {
+        }
+
+        private ScheduleChecker() {
+        }
+
+        /**
+         * @param export     schedule CSV written by {@code Exporter.exportSchedule}
+         * @param durations  course ID -> exam length in minutes
+         * @param rosters    course ID -> number of enrolled students
+         * @param capacities room name -> capacity
+         * @return one line per violated constraint, empty if the schedule is valid
+         */
+        static List<String> check(Path export, Map<String, Integer> durations, Map<String, Integer> rosters, Map<String, Integer> capacities) {
+                ArrayList<String> violations = new ArrayList<>();
+                HashMap<String, Exam> exams = new HashMap<>();
+
+                try (Stream<String> lines = Files.lines(export)) {
+                        lines.skip(1).filter(line -> !line.isBlank()).forEach(line -> {
+                                String[] f = line.split(";", -1);
+                                String course = f[1];
+                                Integer duration = durations.get(course);
+                                if (duration == null) {
+                                        violations.add("unknown course " + course);
+                                        return;
+                                }
+                                LocalTime start = LocalTime.parse(f[4]);
+                                LocalTime end = start.plusMinutes(duration);
+                                if (!LocalTime.parse(f[5]).equals(end)) {
+                                        violations.add("end time of " + course + " is " + f[5] + ", expected " + end);
+                                }
+                                int startMinute = start.getHour() * 60 + start.getMinute();
+                                List<String> students = f.length > 6 && !(f.length == 7 && f[6].isEmpty())
+                                        ? List.of(f).subList(6, f.length) : List.of();
+                                Exam exam = new Exam(course, f[2], LocalDate.parse(f[3]), startMinute, startMinute + duration, students);
+                                if (exams.put(course, exam) != null) violations.add("course exported twice: " + course);
+                        });
+                } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                }
+
+                for (String course : durations.keySet()) {
+                        if (!exams.containsKey(course)) violations.add("course not scheduled: " + course);
+                }
+
+                HashMap<String, ArrayList<Exam>> byStudent = new HashMap<>();
+                HashMap<String, ArrayList<Exam>> byRoom = new HashMap<>();
+                for (Exam exam : exams.values()) {
+                        byRoom.computeIfAbsent(exam.room(), r -> new ArrayList<>()).add(exam);
+                        int enrolled = rosters.getOrDefault(exam.course(), 0);
+                        if (exam.students().size() != enrolled) {
+                                violations.add("roster of " + exam.course() + " has " + exam.students().size() + " students, expected " + enrolled);
+                        }
+                        Integer capacity = capacities.get(exam.room());
+                        if (capacity == null) {
+                                violations.add("unknown room " + exam.room() + " for " + exam.course());
+                        } else if (capacity < enrolled) {
+                                violations.add(exam.course() + " (" + enrolled + ") does not fit " + exam.room() + " (" + capacity + ")");
+                        }
+                        for (String student : exam.students()) {
+                                byStudent.computeIfAbsent(student, s -> new ArrayList<>()).add(exam);
+                        }
+                }
+
+                for (var entry : byRoom.entrySet()) {
+                        ArrayList<Exam> own = entry.getValue();
+                        for (int i = 0; i < own.size(); i++) {
+                                for (int j = i + 1; j < own.size(); j++) {
+                                        if (overlap(own.get(i), own.get(j))) {
+                                                violations.add("room " + entry.getKey() + " double booked by " + own.get(i).course() + " and " + own.get(j).course());
+                                        }
+                                }
+                        }
+                }
+
+                for (var entry : byStudent.entrySet()) {
+                        ArrayList<Exam> own = entry.getValue();
+                        HashMap<LocalDate, Integer> perDay = new HashMap<>();
+                        for (int i = 0; i < own.size(); i++) {
+                                Exam a = own.get(i);
+                                perDay.merge(a.date(), 1, Integer::sum);
+                                for (int j = i + 1; j < own.size(); j++) {
+                                        Exam b = own.get(j);
+                                        if (overlap(a, b)) {
+                                                violations.add(entry.getKey() + " has overlapping exams " + a.course() + " and " + b.course());
+                                        }
+                                }
+                        }
+                        perDay.forEach((day, count) -> {
+                                if (count > 2) violations.add(entry.getKey() + " has " + count + " exams on " + day);
+                        });
+                }
+                return violations;
+        }
+
+        private static boolean overlap(Exam a, Exam b) {
+                return a.date().equals(b.date()) && a.start() < b.end() && b.start() < a.end();
+        }
+}
@@ -0,0 +1,97 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleEditorTest {
+
+        private final ArrayList<ClassRoom> rooms = new ArrayList<>(List.of(
+                new ClassRoom("R1", 120), new ClassRoom("R2", 60), new ClassRoom("R3", 30)));
+
+        private Scheduler solvedTerm() {
+                Random random = new Random(50);
+                ArrayList<Course> courses = new ArrayList<>();
+                for (int i = 0; i < 25; i++) courses.add(new Course("C" + i, 60 + (i % 3) * 30));
+                for (int s = 0; s < 150; s++) {
+                        for (int k = 0; k < 3; k++) courses.get(random.nextInt(courses.size())).addEnrolledStudentID("S" + s);
+                }
+                Scheduler scheduler = new Scheduler();
+                scheduler.setSeed(1);
+                scheduler.loadData(courses, rooms, 30);
+                scheduler.generate_schedule(1, LocalDate.of(2026, 1, 5), false);
+                assertTrue(scheduler.getLastStats().solved());
+                return scheduler;
+        }
+
+        @Test
+        void proposedMovesAgreeWithFullVerification() {
+                Scheduler scheduler = solvedTerm();
+                ScheduleEditor editor = new ScheduleEditor(scheduler.getSchedule(), scheduler.getActiveTimeSlots(),
+                        scheduler.getRoomAssignments(), scheduler.getConflictGraph());
+                ArrayList<Course> courses = new ArrayList<>(scheduler.getSchedule().keySet());
+                int slotCount = scheduler.getActiveTimeSlots().size();
+                Random random = new Random(7);
+
+                int clean = 0;
+                for (int i = 0; i < 300; i++) {
+                        Course course = courses.get(random.nextInt(courses.size()));
+                        int slot = random.nextInt(slotCount);
+                        ClassRoom room = rooms.get(random.nextInt(rooms.size()));
+
+                        HashMap<Course, Integer> schedule = editor.getSchedule();
+                        HashMap<Course, ClassRoom> assigned = editor.getRoomAssignments();
+                        schedule.put(course, slot);
+                        assigned.put(course, room);
+                        boolean valid = ScheduleVerifier.verify(courses, schedule, scheduler.getActiveTimeSlots(), assigned).isEmpty();
+
+                        assertEquals(valid, editor.check(course, slot, room).isEmpty(), course + " to slot " + slot + " in " + room.getName());
+                        if (valid) {
+                                editor.move(course, slot, room); // keep the schedule valid so every check starts clean
+                                clean++;
+                        }
+                }
+                assertTrue(clean > 0);
+        }
+
+        @Test
+        void undoAndRedoRestorePlacements() {
+                Scheduler scheduler = solvedTerm();
+                ScheduleEditor editor = new ScheduleEditor(scheduler.getSchedule(), scheduler.getActiveTimeSlots(),
+                        scheduler.getRoomAssignments(), scheduler.getConflictGraph());
+                Course course = scheduler.getSchedule().keySet().iterator().next();
+                int from = editor.getSlot(course);
+                ClassRoom fromRoom = editor.getRoom(course);
+                int to = (from + 1) % scheduler.getActiveTimeSlots().size();
+
+                editor.move(course, to, rooms.getFirst());
+                assertEquals(to, editor.getSlot(course));
+                assertTrue(editor.canUndo());
+
+                ScheduleEditor.Move undone = editor.undo();
+                assertEquals(course, undone.course());
+                assertEquals(from, editor.getSlot(course));
+                assertEquals(fromRoom, editor.getRoom(course));
+                assertFalse(editor.canUndo());
+                assertNull(editor.undo());
+
+                editor.redo();
+                assertEquals(to, editor.getSlot(course));
+                assertEquals(rooms.getFirst(), editor.getRoom(course));
+                assertFalse(editor.canRedo());
+
+                // the restored schedule checks like the original
+                editor.undo();
+                assertEquals(ScheduleVerifier.verify(scheduler.getSchedule(), scheduler.getActiveTimeSlots(), scheduler.getRoomAssignments()),
+                        ScheduleVerifier.verify(editor.getSchedule(), scheduler.getActiveTimeSlots(), editor.getRoomAssignments()));
+        }
+}
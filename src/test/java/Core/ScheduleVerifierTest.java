@@ -0,0 +1,124 @@
+package Core;
+
+import Helpers.TimeSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleVerifierTest {
+
+        private static final LocalDate MONDAY = LocalDate.of(2026, 1, 5);
+
+        // two days, slots every 30 minutes from 08:30 to 12:00
+        private final ArrayList<TimeSlot> slots = new ArrayList<>();
+        private final HashMap<Course, Integer> schedule = new HashMap<>();
+        private final HashMap<Course, ClassRoom> rooms = new HashMap<>();
+        private final ClassRoom big = new ClassRoom("Big", 100);
+        private final ClassRoom small = new ClassRoom("Small", 2);
+
+        @BeforeEach
+        void setUp() {
+                for (int day = 0; day < 2; day++) {
+                        for (int i = 0; i < 8; i++) {
+                                slots.add(new TimeSlot(slots.size(), MONDAY.plusDays(day), LocalTime.of(8, 30).plusMinutes(30L * i)));
+                        }
+                }
+        }
+
+        private Course exam(String id, int duration, int slot, ClassRoom room, String... students) {
+                Course course = new Course(id, duration);
+                for (String student : students) course.addEnrolledStudentID(student);
+                schedule.put(course, slot);
+                if (room != null) rooms.put(course, room);
+                return course;
+        }
+
+        private List<ScheduleVerifier.Kind> kinds() {
+                return ScheduleVerifier.verify(schedule, slots, rooms).stream().map(ScheduleVerifier.Violation::kind).toList();
+        }
+
+        @Test
+        void validScheduleHasNoViolations() {
+                exam("A", 60, 0, big, "s1", "s2");
+                exam("B", 60, 2, big, "s1");           // starts when A ends
+                exam("C", 90, 0, small, "s3");
+                exam("D", 60, 8, big, "s1", "s3");     // next day
+                assertEquals(List.of(), kinds());
+        }
+
+        @Test
+        void detectsStudentOverlapAcrossDifferentStartSlots() {
+                exam("A", 90, 0, big, "s1");
+                exam("B", 60, 1, small, "s1");
+                assertEquals(List.of(ScheduleVerifier.Kind.STUDENT_OVERLAP), kinds());
+        }
+
+        @Test
+        void detectsRoomDoubleBooking() {
+                exam("A", 90, 0, big, "s1");
+                exam("B", 60, 2, big, "s2");
+                assertEquals(List.of(ScheduleVerifier.Kind.ROOM_DOUBLE_BOOKING), kinds());
+        }
+
+        @Test
+        void detectsCapacityAndMissingRoom() {
+                exam("A", 60, 0, small, "s1", "s2", "s3");
+                exam("B", 60, 4, null, "s4");
+                assertEquals(List.of(ScheduleVerifier.Kind.MISSING_ROOM, ScheduleVerifier.Kind.ROOM_CAPACITY), kinds());
+        }
+
+        @Test
+        void detectsThirdExamOnOneDay() {
+                exam("A", 30, 0, big, "s1");
+                exam("B", 30, 2, big, "s1");
+                exam("C", 30, 4, big, "s1");
+                exam("D", 30, 9, big, "s1");
+                List<ScheduleVerifier.Violation> violations = ScheduleVerifier.verify(schedule, slots, rooms);
+                assertEquals(1, violations.size());
+                assertEquals(ScheduleVerifier.Kind.DAILY_LIMIT, violations.getFirst().kind());
+                assertEquals(MONDAY, violations.getFirst().date());
+                assertEquals(3, violations.getFirst().courses().size());
+        }
+
+        @Test
+        void detectsUnscheduledCourseAndInvalidSlot() {
+                Course a = exam("A", 60, 0, big, "s1");
+                Course b = exam("B", 60, 99, big, "s2");
+                Course missing = new Course("M", 60);
+                List<ScheduleVerifier.Kind> found = ScheduleVerifier.verify(List.of(a, b, missing), schedule, slots, rooms)
+                        .stream().map(ScheduleVerifier.Violation::kind).toList();
+                assertEquals(List.of(ScheduleVerifier.Kind.UNSCHEDULED, ScheduleVerifier.Kind.INVALID_SLOT), found);
+        }
+
+        @Test
+        void schedulerOutputPassesWhenOverlappingExamsStartInDifferentSlots() {
+                // many disjoint courses and few rooms force overlapping exams with different start slots
+                ArrayList<Course> courses = new ArrayList<>();
+                for (int i = 0; i < 40; i++) {
+                        Course c = new Course("C" + i, 60 + (i % 3) * 30);
+                        for (int k = 0; k < 5 + i; k++) c.addEnrolledStudentID("S" + i + "_" + k);
+                        courses.add(c);
+                }
+                ArrayList<ClassRoom> classrooms = new ArrayList<>(List.of(
+                        new ClassRoom("R1", 100), new ClassRoom("R2", 60), new ClassRoom("R3", 30)));
+
+                for (long seed = 1; seed <= 5; seed++) {
+                        Scheduler scheduler = new Scheduler();
+                        scheduler.setSeed(seed);
+                        scheduler.loadData(new ArrayList<>(courses), classrooms, 30);
+                        scheduler.generate_schedule(1, MONDAY, true);
+                        assertTrue(scheduler.getLastStats().solved());
+                        List<ScheduleVerifier.Violation> violations = ScheduleVerifier.verify(courses,
+                                scheduler.getSchedule(), scheduler.getActiveTimeSlots(), scheduler.getRoomAssignments());
+                        assertEquals(List.of(), violations, "seed " + seed);
+                }
+        }
+}
@@ -0,0 +1,110 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulerRepairTest {
+
+        private static final LocalDate MONDAY = LocalDate.of(2026, 1, 5);
+        private static final int STEP = 30;
+
+        private final ArrayList<ClassRoom> rooms = new ArrayList<>(List.of(
+                new ClassRoom("R1", 200), new ClassRoom("R2", 200), new ClassRoom("R3", 200)));
+
+        // 30 one-hour exams, 200 students taking four each
+        private static ArrayList<Course> term() {
+                Random random = new Random(49);
+                ArrayList<Course> courses = new ArrayList<>();
+                for (int i = 0; i < 30; i++) courses.add(new Course("C" + i, 60));
+                for (int s = 0; s < 200; s++) {
+                        for (int k = 0; k < 4; k++) courses.get(random.nextInt(courses.size())).addEnrolledStudentID("S" + s);
+                }
+                return courses;
+        }
+
+        private static Scheduler solve(ArrayList<Course> courses, ArrayList<ClassRoom> rooms) {
+                Scheduler scheduler = new Scheduler();
+                scheduler.setSeed(1);
+                scheduler.loadData(new ArrayList<>(courses), rooms, STEP);
+                scheduler.generate_schedule(1, MONDAY, false);
+                assertTrue(scheduler.getLastStats().solved());
+                return scheduler;
+        }
+
+        private static Scheduler repair(ArrayList<Course> courses, ArrayList<ClassRoom> rooms, Map<String, LocalDateTime> previous) {
+                Scheduler scheduler = new Scheduler();
+                scheduler.setSeed(2);
+                scheduler.loadData(new ArrayList<>(courses), rooms, STEP);
+                scheduler.repair_schedule(previous, MONDAY, false);
+                assertTrue(scheduler.getLastStats().solved());
+                assertEquals(List.of(), ScheduleVerifier.verify(courses, scheduler.getSchedule(),
+                        scheduler.getActiveTimeSlots(), scheduler.getRoomAssignments()));
+                return scheduler;
+        }
+
+        private static int moved(Map<String, LocalDateTime> before, Map<String, LocalDateTime> after) {
+                int moved = 0;
+                for (var entry : after.entrySet()) if (!entry.getValue().equals(before.get(entry.getKey()))) moved++;
+                return moved;
+        }
+
+        @Test
+        void unchangedTermKeepsEveryExam() {
+                ArrayList<Course> courses = term();
+                HashMap<String, LocalDateTime> before = solve(courses, rooms).getStartTimes();
+
+                Scheduler repaired = repair(courses, rooms, before);
+                assertEquals(before, repaired.getStartTimes());
+        }
+
+        @Test
+        void newEnrollmentsOnlyMoveAFewExams() {
+                ArrayList<Course> courses = term();
+                HashMap<String, LocalDateTime> before = solve(courses, rooms).getStartTimes();
+
+                // a new student takes three exams of one day, over the limit of two per day
+                HashMap<LocalDate, List<Course>> byDay = new HashMap<>();
+                for (Course c : courses) byDay.computeIfAbsent(before.get(c.getID()).toLocalDate(), d -> new ArrayList<>()).add(c);
+                List<Course> busiest = byDay.values().stream().max(Comparator.comparingInt(List::size)).orElseThrow();
+                assertTrue(busiest.size() >= 3, "schedule has a day with three exams");
+                for (Course c : busiest.subList(0, 3)) c.addEnrolledStudentID("NEW");
+
+                Map<String, LocalDateTime> after = repair(courses, rooms, before).getStartTimes();
+                int moved = moved(before, after);
+                assertTrue(moved >= 1, "the new conflict must move an exam");
+                assertTrue(moved <= courses.size() / 4, moved + " of " + courses.size() + " exams moved");
+        }
+
+        @Test
+        void unseatableRepairIsSolvedAgain() {
+                // every exam fits next to the ones it overlaps, but the day sweep puts C3 in the small
+                // room at 08:30, C2 in the large one at 09:00 and has nowhere to seat C1 at 09:30
+                ArrayList<ClassRoom> rooms = new ArrayList<>(List.of(new ClassRoom("BIG", 100), new ClassRoom("SMALL", 10)));
+                ArrayList<Course> courses = new ArrayList<>();
+                int[] sizes = {50, 8, 5};
+                for (int i = 0; i < sizes.length; i++) {
+                        Course course = new Course("C" + (i + 1), 60);
+                        for (int s = 0; s < sizes[i]; s++) course.addEnrolledStudentID("S" + i + "_" + s);
+                        courses.add(course);
+                }
+                Map<String, LocalDateTime> previous = Map.of(
+                        "C1", MONDAY.atTime(9, 30), "C2", MONDAY.atTime(9, 0), "C3", MONDAY.atTime(8, 30));
+
+                Scheduler repaired = repair(courses, rooms, previous);
+                for (Course course : courses) {
+                        ClassRoom room = repaired.getRoomAssignments().get(course);
+                        assertTrue(room != null && room.getCapacity() >= course.getEnrolledStudentIDs().size(), course.getID() + " in " + room);
+                }
+        }
+}
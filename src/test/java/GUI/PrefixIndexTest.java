@@ -0,0 +1,37 @@
+package GUI;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTest {
+
+        @Test
+        void findsPrefixMatchesIgnoringCase() {
+                PrefixIndex<String> index = new PrefixIndex<>(List.of("CourseID_12", "courseid_1", "Std_001", "CourseID_2", "Room7"), Function.identity());
+                assertEquals(List.of("courseid_1", "CourseID_12"), index.find("courseid_1"));
+                assertEquals(List.of("courseid_1", "CourseID_12", "CourseID_2"), index.find(" COURSE"));
+                assertEquals(List.of("Room7"), index.find("r"));
+                assertTrue(index.find("x").isEmpty());
+                assertTrue(index.find("Room7a").isEmpty());
+                assertEquals(5, index.find("").size());
+        }
+
+        @Test
+        void matchesALinearScanOnManyKeys() {
+                ArrayList<String> ids = new ArrayList<>();
+                for (int i = 0; i < 100_000; i++) ids.add("Std_ID_" + i);
+                PrefixIndex<String> index = new PrefixIndex<>(ids, Function.identity());
+
+                for (String prefix : List.of("std_id_9", "Std_ID_1234", "Std_ID_99999", "Std_ID_100000", "s")) {
+                        String lower = prefix.toLowerCase();
+                        long expected = ids.stream().filter(id -> id.toLowerCase().startsWith(lower)).count();
+                        assertEquals(expected, index.find(prefix).size(), prefix);
+                }
+        }
+}
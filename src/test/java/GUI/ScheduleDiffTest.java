@@ -0,0 +1,54 @@
+package GUI;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleDiffTest {
+
+        private static ScheduleView.Lesson lesson(String id, String room, int day, int start, int span) {
+                return new ScheduleView.Lesson(id, id + "\n" + room, day, start, span, Color.DARKBLUE);
+        }
+
+        private static Map<String, ScheduleView.Lesson> timetable(ScheduleView.Lesson... lessons) {
+                HashMap<String, ScheduleView.Lesson> map = new HashMap<>();
+                for (ScheduleView.Lesson l : lessons) map.put(l.key(), l);
+                return map;
+        }
+
+        @Test
+        void identicalTimetablesGiveEmptyDiff() {
+                Map<String, ScheduleView.Lesson> t = timetable(lesson("A", "R1", 0, 0, 2), lesson("B", "R2", 1, 3, 1));
+                ScheduleDiff diff = ScheduleDiff.between(t, new HashMap<>(t));
+                assertTrue(diff.isEmpty());
+                assertEquals(0, diff.size());
+        }
+
+        @Test
+        void classifiesAddedRemovedAndMoved() {
+                Map<String, ScheduleView.Lesson> before = timetable(
+                        lesson("A", "R1", 0, 0, 2),
+                        lesson("B", "R2", 1, 3, 1),
+                        lesson("C", "R1", 2, 0, 1),
+                        lesson("D", "R3", 2, 4, 2));
+                Map<String, ScheduleView.Lesson> after = timetable(
+                        lesson("A", "R1", 0, 0, 2),     // unchanged
+                        lesson("B", "R2", 1, 5, 1),     // new start
+                        lesson("C", "R2", 2, 0, 1),     // new room only
+                        lesson("E", "R3", 3, 1, 1));    // new exam
+
+                ScheduleDiff diff = ScheduleDiff.between(before, after);
+                assertEquals(List.of(lesson("E", "R3", 3, 1, 1)), diff.added());
+                assertEquals(List.of("D"), diff.removed());
+                assertEquals(2, diff.moved().size());
+                assertTrue(diff.moved().contains(lesson("B", "R2", 1, 5, 1)));
+                assertTrue(diff.moved().contains(lesson("C", "R2", 2, 0, 1)));
+                assertEquals(4, diff.size());
+        }
+}
@@ -0,0 +1,95 @@
+package IO;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncGzipInputStreamTest {
+
+        private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+        private static byte[] text() {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < 20_000; i++) sb.append("CourseCode_").append(i % 97).append(";Student_").append(i).append('\n');
+                return sb.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static byte[] gzip(byte[] data) throws IOException {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+                        out.write(data);
+                }
+                return bytes.toByteArray();
+        }
+
+        @Test
+        void roundTripOverManyChunks() throws IOException {
+                byte[] data = text();
+                assertTrue(data.length > 100 * 1024);
+                try (InputStream in = new AsyncGzipInputStream(new ByteArrayInputStream(gzip(data)), 1024, 2)) {
+                        assertArrayEquals(data, assertTimeoutPreemptively(TIMEOUT, () -> in.readAllBytes()));
+                }
+        }
+
+        @Test
+        void corruptDataSurfacesTheIOException() throws IOException {
+                byte[] compressed = gzip(text());
+                for (int i = compressed.length / 2; i < compressed.length / 2 + 64; i++) compressed[i] ^= (byte) 0x5A;
+                try (InputStream in = new AsyncGzipInputStream(new ByteArrayInputStream(compressed), 1024, 2)) {
+                        assertThrows(IOException.class, () -> assertTimeoutPreemptively(TIMEOUT, () -> in.readAllBytes()));
+                }
+        }
+
+        @Test
+        void runtimeFailureOnTheInflaterEndsTheStream() throws IOException {
+                byte[] compressed = gzip(text());
+                InputStream failing = new ByteArrayInputStream(compressed) {
+                        @Override
+                        public synchronized int read(byte[] b, int off, int len) {
+                                if (pos > compressed.length / 2) throw new IllegalStateException("source broke");
+                                return super.read(b, off, len);
+                        }
+                };
+                try (InputStream in = new AsyncGzipInputStream(failing, 1024, 2)) {
+                        IOException e = assertThrows(IOException.class, () -> assertTimeoutPreemptively(TIMEOUT, () -> in.readAllBytes()));
+                        assertTrue(e.getCause() instanceof IllegalStateException, String.valueOf(e));
+                }
+        }
+
+        @Test
+        void closingEarlyStopsTheInflater() throws Exception {
+                AtomicBoolean sourceClosed = new AtomicBoolean();
+                InputStream source = new ByteArrayInputStream(gzip(text())) {
+                        @Override
+                        public void close() {
+                                sourceClosed.set(true);
+                        }
+                };
+                AsyncGzipInputStream in = new AsyncGzipInputStream(source, 1024, 1);
+                assertEquals('C', in.read());
+                in.close();
+
+                assertTrue(sourceClosed.get());
+                assertEquals(-1, in.read());
+                long deadline = System.nanoTime() + TIMEOUT.toNanos();
+                while (inflaterAlive() && System.nanoTime() < deadline) Thread.sleep(10);
+                assertTrue(!inflaterAlive(), "inflater thread still running after close");
+        }
+
+        private static boolean inflaterAlive() {
+                return Thread.getAllStackTraces().keySet().stream().anyMatch(t -> t.getName().equals("gzip-inflater") && t.isAlive());
+        }
+}
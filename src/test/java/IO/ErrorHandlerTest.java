@@ -0,0 +1,67 @@
+package IO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ErrorHandlerTest {
+
+        private final ErrorHandler errors = ErrorHandler.getInstance();
+
+        @AfterEach
+        void reset() {
+                errors.setOnErrorBatchListener(null);
+                errors.setCapacity(ErrorHandler.DEFAULT_CAPACITY);
+                errors.clear();
+        }
+
+        @Test
+        void messageThatLeftTheBufferIsStoredAgain() {
+                errors.setCapacity(3);
+                errors.clear();
+                errors.logError("Zaman aşımı: A");
+                errors.logError("Zaman aşımı: A");
+                assertEquals(List.of("Zaman aşımı: A"), errors.getErrorMessages());
+                assertEquals(2, errors.getOccurrences("Zaman aşımı: A"));
+
+                errors.logError("B");
+                errors.logError("C");
+                errors.logError("D");
+                assertEquals(0, errors.getOccurrences("Zaman aşımı: A"));
+
+                errors.logError("Zaman aşımı: A");
+                assertEquals(List.of("C", "D", "Zaman aşımı: A"), errors.getErrorMessages());
+                assertEquals(6, errors.getErrorCount());
+        }
+
+        @Test
+        void deduplicatesAfterManyDistinctMessages() {
+                errors.setCapacity(2);
+                for (int i = 0; i < 100; i++) errors.logError("Hata " + i);
+                errors.logError("X");
+                errors.logError("X");
+                assertEquals(List.of("Hata 99", "X"), errors.getErrorMessages());
+                assertEquals(2, errors.getOccurrences("X"));
+        }
+
+        @Test
+        void changingCapacityKeepsUndeliveredMessages() throws InterruptedException {
+                List<String> received = Collections.synchronizedList(new ArrayList<>());
+                errors.setOnErrorBatchListener(received::addAll);
+                List<String> logged = List.of("p1", "p2", "p3", "p4", "p5");
+                logged.forEach(errors::logError);
+                errors.setCapacity(10);
+
+                long deadline = System.currentTimeMillis() + 5_000;
+                while (received.size() < logged.size() && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(20);
+                }
+                assertTrue(received.containsAll(logged), received.toString());
+        }
+}
@@ -0,0 +1,49 @@
+package IO;
+
+import Core.ClassRoom;
+import Core.Course;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExporterTest {
+
+        @Test
+        void gzipExportHoldsTheSameRowsAsThePlainOne(@TempDir Path tmp) throws IOException {
+                HashMap<Course, Integer> schedule = new HashMap<>();
+                HashMap<Course, ClassRoom> rooms = new HashMap<>();
+                ClassRoom room = new ClassRoom("R1", 500);
+                for (int i = 0; i < 200; i++) {
+                        Course course = new Course("C" + i, i % 2 == 0 ? 60 : 120);
+                        for (int s = 0; s < 50; s++) course.addEnrolledStudentID("S" + (i * 50 + s));
+                        schedule.put(course, i % 10);
+                        rooms.put(course, room);
+                }
+                HashMap<Integer, String[]> slotMap = new HashMap<>();
+                for (int slot = 0; slot < 10; slot++) slotMap.put(slot, new String[]{"2026-01-0" + (5 + slot / 5), String.format("%02d:30", 8 + 2 * (slot % 5))});
+
+                Path plain = tmp.resolve("schedule.csv");
+                Path gzip = tmp.resolve("schedule.csv.gz");
+                assertTrue(Exporter.exportSchedule(plain, "Final", schedule, slotMap, rooms));
+                assertTrue(Exporter.exportSchedule(gzip, "Final", schedule, slotMap, rooms));
+
+                byte[] expected = Files.readAllBytes(plain);
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(gzip))) {
+                        assertArrayEquals(expected, in.readAllBytes());
+                }
+                try (InputStream in = new AsyncGzipInputStream(Files.newInputStream(gzip), 4096, 2)) {
+                        assertArrayEquals(expected, in.readAllBytes());
+                }
+                assertEquals(201, Files.readAllLines(plain).size());
+        }
+}
@@ -0,0 +1,121 @@
+package IO;
+
+import Core.ClassRoom;
+import Core.Course;
+import Core.Portfolio;
+import Core.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotTest {
+
+        // S4 only appears in a roster, so it is in the dictionary but not a listed student
+        private static Dataset dataset() {
+                ArrayList<Student> students = new ArrayList<>(List.of(new Student("S1"), new Student("S2"), new Student("S3")));
+                ArrayList<Course> courses = new ArrayList<>();
+                Map<String, List<String>> rosters = Map.of("C1", List.of("S1", "S2"), "C2", List.of("S2", "S4"), "C3", List.of("S3"));
+                for (String id : List.of("C1", "C2", "C3")) {
+                        Course course = new Course(id, id.equals("C3") ? 120 : 60);
+                        rosters.get(id).forEach(course::addEnrolledStudentID);
+                        courses.add(course);
+                }
+                ArrayList<ClassRoom> rooms = new ArrayList<>(List.of(new ClassRoom("R1", 40), new ClassRoom("R2", 25)));
+                return new Dataset(students, courses, rooms, new ArrayList<>(), new ArrayList<>(), Map.of());
+        }
+
+        private static TreeMap<String, Set<String>> byID(HashMap<Course, ArrayList<Course>> graph) {
+                TreeMap<String, Set<String>> ids = new TreeMap<>();
+                graph.forEach((course, neighbours) -> {
+                        HashSet<String> own = new HashSet<>();
+                        for (Course n : neighbours) own.add(n.getID());
+                        if (!own.isEmpty()) ids.put(course.getID(), own);
+                });
+                return ids;
+        }
+
+        private static Path saved(Path tmp) {
+                Dataset dataset = dataset();
+                Path file = tmp.resolve("term.se302");
+                assertTrue(Snapshot.save(file, dataset, Portfolio.conflictGraph(dataset.courses())));
+                return file;
+        }
+
+        @Test
+        void roundTripKeepsEverything(@TempDir Path tmp) throws IOException {
+                Dataset original = dataset();
+                Snapshot.Contents contents = Snapshot.load(saved(tmp));
+                assertNotNull(contents);
+                Dataset loaded = contents.dataset();
+
+                assertEquals(List.of("S1", "S2", "S3"), loaded.students().stream().map(Student::ID).toList());
+                assertEquals(original.classrooms().stream().map(r -> r.getName() + ":" + r.getCapacity()).toList(),
+                        loaded.classrooms().stream().map(r -> r.getName() + ":" + r.getCapacity()).toList());
+                assertEquals(original.courses().size(), loaded.courses().size());
+                for (int i = 0; i < original.courses().size(); i++) {
+                        Course a = original.courses().get(i), b = loaded.courses().get(i);
+                        assertEquals(a.getID(), b.getID());
+                        assertEquals(a.getDuration(), b.getDuration());
+                        assertEquals(a.getEnrolledStudentIDs(), b.getEnrolledStudentIDs());
+                }
+                assertEquals(byID(Portfolio.conflictGraph(loaded.courses())), byID(contents.conflictGraph()));
+                assertEquals(byID(Portfolio.conflictGraph(original.courses())), byID(contents.conflictGraph()));
+                try (var files = Files.list(tmp)) {
+                        assertEquals(1, files.count(), "no temporary file is left behind");
+                }
+        }
+
+        @Test
+        void flippedPayloadByteFailsTheChecksum(@TempDir Path tmp) throws IOException {
+                Path file = saved(tmp);
+                byte[] bytes = Files.readAllBytes(file);
+                bytes[bytes.length - 3] ^= 0x10;
+                Files.write(file, bytes);
+                assertNull(Snapshot.load(file));
+        }
+
+        @Test
+        void wrongMagicIsRejected(@TempDir Path tmp) throws IOException {
+                Path file = saved(tmp);
+                byte[] bytes = Files.readAllBytes(file);
+                bytes[0] = 'X';
+                Files.write(file, bytes);
+                assertNull(Snapshot.load(file));
+        }
+
+        @Test
+        void otherVersionIsRejected(@TempDir Path tmp) throws IOException {
+                Path file = saved(tmp);
+                byte[] bytes = Files.readAllBytes(file);
+                ByteBuffer.wrap(bytes).putInt(8, Snapshot.VERSION + 1);
+                Files.write(file, bytes);
+                assertNull(Snapshot.load(file));
+        }
+
+        @Test
+        void truncatedFileIsRejected(@TempDir Path tmp) throws IOException {
+                Path file = saved(tmp);
+                byte[] bytes = Files.readAllBytes(file);
+                Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+                assertNull(Snapshot.load(file));
+                Files.write(file, Arrays.copyOf(bytes, 10));
+                assertNull(Snapshot.load(file));
+        }
+}
@@ -0,0 +1,117 @@
+package IO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidatorTest {
+
+        private static final int LINES = 200_000;
+
+        /**
+         * About 4 MB, so the validator splits it into several chunks. Every 1000th line has an empty
+         * second cell, every 1000th line shifted by 500 a null first cell.
+         */
+        private static Path largeFile(Path dir) throws IOException {
+                Path file = dir.resolve("classrooms.csv");
+                try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                        writer.write("ALL OF THE CLASSROOMS; AND THEIR CAPACITIES IN THE SYSTEM\n");
+                        for (int line = 2; line <= LINES; line++) {
+                                if (line % 1000 == 0) writer.write("Classroom_" + line + ";\n");
+                                else if (line % 1000 == 500) writer.write("null;40\n");
+                                else writer.write("Classroom_" + line + ";40\n");
+                        }
+                }
+                assertTrue(Files.size(file) > 3 << 20);
+                return file;
+        }
+
+        @Test
+        void chunkedScanReportsFileLineNumbers(@TempDir Path tmp) throws IOException {
+                ValidationReport report = Validator.validateAll(largeFile(tmp), 10_000);
+
+                List<ValidationError> errors = report.getErrors();
+                assertEquals(2 * LINES / 1000, errors.size());
+                for (ValidationError error : errors) {
+                        if (error.line() % 1000 == 0) {
+                                assertEquals(ValidationError.Kind.EMPTY_VALUE, error.kind());
+                                assertEquals(2, error.column());
+                        } else {
+                                assertEquals(500, error.line() % 1000);
+                                assertEquals(ValidationError.Kind.NULL_VALUE, error.kind());
+                                assertEquals(1, error.column());
+                        }
+                }
+                assertFalse(report.isTruncated());
+        }
+
+        @Test
+        void fullReportKeepsTheFirstErrors(@TempDir Path tmp) throws IOException {
+                ValidationReport report = Validator.validateAll(largeFile(tmp), 5);
+
+                assertEquals(List.of(500, 1000, 1500, 2000, 2500), report.getErrors().stream().map(ValidationError::line).toList());
+                assertEquals(2 * LINES / 1000, report.getTotalCount());
+                assertTrue(report.isTruncated());
+        }
+
+        private static Path dataset(Path dir) throws IOException {
+                Files.writeString(dir.resolve("students.csv"), "ALL OF THE STUDENTS IN THE SYSTEM\nS1\nS2\nS3\n");
+                Files.writeString(dir.resolve("courses.csv"), "ALL OF THE COURSES IN THE SYSTEM AND THEIR EXAM TIME\nC1,60\nC2,60\n");
+                Files.writeString(dir.resolve("classrooms.csv"), "ALL OF THE CLASSROOMS; AND THEIR CAPACITIES IN THE SYSTEM\nR1;40\nR2;40\nR1;30\n");
+                Files.writeString(dir.resolve("attendance.csv"), """
+                        C1
+                        ['S1', 'S9', 'S8']
+
+                        C7
+                        ['S2']
+
+                        C2
+                        ['S3', 'S7']
+                        """);
+                return dir;
+        }
+
+        @Test
+        void crossChecksFindUnknownCoursesStudentsAndDuplicateRooms(@TempDir Path tmp) throws IOException {
+                ValidationReport report = Validator.validateDataset(dataset(tmp), ValidationReport.DEFAULT_LIMIT);
+
+                ArrayList<String> found = new ArrayList<>();
+                for (ValidationError error : report.getErrors()) found.add(error.kind() + " " + error.detail());
+                assertEquals(List.of(
+                        "UNKNOWN_STUDENT S8 (C1)",
+                        "UNKNOWN_STUDENT S9 (C1)",
+                        "UNKNOWN_COURSE C7",
+                        "UNKNOWN_STUDENT S7 (C2)",
+                        "DUPLICATE_ROOM R1 (2. satır)"), found);
+        }
+
+        @Test
+        void cappedReportIsTheSameOnEveryRun(@TempDir Path tmp) throws IOException {
+                dataset(tmp);
+                for (int run = 0; run < 20; run++) {
+                        // duplicate rooms are checked first, then the attendance lists in line order
+                        ValidationReport report = Validator.validateDataset(tmp, 2);
+                        assertEquals(List.of("S8 (C1)", "R1 (2. satır)"), report.getErrors().stream().map(ValidationError::detail).toList());
+                        assertEquals(5, report.getTotalCount());
+                }
+        }
+
+        @Test
+        void missingFileIsReported(@TempDir Path tmp) throws IOException {
+                dataset(tmp);
+                Files.delete(tmp.resolve("students.csv"));
+                ValidationReport report = Validator.validateDataset(tmp, ValidationReport.DEFAULT_LIMIT);
+                assertTrue(report.getErrors().stream().anyMatch(e -> e.kind() == ValidationError.Kind.FILE_NOT_FOUND
+                        && e.detail().equals(DatasetLoader.STUDENTS)));
+        }
+}
@@ -0,0 +1,41 @@
+package Server;
+
+import Core.Portfolio;
+import Core.SolveStats;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class JobTest {
+
+        private static final SolveStats SOLVED = new SolveStats(true, false, false, 3, 10, 0, 5,
+                List.of(3), Map.of(), 0, 0, 0, 0, 0, 0, 0);
+
+        private static Job job() {
+                Job job = new Job("j1", "term", new Portfolio.Settings(30, 1, LocalDate.of(2026, 1, 5), false, Duration.ofSeconds(1), 1, 1));
+                job.start(false);
+                return job;
+        }
+
+        @Test
+        void verifiedScheduleIsSolved() {
+                Job job = job();
+                job.finish(SOLVED, 0, Path.of("j1.csv"));
+                assertEquals(Job.Status.SOLVED, job.status());
+        }
+
+        @Test
+        void scheduleWithViolationsIsNotServed() {
+                Job job = job();
+                job.finish(SOLVED, 2, Path.of("j1.csv"));
+                assertEquals(Job.Status.NOT_SOLVED, job.status());
+                assertFalse(job.toJson().toString().contains("\"result\""));
+        }
+}
@@ -0,0 +1,93 @@
+package Server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulingServerTest {
+
+        private static final Map<String, String> SAMPLE = Map.of(
+                "students", "docs/sampleData_AllStudents.csv",
+                "courses", "docs/sampleData_AllCourses.csv",
+                "classrooms", "docs/sampleData_AllClassroomsAndTheirCapacities.csv",
+                "attendance", "docs/sampleData_AllAttendanceLists.csv");
+
+        private final HttpClient client = HttpClient.newHttpClient();
+        private SchedulingServer server;
+
+        @BeforeEach
+        void start(@TempDir Path tmp) throws Exception {
+                server = new SchedulingServer(new SchedulingServer.Config("127.0.0.1", 0, 1, 4, tmp, Duration.ofSeconds(30), 1 << 20));
+                server.start();
+        }
+
+        @AfterEach
+        void stop() throws Exception {
+                server.stop(Duration.ofSeconds(5));
+        }
+
+        @Test
+        void solvesUploadedDatasetAndReusesItsGraph() throws Exception {
+                for (Map.Entry<String, String> file : SAMPLE.entrySet()) {
+                        HttpResponse<String> put = send(request("/datasets/term1/" + file.getKey())
+                                .PUT(HttpRequest.BodyPublishers.ofFile(Path.of(file.getValue()))));
+                        assertEquals(201, put.statusCode(), put.body());
+                }
+
+                String first = awaitJob(submit("dataset=term1&start=2026-01-05&step=30&seed=1"));
+                assertTrue(first.contains("\"status\":\"SOLVED\""), first);
+                assertTrue(first.contains("\"graphCached\":false"), first);
+                assertTrue(first.contains("\"violations\":0"), first);
+
+                String second = awaitJob(submit("dataset=term1&start=2026-01-05&step=30&seed=2"));
+                assertTrue(second.contains("\"graphCached\":true"), second);
+
+                HttpResponse<String> result = send(request("/jobs/1/result").GET());
+                assertEquals(200, result.statusCode());
+                assertTrue(result.body().lines().count() > 1, result.body());
+        }
+
+        @Test
+        void rejectsBadRequests() throws Exception {
+                assertEquals(404, send(request("/jobs?dataset=missing").POST(HttpRequest.BodyPublishers.noBody())).statusCode());
+                assertEquals(400, send(request("/datasets/term1/grades").PUT(HttpRequest.BodyPublishers.ofString("x"))).statusCode());
+                assertEquals(400, send(request("/datasets/bad%21name/courses").PUT(HttpRequest.BodyPublishers.ofString("x"))).statusCode());
+                assertEquals(404, send(request("/jobs/42").GET()).statusCode());
+        }
+
+        private String submit(String query) throws Exception {
+                HttpResponse<String> response = send(request("/jobs?" + query).POST(HttpRequest.BodyPublishers.noBody()));
+                assertEquals(202, response.statusCode(), response.body());
+                return response.headers().firstValue("Location").orElseThrow();
+        }
+
+        private String awaitJob(String location) throws Exception {
+                long deadline = System.currentTimeMillis() + 60_000;
+                while (System.currentTimeMillis() < deadline) {
+                        String body = send(request(location).GET()).body();
+                        if (!body.contains("\"status\":\"QUEUED\"") && !body.contains("\"status\":\"RUNNING\"")) return body;
+                        Thread.sleep(50);
+                }
+                throw new AssertionError("job did not finish: " + location);
+        }
+
+        private HttpRequest.Builder request(String path) {
+                return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path));
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+                return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        }
+}
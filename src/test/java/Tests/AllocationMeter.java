@@ -0,0 +1,34 @@
+package Tests;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures heap allocation of the calling thread through {@link com.sun.management.ThreadMXBean}.
+ * Work handed to other threads (parallel streams, virtual threads) is not counted.
+ */
+public final class AllocationMeter {
+
+        private static final com.sun.management.ThreadMXBean THREADS =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private final long start;
+
+        private AllocationMeter() {
+                this.start = THREADS.getCurrentThreadAllocatedBytes();
+        }
+
+        public static boolean isSupported() {
+                return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+        }
+
+        public static AllocationMeter start() {
+                return new AllocationMeter();
+        }
+
+        /**
+         * @return bytes allocated by this thread since {@link #start()}
+         */
+        public long allocatedBytes() {
+                return THREADS.getCurrentThreadAllocatedBytes() - start;
+        }
+}